@@ -0,0 +1,86 @@
+package com.restful.dscatalog.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+  Bloom filter de longs: m bits e k posições por valor (double hashing sobre
+  dois hashes SplitMix64). "Não contém" é certo; "talvez contém" erra com
+  probabilidade ~fpp enquanto o número de inserções ficar dentro do previsto.
+  Não remove: quem usa aceita ids apagados como falsos positivos até o rebuild.
+  add e mightContain são thread-safe sem lock (AtomicLongArray).
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) >>> 6));
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /* m = -n·ln(p) / ln(2)², k = m/n · ln(2). */
+    static BloomFilter create(long expectedInsertions, double fpp) {
+        if (!(fpp > 0 && fpp < 1)) throw new IllegalArgumentException("fpp deve estar entre 0 e 1: " + fpp);
+        long n = Math.max(1, expectedInsertions);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void add(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+        insertions.incrementAndGet();
+    }
+
+    boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return bits;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    long insertions() {
+        return insertions.get();
+    }
+
+    /* (1 - e^(-k·n/m))^k com o n atual: sobe se as inserções passarem do previsto. */
+    double expectedFpp() {
+        return Math.pow(1 - Math.exp(-hashes * (double) insertions.get() / bits), hashes);
+    }
+
+    /* Finalizador do SplitMix64: espalha ids sequenciais por todos os bits. */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,183 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.entity.User;
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsImportedEvent;
+import com.restful.dscatalog.event.ProductsRepricedEvent;
+import com.restful.dscatalog.event.UserChangedEvent;
+import com.restful.dscatalog.search.CategoryIndexer;
+import com.restful.dscatalog.search.ProductIndexer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/*
+  Invalidação entre nós. Depois do commit, cada ProductChangedEvent,
+  ProductsImportedEvent, ProductsRepricedEvent, CategoryChangedEvent e UserChangedEvent vai para o canal do SharedCache com o
+  id deste nó; os outros nós descartam do L2 do Hibernate o que o evento afeta
+  e republicam o evento localmente, então índices, ProductDetailsCache,
+  CatalogVersion etc. reagem como a uma escrita feita ali.
+
+  O evento republicado não tem transação, então todos os ouvintes, inclusive os
+  daqui, usam fallbackExecution (também valem para eventos publicados fora de
+  transação neste nó). Para uma mensagem recebida não voltar para o canal,
+  onMessage marca a thread enquanto republica e os ouvintes daqui não enviam nada.
+
+  Se a assinatura cair, as mensagens do intervalo se perdem; ao voltar, o nó
+  descarta o L2 do Hibernate e os caches locais e reconstrói os índices.
+  Sem L2 (cache.l2.enabled=false) nada é enviado: uma instância só.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    static final String CHANNEL = "dscatalog:cache-invalidation";
+    static final String RECEIVED = "cache.invalidation.received";
+
+    private static final String PRODUCT_CATEGORIES = Product.class.getName() + ".categories";
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+
+    private static final ThreadLocal<Boolean> REPUBLISHING = ThreadLocal.withInitial(() -> false);
+
+    private final String node = UUID.randomUUID().toString();
+    private final SharedCache sharedCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogVersion catalogVersion;
+    private final ProductDetailsCache productDetailsCache;
+    private final CategoryIndexer categoryIndexer;
+    private final ProductIndexer productIndexer;
+    private final MeterRegistry meterRegistry;
+
+    public CacheInvalidationBus(
+            SharedCache sharedCache,
+            ApplicationEventPublisher eventPublisher,
+            EntityManagerFactory entityManagerFactory,
+            CatalogVersion catalogVersion,
+            ProductDetailsCache productDetailsCache,
+            CategoryIndexer categoryIndexer,
+            ProductIndexer productIndexer,
+            MeterRegistry meterRegistry
+    ) {
+        this.sharedCache = sharedCache;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogVersion = catalogVersion;
+        this.productDetailsCache = productDetailsCache;
+        this.categoryIndexer = categoryIndexer;
+        this.productIndexer = productIndexer;
+        this.meterRegistry = meterRegistry;
+        sharedCache.subscribe(CHANNEL, Invalidation.class, this::onMessage);
+        sharedCache.onResubscribe(this::resync);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        publish(new Invalidation(node, event, null, null, null, null));
+    }
+
+    /* Produtos novos: nada a descartar do L2 do Hibernate, só os índices dos outros nós a alimentar. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        publish(new Invalidation(node, null, event, null, null, null));
+    }
+
+    /* Só preços: o L2 do Hibernate não guarda Product, basta republicar os ids. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        publish(new Invalidation(node, null, null, event, null, null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        publish(new Invalidation(node, null, null, null, event, null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        publish(new Invalidation(node, null, null, null, null, event));
+    }
+
+    void onMessage(Invalidation message) {
+        if (node.equals(message.node())) return;
+        REPUBLISHING.set(true);
+        try {
+            republish(message);
+        } finally {
+            REPUBLISHING.set(false);
+        }
+    }
+
+    private void republish(Invalidation message) {
+        Cache hibernateCache = hibernateCache();
+        if (message.product() != null) {
+            count("product");
+            hibernateCache.evictCollectionData(PRODUCT_CATEGORIES, message.product().productId());
+            eventPublisher.publishEvent(message.product());
+        }
+        if (message.imported() != null) {
+            count("imported");
+            eventPublisher.publishEvent(message.imported());
+        }
+        if (message.repriced() != null) {
+            count("repriced");
+            eventPublisher.publishEvent(message.repriced());
+        }
+        if (message.category() != null) {
+            count("category");
+            hibernateCache.evictEntityData(Category.class, message.category().categoryId());
+            hibernateCache.evictQueryRegions();
+            eventPublisher.publishEvent(message.category());
+        }
+        if (message.user() != null) {
+            count("user");
+            hibernateCache.evictCollectionData(USER_ROLES, message.user().userId());
+            eventPublisher.publishEvent(message.user());
+        }
+    }
+
+    private void publish(Invalidation invalidation) {
+        if (!REPUBLISHING.get()) sharedCache.publish(CHANNEL, invalidation);
+    }
+
+    /* O mesmo que a subida faz, sem reiniciar: nada do que estava em memória é reaproveitado. */
+    void resync() {
+        hibernateCache().evictAllRegions();
+        productDetailsCache.invalidateAll();
+        categoryIndexer.rebuild();
+        productIndexer.rebuild();
+        catalogVersion.bump();
+        log.info("Caches locais descartados e índices reconstruídos após reconexão ao L2");
+    }
+
+    private Cache hibernateCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private void count(String type) {
+        meterRegistry.counter(RECEIVED, "type", type).increment();
+    }
+
+    /* Exatamente um dos eventos preenchido. */
+    record Invalidation(
+            String node,
+            ProductChangedEvent product,
+            ProductsImportedEvent imported,
+            ProductsRepricedEvent repriced,
+            CategoryChangedEvent category,
+            UserChangedEvent user
+    ) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.restful.dscatalog.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.restful.dscatalog.dto.category.CategoryDetailsDTO;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.projections.ResourceVersion;
+import com.restful.dscatalog.search.ProductFacets;
+import com.restful.dscatalog.service.CategoryService;
+import com.restful.dscatalog.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+  /actuator/cacheregions (só ROLE_ADMIN, ver ResourceServerConfig). Vale para o nó
+  que atende: cada instância tem seus caches locais e seu L2 do Hibernate.
+
+  GET    /actuator/cacheregions               todas as regiões: caches locais
+                                              (Caffeine) e regiões do L2 do Hibernate
+  GET    /actuator/cacheregions/{name}        uma região
+  DELETE /actuator/cacheregions/{name}        esvazia a região; ?key=5 remove uma
+                                              chave, ?prefix=... as que começam assim
+  POST   /actuator/cacheregions               pré-carga: {"pages": 3, "size": 5}
+                                              (primeiras páginas de produtos por id)
+                                              e todas as categorias
+
+  Regiões do Hibernate só aceitam remoção completa; o tamanho delas não é
+  exposto pelo provider JCache e sai nulo.
+ */
+@Component
+@WebEndpoint(id = "cacheregions")
+public class CacheRegionsEndpoint {
+
+    static final int DEFAULT_WARM_UP_PAGES = 3;
+    /* O mesmo @PageableDefault de GET /products. */
+    static final int DEFAULT_WARM_UP_SIZE = 5;
+    static final int MAX_WARM_UP_PRODUCTS = 10_000;
+
+    private static final String LOCAL = "local";
+    private static final String HIBERNATE = "hibernate";
+
+    private final Map<String, InspectableCache> localCaches = new TreeMap<>();
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final ProductDetailsCache productDetailsCache;
+
+    public CacheRegionsEndpoint(
+            List<InspectableCache> localCaches,
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry,
+            ProductService productService,
+            CategoryService categoryService,
+            ProductDetailsCache productDetailsCache
+    ) {
+        localCaches.forEach(cache -> this.localCaches.put(cache.name(), cache));
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.productDetailsCache = productDetailsCache;
+    }
+
+    @ReadOperation
+    public Map<String, CacheRegion> regions() {
+        Map<String, CacheRegion> regions = new LinkedHashMap<>();
+        localCaches.values().forEach(cache -> regions.put(cache.name(), describe(cache)));
+        Statistics statistics = statistics();
+        for (String name : hibernateRegions(statistics)) {
+            CacheRegion region = describe(name, statistics);
+            if (region != null) regions.put(name, region);
+        }
+        return regions;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<CacheRegion> region(@Selector String name) {
+        InspectableCache cache = localCaches.get(name);
+        CacheRegion region = cache != null ? describe(cache) : describe(name, statistics());
+        return region != null
+                ? new WebEndpointResponse<>(region)
+                : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Eviction> evict(@Selector String name, @Nullable String key, @Nullable String prefix) {
+        if (key != null && prefix != null) {
+            throw new InvalidEndpointRequestException("Use key ou prefix, não os dois", "key e prefix juntos");
+        }
+        InspectableCache cache = localCaches.get(name);
+        if (cache != null) return new WebEndpointResponse<>(evictLocal(cache, key, prefix));
+
+        if (!hibernateRegions(statistics()).contains(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (key != null || prefix != null) {
+            throw new InvalidEndpointRequestException(
+                    "Região do Hibernate só aceita remoção completa: " + name, "key/prefix em região do Hibernate");
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictRegion(name);
+        return new WebEndpointResponse<>(new Eviction(name, null));
+    }
+
+    @WriteOperation
+    public WarmUp warmUp(@Nullable Integer pages, @Nullable Integer size) {
+        int pageCount = pages != null ? pages : DEFAULT_WARM_UP_PAGES;
+        int pageSize = size != null ? size : DEFAULT_WARM_UP_SIZE;
+        if (pageCount < 0 || pageSize < 1 || (long) pageCount * pageSize > MAX_WARM_UP_PRODUCTS) {
+            throw new InvalidEndpointRequestException(
+                    "pages >= 0, size >= 1 e pages * size <= " + MAX_WARM_UP_PRODUCTS, "pré-carga fora dos limites");
+        }
+        long start = nanoTime();
+
+        /* Carregar as categorias como entidades preenche a região "category" do Hibernate. */
+        List<CategoryDetailsDTO> categories = categoryService.listAllWithoutPagination();
+
+        int products = 0;
+        for (int page = 0; page < pageCount; page++) {
+            long invalidationsBefore = productDetailsCache.invalidations();
+            Slice<ProductDetailsDTO> slice = productService.listAll(
+                    PageRequest.of(page, pageSize, Sort.by("id")), ProductFacets.NONE, CountMode.NONE, FieldSelection.ALL);
+            Map<Long, ResourceVersion> versions = productService.findVersions(
+                    slice.getContent().stream().map(ProductDetailsDTO::id).toList());
+            productDetailsCache.warm(slice.getContent().stream()
+                    .filter(details -> versions.containsKey(details.id()))
+                    .map(details -> new ProductDetailsCache.Entry(details, versions.get(details.id())))
+                    .toList(), invalidationsBefore);
+            products += slice.getNumberOfElements();
+            if (!slice.hasNext()) break;
+        }
+        return new WarmUp(categories.size(), products, NANOSECONDS.toMillis(nanoTime() - start));
+    }
+
+    private Eviction evictLocal(InspectableCache cache, String key, String prefix) {
+        Cache<?, ?> caffeine = cache.caffeine();
+        if (key == null && prefix == null) {
+            long size = caffeine.estimatedSize();
+            cache.evictAll();
+            return new Eviction(cache.name(), size);
+        }
+        List<?> keys;
+        if (key != null) {
+            Object typedKey = typedKey(cache, key);
+            keys = caffeine.asMap().containsKey(typedKey) ? List.of(typedKey) : List.of();
+        } else {
+            keys = caffeine.asMap().keySet().stream()
+                    .filter(candidate -> String.valueOf(candidate).startsWith(prefix))
+                    .toList();
+        }
+        cache.evict(keys);
+        return new Eviction(cache.name(), (long) keys.size());
+    }
+
+    private static Object typedKey(InspectableCache cache, String key) {
+        try {
+            return cache.parseKey(key);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new InvalidEndpointRequestException("Chave inválida para " + cache.name() + ": " + key, "chave inválida");
+        }
+    }
+
+    private CacheRegion describe(InspectableCache cache) {
+        Cache<?, ?> caffeine = cache.caffeine();
+        CacheStats stats = caffeine.stats();
+        var eviction = caffeine.policy().eviction();
+        return new CacheRegion(
+                LOCAL,
+                caffeine.estimatedSize(),
+                eviction.filter(Policy.Eviction::isWeighted).map(weighted -> weighted.weightedSize().orElse(0)).orElse(null),
+                eviction.map(Policy.Eviction::getMaximum).orElse(null),
+                stats.requestCount() == 0 ? null : stats.hitRate(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                loadLatency(cache.name())
+        );
+    }
+
+    private CacheRegion describe(String name, Statistics statistics) {
+        /* Nome desconhecido não pode chegar ao Hibernate: ele tenta criar a região e falha. */
+        if (!hibernateRegions(statistics).contains(name)) return null;
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+        if (region == null) return null;
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        long elements = region.getElementCountInMemory();
+        return new CacheRegion(
+                HIBERNATE,
+                elements < 0 ? null : elements,
+                null,
+                null,
+                hits + misses == 0 ? null : (double) hits / (hits + misses),
+                hits,
+                misses,
+                null,
+                null,
+                null
+        );
+    }
+
+    /* Percentis em ms de cache.load.latency (CacheStatsCounter); null se nada foi carregado. */
+    private Map<String, Double> loadLatency(String cacheName) {
+        Timer timer = meterRegistry.find(CacheStatsCounter.LOAD_LATENCY).tag("cache", cacheName).timer();
+        if (timer == null || timer.count() == 0) return null;
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            percentiles.put("p" + Math.round(value.percentile() * 100), value.value(MILLISECONDS));
+        }
+        percentiles.put("max", timer.max(MILLISECONDS));
+        return percentiles;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static List<String> hibernateRegions(Statistics statistics) {
+        return Stream.of(statistics.getSecondLevelCacheRegionNames()).sorted().toList();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record CacheRegion(
+            String source,
+            Long size,
+            Long weightBytes,
+            Long maximum,
+            Double hitRatio,
+            long hits,
+            long misses,
+            Long evictions,
+            Long evictionWeight,
+            Map<String, Double> loadTimeMs
+    ) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Eviction(String region, Long evicted) {
+    }
+
+    public record WarmUp(int categories, int products, long elapsedMs) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.restful.dscatalog.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+  Estatísticas padrão do Caffeine (o que o CaffeineCacheMetrics publica) mais
+  cada tempo de carga num Timer com percentis: cache.load.latency{cache}.
+  O total e a média do Caffeine escondem a cauda de um loader lento.
+ */
+final class CacheStatsCounter implements StatsCounter {
+
+    static final String LOAD_LATENCY = "cache.load.latency";
+
+    private final StatsCounter delegate = new ConcurrentStatsCounter();
+    private final Timer loadLatency;
+
+    CacheStatsCounter(MeterRegistry meterRegistry, String cacheName) {
+        this.loadLatency = Timer.builder(LOAD_LATENCY)
+                .tag("cache", cacheName)
+                .description("Tempo de cada carga feita pelo loader do cache")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordHits(int count) {
+        delegate.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        delegate.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        delegate.recordLoadSuccess(loadTime);
+        loadLatency.record(loadTime, NANOSECONDS);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        delegate.recordLoadFailure(loadTime);
+        loadLatency.record(loadTime, NANOSECONDS);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        delegate.recordEviction(weight, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return delegate.snapshot();
+    }
+}
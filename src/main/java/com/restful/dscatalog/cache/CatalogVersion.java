@@ -0,0 +1,59 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsImportedEvent;
+import com.restful.dscatalog.event.ProductsRepricedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  Contador do catálogo inteiro: sobe a cada escrita de produto ou categoria,
+  depois do commit. Quem guarda algo derivado de listagens carimba com o valor
+  lido ANTES de consultar o banco e só reaproveita enquanto ele for o atual.
+
+  Também é o ETag das listagens. O contador recomeça em 0 a cada subida, então o
+  ETag leva a hora de início do processo: um ETag guardado pelo cliente antes de
+  um restart (ou vindo de outra instância) nunca coincide por acaso.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public long current() {
+        return version.get();
+    }
+
+    /* Fraco: o mesmo ETag vale para o corpo com e sem gzip. */
+    public String eTag() {
+        return "W/\"" + epoch + "-" + current() + "\"";
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump();
+    }
+}
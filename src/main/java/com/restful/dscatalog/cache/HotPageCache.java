@@ -0,0 +1,99 @@
+package com.restful.dscatalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/*
+  Respostas já serializadas das primeiras páginas de listagem: bytes do JSON (e a
+  versão gzip) mais os headers de paginação. Uma entrada só vale para a versão
+  do catálogo com que foi gravada; depois de uma escrita ela é ignorada e
+  sobrescrita na próxima falta.
+ */
+@Component
+public class HotPageCache implements InspectableCache {
+
+    static final String NAME = "hot-pages";
+
+    private final Cache<String, CachedPage> cache;
+
+    public HotPageCache(
+            MeterRegistry meterRegistry,
+            @Value("${cache.hot-pages.max-size:4MB}") DataSize maxSize
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedPage page) -> key.length() + page.weight())
+                .recordStats(() -> new CacheStatsCounter(meterRegistry, NAME))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public CachedPage get(String key, long catalogVersion) {
+        CachedPage page = cache.getIfPresent(key);
+        return page != null && page.catalogVersion() == catalogVersion ? page : null;
+    }
+
+    public void put(String key, CachedPage page) {
+        cache.asMap().merge(key, page, (current, candidate) ->
+                candidate.catalogVersion() >= current.catalogVersion() ? candidate : current);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Cache<?, ?> caffeine() {
+        return cache;
+    }
+
+    /* A chave é a URL normalizada pelo HotPageCacheFilter, ex.: http://host/products?page=0&size=&sort=. */
+    @Override
+    public String parseKey(String key) {
+        return key;
+    }
+
+    public record CachedPage(
+            long catalogVersion,
+            String contentType,
+            List<Map.Entry<String, String>> headers,
+            byte[] body,
+            byte[] gzipBody
+    ) {
+        public static CachedPage of(
+                long catalogVersion,
+                String contentType,
+                List<Map.Entry<String, String>> headers,
+                byte[] body
+        ) {
+            return new CachedPage(catalogVersion, contentType, List.copyOf(headers), body, gzip(body));
+        }
+
+        int weight() {
+            return 256 + body.length + gzipBody.length;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
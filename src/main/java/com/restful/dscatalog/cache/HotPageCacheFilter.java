@@ -0,0 +1,163 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.cache.HotPageCache.CachedPage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Locale.ROOT;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.LINK;
+import static org.springframework.http.HttpHeaders.VARY;
+
+/*
+  Serve as primeiras páginas de GET /products e /categories direto do HotPageCache,
+  sem passar por DispatcherServlet, Hibernate ou Jackson. Roda depois do Spring
+  Security, então autenticação continua valendo. Só entram requisições cujos
+  parâmetros sejam page/size/sort (qualquer outro, como fields ou count, muda o
+  corpo e segue o caminho normal) e com page <= maxPage.
+
+  O ETag da listagem (CatalogVersion) é guardado junto; If-None-Match igual a ele
+  responde 304 sem corpo, ainda no filtro.
+
+  Header X-Cache: HIT|MISS.
+ */
+public class HotPageCacheFilter extends OncePerRequestFilter {
+
+    static final String X_CACHE = "X-Cache";
+
+    private static final Set<String> KEY_PARAMETERS = Set.of("page", "size", "sort");
+    private static final List<String> CACHED_HEADERS = List.of(
+            ETAG, LINK, "X-Total-Count", "X-Total-Count-Estimate", "X-Page-Number", "X-Page-Size"
+    );
+
+    private final HotPageCache hotPageCache;
+    private final CatalogVersion catalogVersion;
+    private final int maxPage;
+
+    public HotPageCacheFilter(HotPageCache hotPageCache, CatalogVersion catalogVersion, int maxPage) {
+        this.hotPageCache = hotPageCache;
+        this.catalogVersion = catalogVersion;
+        this.maxPage = maxPage;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = "GET".equals(request.getMethod()) ? key(request) : null;
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long version = catalogVersion.current();
+        CachedPage cached = hotPageCache.get(key, version);
+        if (cached != null) {
+            if (!notModified(cached, request, response)) write(cached, acceptsGzip(request), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+            hotPageCache.put(key, CachedPage.of(
+                    version,
+                    wrapper.getContentType(),
+                    cachedHeaders(wrapper),
+                    wrapper.getContentAsByteArray()
+            ));
+        }
+        wrapper.setHeader(X_CACHE, "MISS");
+        wrapper.copyBodyToResponse();
+    }
+
+    /*
+      URL (esquema, host e caminho, pois os links de paginação são absolutos) +
+      page/size/sort normalizados; null quando a requisição não é cacheável.
+     */
+    String key(HttpServletRequest request) {
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (!KEY_PARAMETERS.containsAll(parameters.keySet())) return null;
+
+        String page = single(parameters.get("page"), "0");
+        String size = single(parameters.get("size"), "");
+        if (page == null || size == null || !isNumber(page) || (!size.isEmpty() && !isNumber(size))) return null;
+        if (Integer.parseInt(page) > maxPage) return null;
+
+        String sort = Arrays.stream(parameters.getOrDefault("sort", new String[0]))
+                .map(HotPageCacheFilter::normalizeSort)
+                .collect(Collectors.joining("|"));
+        return request.getRequestURL() + "?page=" + page + "&size=" + size + "&sort=" + sort;
+    }
+
+    private static boolean notModified(CachedPage cached, HttpServletRequest request, HttpServletResponse response) {
+        String eTag = cached.headers().stream()
+                .filter(header -> header.getKey().equals(ETAG))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        if (eTag == null || !new ServletWebRequest(request, response).checkNotModified(eTag)) return false;
+        response.setHeader(VARY, ACCEPT_ENCODING);
+        response.setHeader(X_CACHE, "HIT");
+        return true;
+    }
+
+    private static void write(CachedPage cached, boolean gzip, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        cached.headers().forEach(header -> response.addHeader(header.getKey(), header.getValue()));
+        response.setHeader(VARY, ACCEPT_ENCODING);
+        response.setHeader(X_CACHE, "HIT");
+
+        byte[] body = gzip ? cached.gzipBody() : cached.body();
+        if (gzip) response.setHeader(CONTENT_ENCODING, "gzip");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static List<Map.Entry<String, String>> cachedHeaders(HttpServletResponse response) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : CACHED_HEADERS) {
+            response.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+        }
+        return headers;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(ROOT).contains("gzip");
+    }
+
+    private static String single(String[] values, String fallback) {
+        if (values == null) return fallback;
+        return values.length == 1 ? values[0].trim() : null;
+    }
+
+    private static boolean isNumber(String value) {
+        return !value.isEmpty() && value.length() < 10 && value.chars().allMatch(Character::isDigit);
+    }
+
+    /* "name" e "name,ASC" viram "name,asc". */
+    private static String normalizeSort(String sort) {
+        String[] parts = sort.trim().split(",");
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(ROOT) : "asc";
+        return parts[0].trim() + "," + direction;
+    }
+}
@@ -0,0 +1,24 @@
+package com.restful.dscatalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Collection;
+
+/* Cache local (Caffeine) listado e esvaziado pelo CacheRegionsEndpoint. */
+interface InspectableCache {
+
+    String name();
+
+    Cache<?, ?> caffeine();
+
+    /* Chave digitada em ?key= convertida para o tipo da chave do cache. */
+    Object parseKey(String key);
+
+    default void evict(Collection<?> keys) {
+        caffeine().asMap().keySet().removeAll(keys);
+    }
+
+    default void evictAll() {
+        caffeine().invalidateAll();
+    }
+}
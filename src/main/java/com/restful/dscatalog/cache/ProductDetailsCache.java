@@ -0,0 +1,181 @@
+package com.restful.dscatalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsRepricedEvent;
+import com.restful.dscatalog.projections.ResourceVersion;
+import com.restful.dscatalog.search.CategoryMatch;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+  ProductDetailsDTO de GET /products/{id} já montado, por id, junto com os seus
+  validadores (ETag / Last-Modified): um acerto responde 304 ou 200 sem ir ao
+  banco. O limite é por peso (bytes estimados do DTO), não por quantidade,
+  porque descrições variam muito.
+
+  Invalidação depois do commit: escrita no produto remove o id; renomear ou remover
+  uma categoria remove os produtos dela (bitmap do CategoryProductIndex). Um
+  invalidate que chega durante o carregamento da mesma chave espera o carregamento
+  terminar e o descarta, então um valor lido antes do commit não sobrevive.
+
+  Com o SharedCache ligado, uma falta aqui (L1) consulta o L2 antes do loader, e o
+  que o loader devolve é gravado lá por cache.l2.product-details.ttl, mas só se a
+  chave não foi apagada desde a consulta (setIfUnchanged): um DTO lido antes de um
+  commit não volta para o L2 depois do DEL desse commit. Cada nó apaga a chave ao
+  receber a invalidação (o seu commit ou a mensagem de outro nó); o TTL limita o
+  que ainda escapar (L2 fora do ar no meio do caminho).
+
+  Métricas em /actuator/metrics/cache.gets, cache.evictions etc. com cache=product-details.
+ */
+@Component
+public class ProductDetailsCache implements InspectableCache {
+
+    static final String NAME = "product-details";
+    private static final String SHARED_KEY_PREFIX = "dscatalog:product-details:v2:";
+
+    private final Cache<Long, Entry> cache;
+    private final CategoryProductIndex categoryProductIndex;
+    private final SharedCache sharedCache;
+    private final Duration sharedTtl;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductDetailsCache(
+            CategoryProductIndex categoryProductIndex,
+            SharedCache sharedCache,
+            MeterRegistry meterRegistry,
+            @Value("${cache.product-details.max-size:16MB}") DataSize maxSize,
+            @Value("${cache.product-details.ttl:10m}") Duration ttl,
+            @Value("${cache.l2.product-details.ttl:5m}") Duration sharedTtl
+    ) {
+        this.categoryProductIndex = categoryProductIndex;
+        this.sharedCache = sharedCache;
+        this.sharedTtl = sharedTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, Entry entry) -> estimateBytes(entry.details()) + 64)
+                .expireAfterWrite(ttl)
+                .recordStats(() -> new CacheStatsCounter(meterRegistry, NAME))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public Entry get(Long productId, Function<Long, Entry> loader) {
+        return cache.get(productId, id -> {
+            SharedCache.Lookup<Entry> shared = sharedCache.lookup(sharedKey(id), Entry.class);
+            if (shared.value() != null) return shared.value();
+            Entry loaded = loader.apply(id);
+            sharedCache.setIfUnchanged(shared, loaded, sharedTtl);
+            return loaded;
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /* Lido ANTES de consultar o banco e passado a warm(). */
+    public long invalidations() {
+        return invalidations.get();
+    }
+
+    /*
+      Pré-carga (só o L1) com entradas lidas fora de get(). Se alguma invalidação
+      aconteceu desde invalidationsBefore, o que foi gravado sai de novo: o DTO
+      pode ser anterior ao commit que a disparou.
+     */
+    public void warm(Collection<Entry> entries, long invalidationsBefore) {
+        entries.forEach(entry -> cache.asMap().putIfAbsent(entry.details().id(), entry));
+        if (invalidations.get() != invalidationsBefore) entries.forEach(entry -> cache.invalidate(entry.details().id()));
+    }
+
+    /* fallbackExecution: eventos de outros nós são republicados fora de transação (CacheInvalidationBus). */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidate(event.productId());
+        sharedCache.delete(sharedKey(event.productId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(event.productIds());
+        sharedCache.delete(event.productIds().stream().map(ProductDetailsCache::sharedKey).toArray(String[]::new));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidations.incrementAndGet();
+        List<String> sharedKeys = new ArrayList<>();
+        categoryProductIndex.match(List.of(event.categoryId()), CategoryMatch.ANY)
+                .forEach((int productId) -> {
+                    cache.invalidate((long) productId);
+                    sharedKeys.add(sharedKey((long) productId));
+                });
+        sharedCache.delete(sharedKeys.toArray(String[]::new));
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Cache<?, ?> caffeine() {
+        return cache;
+    }
+
+    @Override
+    public Object parseKey(String key) {
+        return Long.valueOf(key);
+    }
+
+    /* Remoção pelo endpoint também apaga a chave no L2, para o próximo get ir ao banco. */
+    @Override
+    public void evict(Collection<?> keys) {
+        cache.asMap().keySet().removeAll(keys);
+        sharedCache.delete(keys.stream().map(key -> sharedKey((Long) key)).toArray(String[]::new));
+    }
+
+    private static String sharedKey(Long productId) {
+        return SHARED_KEY_PREFIX + productId;
+    }
+
+    /* Estimativa grosseira: cabeçalhos de objeto + 2 bytes por char (UTF-16). */
+    static int estimateBytes(ProductDetailsDTO details) {
+        int bytes = 128;
+        bytes += chars(details.name()) + chars(details.description()) + chars(details.imgUrl());
+        if (details.categoryNames() != null) {
+            for (String categoryName : details.categoryNames()) bytes += 48 + chars(categoryName);
+        }
+        return bytes;
+    }
+
+    private static int chars(String value) {
+        return value == null ? 0 : 40 + 2 * value.length();
+    }
+
+    /*
+      O loader lê os validadores ANTES do DTO: se um commit cair entre as duas
+      leituras, o ETag fica mais velho que o corpo (o cliente só baixa de novo),
+      nunca o contrário; e a invalidação desse commit descarta a entrada.
+     */
+    public record Entry(ProductDetailsDTO details, ResourceVersion version) {
+    }
+}
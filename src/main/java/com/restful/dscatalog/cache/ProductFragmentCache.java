@@ -0,0 +1,95 @@
+package com.restful.dscatalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsRepricedEvent;
+import com.restful.dscatalog.search.CategoryMatch;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+  JSON de cada ProductDetailsDTO já serializado (UTF-8), por id. Listagens diferentes
+  repetem os mesmos produtos; com o fragmento em cache, o Jackson só copia bytes.
+
+  A entrada guarda o DTO de origem e só é usada se ele for igual (equals do record)
+  ao que está sendo escrito: um fragmento nunca sai com dados diferentes dos da
+  página, mesmo antes de a invalidação chegar. Escrita no produto e renomear
+  categoria removem as entradas depois do commit, liberando a memória na hora.
+ */
+@Component
+public class ProductFragmentCache implements InspectableCache {
+
+    static final String NAME = "product-fragments";
+
+    private final Cache<Long, Fragment> cache;
+    private final CategoryProductIndex categoryProductIndex;
+
+    public ProductFragmentCache(
+            CategoryProductIndex categoryProductIndex,
+            MeterRegistry meterRegistry,
+            @Value("${cache.product-fragments.max-size:16MB}") DataSize maxSize
+    ) {
+        this.categoryProductIndex = categoryProductIndex;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, Fragment fragment) -> ProductDetailsCache.estimateBytes(fragment.source())
+                                                         + fragment.json().byteLength())
+                .recordStats(() -> new CacheStatsCounter(meterRegistry, NAME))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public JsonFragment get(ProductDetailsDTO details, Function<ProductDetailsDTO, byte[]> serializer) {
+        Fragment cached = cache.getIfPresent(details.id());
+        if (cached != null && cached.source().equals(details)) return cached.json();
+
+        JsonFragment json = new JsonFragment(serializer.apply(details));
+        cache.put(details.id(), new Fragment(details, json));
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidate(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsRepriced(ProductsRepricedEvent event) {
+        cache.invalidateAll(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryProductIndex.match(List.of(event.categoryId()), CategoryMatch.ANY)
+                .forEach((int productId) -> cache.invalidate((long) productId));
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Cache<?, ?> caffeine() {
+        return cache;
+    }
+
+    @Override
+    public Object parseKey(String key) {
+        return Long.valueOf(key);
+    }
+
+    private record Fragment(ProductDetailsDTO source, JsonFragment json) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.restful.dscatalog.cache;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/*
+  Envolve o serializer padrão de ProductDetailsDTO: com todos os campos (sem
+  ?fields=), escreve o fragmento do ProductFragmentCache com writeRawValue; com
+  sparse fieldset, ou sem id, delega ao serializer padrão.
+ */
+public class ProductFragmentSerializer extends StdSerializer<ProductDetailsDTO>
+        implements ResolvableSerializer, ContextualSerializer {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonSerializer<Object> delegate;
+    private final ProductFragmentCache productFragmentCache;
+
+    public ProductFragmentSerializer(JsonSerializer<Object> delegate, ProductFragmentCache productFragmentCache) {
+        super(ProductDetailsDTO.class);
+        this.delegate = delegate;
+        this.productFragmentCache = productFragmentCache;
+    }
+
+    @Override
+    public void serialize(ProductDetailsDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value.id() == null || !FieldSelection.selectsAll(provider.getFilterProvider(), value)) {
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeRawValue(productFragmentCache.get(value, details -> render(details, provider)));
+    }
+
+    private byte[] render(ProductDetailsDTO details, SerializerProvider provider) {
+        ByteArrayBuilder bytes = new ByteArrayBuilder(512);
+        try (JsonGenerator fragmentGenerator = JSON_FACTORY.createGenerator(bytes, JsonEncoding.UTF8)) {
+            delegate.serialize(details, fragmentGenerator, provider);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) resolvable.resolve(provider);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        if (!(delegate instanceof ContextualSerializer contextual)) return this;
+        JsonSerializer<?> contextualDelegate = contextual.createContextual(provider, property);
+        return contextualDelegate == delegate
+                ? this
+                : new ProductFragmentSerializer((JsonSerializer<Object>) contextualDelegate, productFragmentCache);
+    }
+}
@@ -0,0 +1,182 @@
+package com.restful.dscatalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.LongStream;
+
+/*
+  Guarda de ids de produto para GET /products/{id}: responde "não existe" sem SQL.
+
+  1. Bloom filter dos ids existentes (carregado no rebuild do ProductIndexer,
+     alimentado por ProductChangedEvent). "Não contém" é 404 certo.
+  2. Cache negativo curto para o que o Bloom deixa passar: falsos positivos e
+     ids apagados (Bloom não remove). Só guarda a falta se nenhum produto foi
+     salvo durante a consulta, e todo save invalida o id; assim uma falta lida
+     antes de um commit não esconde o produto recém-criado.
+
+  Antes do primeiro rebuild tudo passa (não há Bloom ainda). O tamanho do Bloom é
+  o maior entre cache.product-ids.expected-insertions e 2x os ids existentes, com
+  a taxa de falsos positivos de cache.product-ids.fpp.
+
+  Métricas: product-id-filter.size (bytes), .ids, .fpp (estimada com os ids
+  atuais), .rejections{reason=bloom|negative}; cache=product-not-found no Caffeine.
+ */
+@Component
+public class ProductIdFilter implements InspectableCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIdFilter.class);
+
+    static final String REJECTIONS = "product-id-filter.rejections";
+    static final String NOT_FOUND = "product-not-found";
+
+    private final long expectedInsertions;
+    private final double fpp;
+    private final Cache<Long, Boolean> notFound;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong saves = new AtomicLong();
+
+    private volatile BloomFilter bloom;
+    private List<Long> pendingDuringRebuild;
+
+    public ProductIdFilter(
+            MeterRegistry meterRegistry,
+            @Value("${cache.product-ids.expected-insertions:100000}") long expectedInsertions,
+            @Value("${cache.product-ids.fpp:0.01}") double fpp,
+            @Value("${cache.product-not-found.ttl:30s}") Duration notFoundTtl,
+            @Value("${cache.product-not-found.max-entries:100000}") long notFoundMaxEntries
+    ) {
+        if (!(fpp > 0 && fpp < 1)) throw new IllegalArgumentException("cache.product-ids.fpp deve estar entre 0 e 1: " + fpp);
+        this.meterRegistry = meterRegistry;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(notFoundMaxEntries)
+                .expireAfterWrite(notFoundTtl)
+                .recordStats(() -> new CacheStatsCounter(meterRegistry, NOT_FOUND))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, notFound, NOT_FOUND);
+        Gauge.builder("product-id-filter.size", this, filter -> filter.current(BloomFilter::sizeInBytes))
+                .baseUnit("bytes")
+                .description("Memória do Bloom filter de ids de produto")
+                .register(meterRegistry);
+        Gauge.builder("product-id-filter.ids", this, filter -> filter.current(BloomFilter::insertions))
+                .description("Ids inseridos no Bloom filter desde o último rebuild")
+                .register(meterRegistry);
+        Gauge.builder("product-id-filter.fpp", this, filter -> filter.current(BloomFilter::expectedFpp))
+                .description("Taxa de falsos positivos estimada com os ids atuais")
+                .register(meterRegistry);
+    }
+
+    /*
+      Optional.empty() sem chamar o loader quando o id certamente não existe;
+      senão delega ao loader e, se ele não achar, lembra a falta por um tempo.
+     */
+    public <T> Optional<T> find(Long productId, Function<Long, Optional<T>> loader) {
+        BloomFilter current = bloom;
+        if (current != null && !current.mightContain(productId)) {
+            reject("bloom");
+            return Optional.empty();
+        }
+        if (notFound.getIfPresent(productId) != null) {
+            reject("negative");
+            return Optional.empty();
+        }
+
+        long savesBefore = saves.get();
+        Optional<T> result = loader.apply(productId);
+        if (result.isEmpty()) {
+            /* Grava e confere depois: um save concorrente ou já mudou o contador, ou invalida depois desta escrita. */
+            notFound.put(productId, Boolean.TRUE);
+            if (saves.get() != savesBefore) notFound.invalidate(productId);
+        }
+        return result;
+    }
+
+    /* Ids escritos durante a leitura da fonte são reaplicados no filtro novo antes da troca. */
+    public void rebuild(Consumer<LongConsumer> source) {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        LongStream.Builder ids = LongStream.builder();
+        source.accept(ids::add);
+        long[] existing = ids.build().toArray();
+
+        BloomFilter fresh = BloomFilter.create(Math.max(expectedInsertions, 2L * existing.length), fpp);
+        for (long id : existing) fresh.add(id);
+
+        synchronized (this) {
+            pendingDuringRebuild.forEach(fresh::add);
+            pendingDuringRebuild = null;
+            bloom = fresh;
+        }
+        notFound.invalidateAll();
+        log.info("Filtro de ids de produto: {} ids, {} bits ({} KB), {} hashes, fpp estimada {}",
+                fresh.insertions(), fresh.bitSize(), fresh.sizeInBytes() / 1024, fresh.hashes(),
+                String.format("%.4f", fresh.expectedFpp()));
+    }
+
+    /* Conta o save ANTES de invalidar: find() não grava uma falta lida antes deste commit. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeletion()) return;
+        saves.incrementAndGet();
+        add(event.productId());
+        notFound.invalidate(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.products().forEach(this::onProductChanged);
+    }
+
+    private synchronized void add(Long productId) {
+        if (pendingDuringRebuild != null) pendingDuringRebuild.add(productId);
+        if (bloom != null) bloom.add(productId);
+    }
+
+    /* Para o endpoint: o cache inspecionável é o negativo; o Bloom aparece nas métricas product-id-filter.*. */
+    @Override
+    public String name() {
+        return NOT_FOUND;
+    }
+
+    @Override
+    public Cache<?, ?> caffeine() {
+        return notFound;
+    }
+
+    @Override
+    public Object parseKey(String key) {
+        return Long.valueOf(key);
+    }
+
+    private double current(ToDoubleFunction<BloomFilter> metric) {
+        BloomFilter current = bloom;
+        return current == null ? 0 : metric.applyAsDouble(current);
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter(REJECTIONS, "reason", reason).increment();
+    }
+}
@@ -0,0 +1,388 @@
+package com.restful.dscatalog.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+  Cache compartilhado entre as instâncias (L2), falando o protocolo Redis via
+  Lettuce. Fica atrás dos caches locais (L1): uma falta no L1 consulta o L2 antes
+  do banco, e o canal de pub/sub leva as invalidações de um nó para os outros.
+
+  Nada aqui é obrigatório para responder. Com cache.l2.enabled=false (padrão) ou
+  com o servidor fora do ar, get devolve null, set não faz nada e o serviço segue
+  só com o L1. Uma falha (conexão recusada, timeout de cache.l2.timeout) desliga o
+  L2 por cache.l2.retry-after; passado esse tempo a próxima chamada tenta de novo.
+  DELs e mensagens que falharam ficam numa fila limitada e são reenviados quando o
+  L2 volta (na thread cache-l2-replay, fora da requisição), para que uma entrada
+  antiga não sobreviva à queda.
+
+  Cada chave tem uma geração (chave + ":generation"), incrementada junto com o
+  DEL. lookup devolve o valor e a geração lidos juntos, e setIfUnchanged só grava
+  se a geração ainda for a mesma: um valor carregado antes de um commit não é
+  gravado depois do DEL desse commit.
+
+  Mensagens perdidas enquanto a assinatura do canal estava caída não voltam:
+  quando ela se restabelece, os ouvintes de onResubscribe são chamados para
+  descartar o que o nó tem em memória.
+
+  Valores e mensagens são JSON (ObjectMapper próprio, sem os serializers do MVC).
+  Métricas: cache.l2.available (1/0) e cache.l2.errors{operation}.
+ */
+@Component
+public class SharedCache implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedCache.class);
+
+    static final String ERRORS = "cache.l2.errors";
+    static final int MAX_PENDING = 10_000;
+
+    private static final String GENERATION_SUFFIX = ":generation";
+    /* Bem acima do tempo de qualquer carga entre lookup e setIfUnchanged. */
+    private static final Duration GENERATION_TTL = Duration.ofHours(1);
+
+    /* KEYS = [chave, geração], ARGV = [geração lida, valor, ttl em ms]. */
+    private static final String SET_IF_UNCHANGED = """
+            if (redis.call('GET', KEYS[2]) or '') ~= ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """;
+
+    /* KEYS = [chave, geração, chave, geração, ...], ARGV = [ttl da geração em ms]. */
+    private static final String DELETE_AND_BUMP = """
+            for i = 1, #KEYS, 2 do
+              redis.call('DEL', KEYS[i])
+              redis.call('INCR', KEYS[i + 1])
+              redis.call('PEXPIRE', KEYS[i + 1], ARGV[1])
+            end
+            return #KEYS / 2
+            """;
+
+    private final boolean enabled;
+    private final long retryAfterNanos;
+    private final MeterRegistry meterRegistry;
+    private final RedisClient client;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .filterProvider(FieldSelection.ALL.filters())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final Map<String, Consumer<String>> subscriptions = new ConcurrentHashMap<>();
+    private final List<Runnable> resubscribeListeners = new CopyOnWriteArrayList<>();
+    private final Queue<Consumer<RedisCommands<String, String>>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    /* Uma thread: mensagens chegam em ordem e não rodam na event loop do Netty. */
+    private final ExecutorService dispatcher = daemonThread("cache-l2-dispatch");
+    /* Reenvio da fila: até MAX_PENDING comandos, longe da thread da requisição e das mensagens. */
+    private final ExecutorService replayer = daemonThread("cache-l2-replay");
+
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile StatefulRedisPubSubConnection<String, String> pubSub;
+    private volatile long downUntil;
+    private volatile boolean available;
+    private volatile boolean missedMessages;
+
+    public SharedCache(
+            MeterRegistry meterRegistry,
+            @Value("${cache.l2.enabled:false}") boolean enabled,
+            @Value("${cache.l2.uri:redis://localhost:6379}") String uri,
+            @Value("${cache.l2.timeout:200ms}") Duration timeout,
+            @Value("${cache.l2.retry-after:5s}") Duration retryAfter
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.client = enabled ? createClient(uri, timeout) : null;
+        Gauge.builder("cache.l2.available", this, cache -> cache.available ? 1 : 0)
+                .description("1 quando o cache compartilhado (L2) está respondendo")
+                .register(meterRegistry);
+    }
+
+    private RedisClient createClient(String uri, Duration timeout) {
+        RedisURI redisUri = RedisURI.create(uri);
+        redisUri.setTimeout(timeout);
+        RedisClient redisClient = RedisClient.create(redisUri);
+        redisClient.setOptions(ClientOptions.builder()
+                .autoReconnect(true)
+                /* Desconectado, o comando falha na hora em vez de esperar na fila. */
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .build());
+        redisClient.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+                if (handler == pubSub && missedMessages) dispatcher.execute(SharedCache.this::resubscribed);
+                if (handler == connection) scheduleReplay();
+            }
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                if (handler == pubSub) missedMessages = true;
+            }
+        });
+        return redisClient;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /*
+      Valor (null em falta, em erro de leitura do JSON ou com o L2 indisponível) e
+      geração da chave, num único MGET. Sem geração lida, setIfUnchanged não grava.
+     */
+    public <T> Lookup<T> lookup(String key, Class<T> type) {
+        List<KeyValue<String, String>> values = call("get", commands -> commands.mget(key, key + GENERATION_SUFFIX), null);
+        if (values == null) return new Lookup<>(key, null, null);
+        String generation = values.get(1).getValueOrElse("");
+        if (!values.get(0).hasValue()) return new Lookup<>(key, null, generation);
+        try {
+            return new Lookup<>(key, objectMapper.readValue(values.get(0).getValue(), type), generation);
+        } catch (JsonProcessingException jsonProcessingException) {
+            log.warn("Valor ilegível no cache compartilhado, chave {}: {}", key, jsonProcessingException.getMessage());
+            return new Lookup<>(key, null, generation);
+        }
+    }
+
+    /* Grava só se nenhum delete da chave aconteceu desde o lookup. */
+    public void setIfUnchanged(Lookup<?> lookup, Object value, Duration ttl) {
+        if (!enabled || lookup.generation() == null) return;
+        String json = toJson(value);
+        call("set", commands -> commands.eval(
+                SET_IF_UNCHANGED,
+                ScriptOutputType.INTEGER,
+                new String[]{lookup.key(), lookup.key() + GENERATION_SUFFIX},
+                lookup.generation(), json, String.valueOf(ttl.toMillis())
+        ), null);
+    }
+
+    /* DEL e incremento da geração, atômicos por script. */
+    public void delete(String... keys) {
+        if (keys.length == 0) return;
+        String[] keysAndGenerations = new String[keys.length * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keysAndGenerations[2 * i] = keys[i];
+            keysAndGenerations[2 * i + 1] = keys[i] + GENERATION_SUFFIX;
+        }
+        String generationTtl = String.valueOf(GENERATION_TTL.toMillis());
+        callOrRetryLater("delete", commands ->
+                commands.eval(DELETE_AND_BUMP, ScriptOutputType.INTEGER, keysAndGenerations, generationTtl));
+    }
+
+    public void publish(String channel, Object message) {
+        if (!enabled) return;
+        String json = toJson(message);
+        callOrRetryLater("publish", commands -> commands.publish(channel, json));
+    }
+
+    /* O listener roda na thread cache-l2-dispatch, uma mensagem por vez. */
+    public <T> void subscribe(String channel, Class<T> type, Consumer<T> listener) {
+        subscriptions.put(channel, json -> {
+            try {
+                listener.accept(objectMapper.readValue(json, type));
+            } catch (JsonProcessingException jsonProcessingException) {
+                log.warn("Mensagem ilegível no canal {}: {}", channel, jsonProcessingException.getMessage());
+            }
+        });
+        StatefulRedisPubSubConnection<String, String> current = pubSub;
+        if (current != null) {
+            try {
+                current.sync().subscribe(channel);
+            } catch (RuntimeException failure) {
+                markDown("subscribe", failure);
+            }
+        } else {
+            connection();
+        }
+    }
+
+    /* Chamado quando a assinatura volta depois de uma queda (mensagens podem ter se perdido). */
+    public void onResubscribe(Runnable listener) {
+        resubscribeListeners.add(listener);
+    }
+
+    private <T> T call(String operation, Function<RedisCommands<String, String>, T> command, T fallback) {
+        StatefulRedisConnection<String, String> current = connection();
+        if (current == null) return fallback;
+        try {
+            T result = command.apply(current.sync());
+            available = true;
+            return result;
+        } catch (RuntimeException failure) {
+            markDown(operation, failure);
+            return fallback;
+        }
+    }
+
+    private void callOrRetryLater(String operation, Consumer<RedisCommands<String, String>> command) {
+        if (!enabled) return;
+        StatefulRedisConnection<String, String> current = connection();
+        if (current != null) {
+            try {
+                command.accept(current.sync());
+                available = true;
+                return;
+            } catch (RuntimeException failure) {
+                markDown(operation, failure);
+            }
+        }
+        if (pendingSize.incrementAndGet() <= MAX_PENDING) {
+            pending.add(command);
+        } else {
+            pendingSize.decrementAndGet();
+            meterRegistry.counter(ERRORS, "operation", "dropped").increment();
+        }
+    }
+
+    /* null com o L2 desligado ou dentro da janela de retry-after. */
+    private StatefulRedisConnection<String, String> connection() {
+        if (!enabled || System.nanoTime() < downUntil) return null;
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null) current = connect();
+        if (current != null && !pending.isEmpty()) scheduleReplay();
+        return current;
+    }
+
+    private synchronized StatefulRedisConnection<String, String> connect() {
+        if (connection != null) return connection;
+        if (System.nanoTime() < downUntil) return null;
+        StatefulRedisConnection<String, String> commands = null;
+        try {
+            commands = client.connect();
+            StatefulRedisPubSubConnection<String, String> subscriber = client.connectPubSub();
+            subscriber.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String channel, String message) {
+                    Consumer<String> listener = subscriptions.get(channel);
+                    if (listener != null) dispatcher.execute(() -> listener.accept(message));
+                }
+            });
+            if (!subscriptions.isEmpty()) subscriber.sync().subscribe(subscriptions.keySet().toArray(String[]::new));
+            connection = commands;
+            pubSub = subscriber;
+            available = true;
+            log.info("Cache compartilhado (L2) conectado");
+            if (missedMessages) dispatcher.execute(this::resubscribed);
+            return commands;
+        } catch (RuntimeException failure) {
+            if (commands != null) commands.closeAsync();
+            missedMessages = true;
+            markDown("connect", failure);
+            return null;
+        }
+    }
+
+    private void scheduleReplay() {
+        if (pending.isEmpty() || !replaying.compareAndSet(false, true)) return;
+        try {
+            replayer.execute(this::replay);
+        } catch (RejectedExecutionException rejected) {
+            replaying.set(false);
+        }
+    }
+
+    private void replay() {
+        try {
+            StatefulRedisConnection<String, String> current = connection;
+            if (current == null || System.nanoTime() < downUntil) return;
+            Consumer<RedisCommands<String, String>> command;
+            while ((command = pending.peek()) != null) {
+                command.accept(current.sync());
+                pending.poll();
+                pendingSize.decrementAndGet();
+            }
+        } catch (RuntimeException failure) {
+            markDown("replay", failure);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private void resubscribed() {
+        if (!missedMessages) return;
+        missedMessages = false;
+        log.info("Assinatura de invalidações restabelecida; descartando caches locais");
+        resubscribeListeners.forEach(Runnable::run);
+    }
+
+    private void markDown(String operation, RuntimeException failure) {
+        meterRegistry.counter(ERRORS, "operation", operation).increment();
+        boolean firstFailure = downUntil == 0;
+        downUntil = System.nanoTime() + retryAfterNanos;
+        if (available || firstFailure) {
+            log.warn("Cache compartilhado (L2) indisponível em {}, seguindo só com o L1 por {} ms: {}",
+                    operation, retryAfterNanos / 1_000_000, failure.getMessage());
+        }
+        available = false;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new IllegalArgumentException("Valor não serializável para o cache compartilhado", jsonProcessingException);
+        }
+    }
+
+    /* generation null: o L2 não respondeu ao lookup. */
+    public record Lookup<T>(String key, T value, String generation) {
+    }
+
+    private static ExecutorService daemonThread(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        replayer.shutdownNow();
+        if (client != null) client.shutdown(Duration.ZERO, Duration.ofSeconds(2));
+    }
+}
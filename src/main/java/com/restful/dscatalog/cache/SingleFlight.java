@@ -0,0 +1,123 @@
+package com.restful.dscatalog.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+  Coalescência de leituras idênticas e simultâneas (single-flight): a primeira
+  requisição de uma chave vira "líder" e vai ao banco; as que chegam enquanto
+  ela roda esperam o mesmo resultado (ou a mesma exceção) em vez de repetir a
+  consulta. Nada é guardado depois: terminada a carga, a chave sai do mapa.
+
+  A chave é montada por quem chama: grupo + o que define o resultado (página,
+  filtros, CatalogVersion.current()...). Incluir a versão do catálogo garante
+  que quem chega depois de um commit não pega carona numa leitura anterior a ele.
+
+  Cada seguidor espera no máximo single-flight.max-wait pela carga daquela chave;
+  passado o limite, carrega sozinho. Um grupo pode ter limite próprio em
+  single-flight.group-max-wait (ex.: {'product-list':'500ms'}), e quem chama
+  pode passar o seu em load(group, key, maxWait, loader). Quem chama NÃO deve estar dentro de uma
+  transação: um seguidor esperando não pode prender uma conexão do pool.
+
+  Métricas: single-flight.loads{group, outcome=leader|collapsed|timeout} e
+  single-flight.in-flight (chaves com carga em andamento).
+ */
+@Component
+public class SingleFlight {
+
+    static final String LOADS = "single-flight.loads";
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Map<String, Duration> maxWaitByGroup;
+
+    public SingleFlight(
+            MeterRegistry meterRegistry,
+            @Value("${single-flight.enabled:true}") boolean enabled,
+            @Value("${single-flight.max-wait:2s}") Duration maxWait,
+            @Value("#{${single-flight.group-max-wait:{:}}}") Map<String, Duration> maxWaitByGroup
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        this.maxWaitByGroup = Map.copyOf(maxWaitByGroup);
+        Gauge.builder("single-flight.in-flight", inFlight, Map::size)
+                .description("Chaves com carga compartilhada em andamento")
+                .register(meterRegistry);
+    }
+
+    public <T> T load(String group, Object key, Supplier<T> loader) {
+        return load(group, key, maxWaitByGroup.getOrDefault(group, maxWait), loader);
+    }
+
+    /* maxWait vale só para esta chamada, se ela virar seguidora. */
+    public <T> T load(String group, Object key, Duration maxWait, Supplier<T> loader) {
+        if (!enabled) return loader.get();
+
+        Key flightKey = new Key(group, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, flight);
+        return running == null
+                ? lead(flightKey, flight, loader)
+                : follow(group, running, maxWait, loader);
+    }
+
+    private <T> T lead(Key flightKey, CompletableFuture<Object> flight, Supplier<T> loader) {
+        count(flightKey.group(), "leader");
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error failure) {
+            flight.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(String group, CompletableFuture<Object> running, Duration maxWait, Supplier<T> loader) {
+        try {
+            T value = (T) running.get(maxWait.toNanos(), NANOSECONDS);
+            count(group, "collapsed");
+            return value;
+        } catch (TimeoutException timeoutException) {
+            count(group, "timeout");
+            return loader.get();
+        } catch (ExecutionException executionException) {
+            count(group, "collapsed");
+            throw rethrow(executionException.getCause());
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando carga compartilhada: " + group, interruptedException);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) return runtimeException;
+        if (cause instanceof Error error) throw error;
+        return new IllegalStateException(cause);
+    }
+
+    private void count(String group, String outcome) {
+        meterRegistry.counter(LOADS, "group", group, "outcome", outcome).increment();
+    }
+
+    private record Key(String group, Object key) {
+    }
+}
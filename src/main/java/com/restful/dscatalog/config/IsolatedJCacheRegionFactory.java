@@ -0,0 +1,30 @@
+package com.restful.dscatalog.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+  O provider JCache devolve o mesmo CacheManager para a mesma URI, então dois
+  SessionFactory no mesmo processo (contextos de teste, por exemplo) dividiriam
+  as regiões e leriam entidades de outro banco. Um fragmento único na URI
+  "classpath:" dá a cada SessionFactory o seu próprio CacheManager, carregado
+  do mesmo arquivo, e fechado junto com ele.
+ */
+public class IsolatedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final String CLASSPATH_SCHEME = "classpath:";
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object configured = properties.get(ConfigSettings.CONFIG_URI);
+        if (configured == null || !configured.toString().startsWith(CLASSPATH_SCHEME)) {
+            return super.getUri(settings, properties);
+        }
+        return URI.create(configured + "#" + UUID.randomUUID());
+    }
+}
@@ -0,0 +1,105 @@
+package com.restful.dscatalog.config;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.restful.dscatalog.cache.ProductFragmentCache;
+import com.restful.dscatalog.cache.ProductFragmentSerializer;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CursorPage;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+
+    /*
+      Filtro padrão (serializa tudo) para DTOs com @JsonFilter escritos fora de
+      uma resposta MVC, como o export NDJSON; sem ele o Jackson falha.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultFieldsFilter() {
+        return builder -> builder.filters(FieldSelection.ALL.filters());
+    }
+
+    /*
+      Fragmentos em cache só nas listagens (Slice, Page, CursorPage), onde os
+      mesmos produtos se repetem entre requisições. Uma cópia do ObjectMapper
+      com productFragmentModule vira um conversor que só aceita esses tipos e
+      entra antes do Jackson padrão; respostas de um item e o export NDJSON
+      seguem no ObjectMapper global, sem tocar no ProductFragmentCache.
+     */
+    @Bean
+    public WebMvcConfigurer productListConverter(ObjectMapper objectMapper, ProductFragmentCache productFragmentCache) {
+        HttpMessageConverter<Object> converter = new ListResponseConverter(
+                objectMapper.copy().registerModule(productFragmentModule(productFragmentCache)));
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.addFirst(converter);
+            }
+        };
+    }
+
+    /* ProductDetailsDTO passa a ser escrito a partir de fragmentos JSON em cache. */
+    public static Module productFragmentModule(ProductFragmentCache productFragmentCache) {
+        return new SimpleModule("product-fragments").setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(
+                    SerializationConfig config,
+                    BeanDescription beanDesc,
+                    JsonSerializer<?> serializer
+            ) {
+                if (beanDesc.getBeanClass() != ProductDetailsDTO.class) return serializer;
+                return new ProductFragmentSerializer((JsonSerializer<Object>) serializer, productFragmentCache);
+            }
+        });
+    }
+
+    /* Só escreve páginas; leitura de corpo e demais tipos ficam com o conversor padrão. */
+    private static final class ListResponseConverter extends MappingJackson2HttpMessageConverter {
+
+        ListResponseConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        private static boolean isListResponse(Class<?> clazz) {
+            return Slice.class.isAssignableFrom(clazz) || CursorPage.class.isAssignableFrom(clazz);
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return isListResponse(clazz) && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return isListResponse(clazz) && super.canWrite(type, clazz, mediaType);
+        }
+    }
+}
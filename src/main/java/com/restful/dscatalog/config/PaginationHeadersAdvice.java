@@ -1,13 +1,17 @@
 package com.restful.dscatalog.config;
 
+import com.restful.dscatalog.dto.pagination.CursorPage;
+import com.restful.dscatalog.dto.pagination.EstimatedSlice;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 
 import org.springframework.http.HttpHeaders;
@@ -35,38 +39,76 @@ public class PaginationHeadersAdvice implements ResponseBodyAdvice<Object> {
             @NotNull ServerHttpRequest request,
             @NotNull ServerHttpResponse response
     ) {
-        if (!(body instanceof Page<?> page)) return body;
+        /* O SparseFieldsAdvice pode ter embrulhado o corpo antes deste advice. */
+        Object value = body instanceof MappingJacksonValue container ? container.getValue() : body;
+
+        if (value instanceof CursorPage<?> cursorPage) {
+            writeCursorHeaders(request, response.getHeaders(), cursorPage);
+            return body;
+        }
+
+        if (!(value instanceof Slice<?> slice)) return body;
 
         HttpHeaders headers = response.getHeaders();
-        headers.set("X-Page-Number", String.valueOf(page.getNumber()));
-        headers.set("X-Page-Size", String.valueOf(page.getSize()));
-        headers.set("X-Total-Count", String.valueOf(page.getTotalElements()));
-
-        if (page.getTotalPages() > 0) {
-            String link = buildLinkHeader(request, page);
-            if (!link.isEmpty()) {
-                headers.set(LINK, link);
-            }
+        headers.set("X-Page-Number", String.valueOf(slice.getNumber()));
+        headers.set("X-Page-Size", String.valueOf(slice.getSize()));
+
+        /*
+          Só Page tem total exato (e, portanto, rel="last"). Slice (count=none|estimate)
+          sabe apenas se há próxima página; o total estimado vai em header próprio.
+         */
+        if (slice instanceof Page<?> page) {
+            headers.set("X-Total-Count", String.valueOf(page.getTotalElements()));
+            if (page.getTotalPages() == 0) return body;
+        } else if (slice instanceof EstimatedSlice<?> estimatedSlice) {
+            headers.set("X-Total-Count-Estimate", String.valueOf(estimatedSlice.getEstimatedTotal()));
+        }
+
+        String link = buildLinkHeader(request, slice);
+        if (!link.isEmpty()) {
+            headers.set(LINK, link);
         }
 
-        return page;
+        return body;
     }
 
-    private static String buildLinkHeader(ServerHttpRequest request, Page<?> page) {
+    private static String buildLinkHeader(ServerHttpRequest request, Slice<?> slice) {
         UriComponentsBuilder base = UriComponentsBuilder.fromUri(request.getURI())
-                .replaceQueryParam("size", page.getSize());
+                .replaceQueryParam("size", slice.getSize());
 
         StringBuilder sb = new StringBuilder();
 
         appendRel(sb, pageUrl(base, 0), "first");
-        appendRel(sb, pageUrl(base, Math.max(page.getTotalPages() - 1, 0)), "last");
+        if (slice instanceof Page<?> page)
+            appendRel(sb, pageUrl(base, Math.max(page.getTotalPages() - 1, 0)), "last");
 
-        if (page.hasPrevious()) appendRel(sb, pageUrl(base, page.getNumber() - 1), "prev");
-        if (page.hasNext()) appendRel(sb, pageUrl(base, page.getNumber() + 1), "next");
+        if (slice.hasPrevious()) appendRel(sb, pageUrl(base, slice.getNumber() - 1), "prev");
+        if (slice.hasNext()) appendRel(sb, pageUrl(base, slice.getNumber() + 1), "next");
 
         return sb.toString();
     }
 
+    private static void writeCursorHeaders(ServerHttpRequest request, HttpHeaders headers, CursorPage<?> cursorPage) {
+        headers.set("X-Page-Size", String.valueOf(cursorPage.size()));
+
+        UriComponentsBuilder base = UriComponentsBuilder.fromUri(request.getURI())
+                .replaceQueryParam("page")
+                .replaceQueryParam("size", cursorPage.size());
+
+        StringBuilder sb = new StringBuilder();
+        appendRel(sb, cursorUrl(base, ""), "first");
+        if (cursorPage.hasNext()) appendRel(sb, cursorUrl(base, cursorPage.nextCursor()), "next");
+
+        headers.set(LINK, sb.toString());
+    }
+
+    private static String cursorUrl(UriComponentsBuilder base, String cursor) {
+        return base.cloneBuilder()
+                .replaceQueryParam("after", cursor)
+                .build(true)
+                .toUriString();
+    }
+
     private static String pageUrl(UriComponentsBuilder base, int pageIndex) {
         return base.cloneBuilder()
                 .replaceQueryParam("page", pageIndex)
@@ -0,0 +1,30 @@
+package com.restful.dscatalog.config;
+
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.cache.HotPageCache;
+import com.restful.dscatalog.cache.HotPageCacheFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResponseCacheConfig {
+
+    /*
+      Registrado só para as duas listagens (mapeamento exato, sem /*): qualquer
+      outra URL nem passa pelo filtro.
+     */
+    @Bean
+    FilterRegistrationBean<HotPageCacheFilter> hotPageCacheFilter(
+            HotPageCache hotPageCache,
+            CatalogVersion catalogVersion,
+            @Value("${cache.hot-pages.max-page:2}") int maxPage
+    ) {
+        FilterRegistrationBean<HotPageCacheFilter> bean = new FilterRegistrationBean<>(
+                new HotPageCacheFilter(hotPageCache, catalogVersion, maxPage)
+        );
+        bean.addUrlPatterns("/api/v1/products", "/products", "/api/v1/categories", "/categories");
+        return bean;
+    }
+}
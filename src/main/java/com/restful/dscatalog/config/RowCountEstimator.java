@@ -0,0 +1,66 @@
+package com.restful.dscatalog.config;
+
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.pagination.EstimatedSlice;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import static java.lang.System.nanoTime;
+
+/*
+  Contagem aproximada para count=estimate: guarda o último COUNT(*) de cada
+  tabela. Depois do TTL, devolve o valor antigo e dispara UM recálculo em
+  background (stale-while-revalidate); só a primeira chamada conta na hora.
+ */
+@Component
+public class RowCountEstimator {
+
+    private final TaskExecutor taskExecutor;
+    private final long ttlNanos;
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    public RowCountEstimator(
+            TaskExecutor taskExecutor,
+            @Value("${pagination.count-estimate-ttl:30s}") Duration ttl
+    ) {
+        this.taskExecutor = taskExecutor;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /*
+      Para count=none devolve o Slice como está; para count=estimate anexa o total aproximado.
+     */
+    public <T> Slice<T> withCount(CountMode count, Slice<T> slice, String table, LongSupplier exactCount) {
+        if (count != CountMode.ESTIMATE) return slice;
+        return new EstimatedSlice<>(slice, estimate(table, exactCount));
+    }
+
+    public long estimate(String table, LongSupplier exactCount) {
+        Estimate current = estimates.computeIfAbsent(table, key -> new Estimate(exactCount.getAsLong(), nanoTime()));
+
+        if (nanoTime() - current.countedAt() > ttlNanos && current.refreshing().compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    estimates.put(table, new Estimate(exactCount.getAsLong(), nanoTime()));
+                } finally {
+                    current.refreshing().set(false);
+                }
+            });
+        }
+        return current.count();
+    }
+
+    private record Estimate(long count, long countedAt, AtomicBoolean refreshing) {
+        Estimate(long count, long countedAt) {
+            this(count, countedAt, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.restful.dscatalog.config;
+
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/*
+  Aplica ?fields= na serialização: DTOs com @JsonFilter(FieldSelection.FILTER_ID)
+  só escrevem os campos pedidos. Sem o parâmetro, o filtro serializa tudo.
+  A validação dos nomes fica nos controllers (cada DTO tem seu conjunto).
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            @NotNull MappingJacksonValue bodyContainer,
+            @NotNull MediaType contentType,
+            @NotNull MethodParameter returnType,
+            @NotNull ServerHttpRequest request,
+            @NotNull ServerHttpResponse response
+    ) {
+        String fields = request instanceof ServletServerHttpRequest servletRequest
+                ? servletRequest.getServletRequest().getParameter("fields")
+                : null;
+        bodyContainer.setFilters(FieldSelection.parse(fields).filters());
+    }
+}
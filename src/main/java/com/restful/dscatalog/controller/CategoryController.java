@@ -1,24 +1,30 @@
 package com.restful.dscatalog.controller;
 
 
+import com.restful.dscatalog.cache.CatalogVersion;
 import com.restful.dscatalog.dto.category.CategoryPostDTO;
 import com.restful.dscatalog.dto.category.CategoryDetailsDTO;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
 import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.projections.ResourceVersion;
 import com.restful.dscatalog.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.ok;
@@ -29,25 +35,55 @@ import static org.springframework.http.ResponseEntity.ok;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersion catalogVersion;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogVersion catalogVersion) {
         this.categoryService = categoryService;
+        this.catalogVersion = catalogVersion;
     }
 
+    /* A entidade vem do L2, então a versão sai de graça: 304 sem SQL nem DTO. */
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDetailsDTO> findById(@PathVariable Long id) {
+    @Operation(
+            summary = "Busca uma categoria",
+            description = "ETag forte da coluna de versão e Last-Modified de updatedAt; "
+                          + "If-None-Match/If-Modified-Since válidos respondem 304."
+    )
+    public ResponseEntity<CategoryDetailsDTO> findById(@PathVariable Long id, WebRequest request) {
         Category category = categoryService.findById(id);
+        if (new ResourceVersion(category.getVersion(), category.getUpdatedAt()).notModified(request)) return null;
         return ok(new CategoryDetailsDTO(category));
     }
 
     @GetMapping
-    public ResponseEntity<Page<CategoryDetailsDTO>> findAll(
-            @PageableDefault(size = 5, sort = {"id"}) Pageable paginacao
+    @Operation(
+            summary = "Lista categorias paginadas",
+            description = "count=none|estimate|exact: none e estimate evitam o SELECT COUNT(*) por página. "
+                          + "ETag fraco da versão do catálogo: If-None-Match igual responde 304 sem consultar o banco."
+    )
+    public ResponseEntity<Slice<CategoryDetailsDTO>> findAll(
+            @RequestParam(required = false) String count,
+            @PageableDefault(size = 5, sort = {"id"}) Pageable paginacao,
+            WebRequest request
     ) {
-        Page<CategoryDetailsDTO> categories = categoryService.listAll(paginacao);
+        CountMode countMode = CountMode.parse(count);
+        if (request.checkNotModified(catalogVersion.eTag())) return null;
+        Slice<CategoryDetailsDTO> categories = categoryService.listAll(paginacao, countMode);
         return ok(categories);
     }
 
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Autocomplete por prefixo do nome",
+            description = "Servido de um índice em memória; ordena pela quantidade de produtos da categoria."
+    )
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ok(categoryService.suggest(prefix, limit));
+    }
+
     @PostMapping
     @Transactional
     @Operation(
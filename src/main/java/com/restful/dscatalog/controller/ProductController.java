@@ -1,26 +1,73 @@
 package com.restful.dscatalog.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.pagination.CursorPage;
+import com.restful.dscatalog.dto.product.PriceAdjustmentDTO;
+import com.restful.dscatalog.dto.product.PriceAdjustmentReportDTO;
 import com.restful.dscatalog.dto.product.ProductPostDTO;
 import com.restful.dscatalog.dto.product.ProductPostByNameDTO;
 import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.dto.product.ProductImportLine;
+import com.restful.dscatalog.dto.product.ProductImportReportDTO;
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.search.CategoryMatch;
+import com.restful.dscatalog.search.ProductFacets;
+import com.restful.dscatalog.search.SearchMode;
+import com.restful.dscatalog.service.ProductImportService;
+import com.restful.dscatalog.service.ProductPatchService;
+import com.restful.dscatalog.service.ProductRepricingService;
+import com.restful.dscatalog.service.ProductRepricingService.PriceAdjustment;
 import com.restful.dscatalog.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.VARY;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.ok;
 
@@ -29,32 +76,268 @@ import static org.springframework.http.ResponseEntity.ok;
 @Tag(name = "Product Controller", description = "Controller para gerenciamento de produtos")
 public class ProductController {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    private static final int EXPORT_BUFFER_BYTES = 64 * 1024;
+    private static final String FIELDS_DESCRIPTION =
+            "fields=id,name,price,imgUrl limita o JSON aos campos pedidos; sem categories, o JOIN de categorias não é feito.";
+    private static final String LIST_ETAG_DESCRIPTION =
+            " ETag fraco da versão do catálogo: If-None-Match igual responde 304 sem consultar o banco.";
+    private static final String BULK_DESCRIPTION =
+            "Cada item é validado como no POST de um produto; os válidos são gravados em lotes JDBC. "
+            + "O relatório traz, por posição, CREATED com o id ou INVALID/DUPLICATE/FAILED com os erros.";
+    private static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+    private static final String PATCH_DESCRIPTION =
+            "JSON Merge Patch (RFC 7396) sobre os campos do POST: ausente mantém, null remove. "
+            + "O UPDATE leva só as colunas alteradas e categoryIds vira inclusão/remoção das associações que mudaram.";
+    private static final String REPRICING_DESCRIPTION =
+            "mode=PERCENT (value=7 é +7%) ou ABSOLUTE (somado ao preço), arredondado em 2 casas, para todos os produtos "
+            + "das categorias. Roda em lotes, cada um com SELECT por keyset e UPDATE sobre a faixa de ids na sua transação; "
+            + "produtos cujo preço ficaria <= 0 não mudam (skipped).";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductPatchService productPatchService;
+    private final ProductRepricingService productRepricingService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectWriter productWriter;
+    private final ObjectWriter repricingReportWriter;
+    private final ObjectReader productPostReader;
+    private final int maxPageSize;
+    private final TaskExecutor taskExecutor;
+    private final Duration exportTimeout;
 
-    public ProductController(ProductService productService) {
+    public ProductController(
+            ProductService productService,
+            ProductImportService productImportService,
+            ProductPatchService productPatchService,
+            ProductRepricingService productRepricingService,
+            CatalogVersion catalogVersion,
+            ObjectMapper objectMapper,
+            @Value("${spring.data.web.pageable.max-page-size:2000}") int maxPageSize,
+            TaskExecutor taskExecutor,
+            @Value("${products.export.timeout:10m}") Duration exportTimeout
+    ) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productPatchService = productPatchService;
+        this.productRepricingService = productRepricingService;
+        this.catalogVersion = catalogVersion;
+        this.productWriter = objectMapper.writerFor(ProductDetailsDTO.class);
+        this.repricingReportWriter = objectMapper.writerFor(PriceAdjustmentReportDTO.class);
+        this.productPostReader = objectMapper.readerFor(ProductPostDTO.class);
+        this.maxPageSize = maxPageSize;
+        this.taskExecutor = taskExecutor;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDetailsDTO> findById(@PathVariable Long id) {
-        Product product = productService.findById(id);
-        return ok(new ProductDetailsDTO(product));
+    @Operation(
+            summary = "Busca um produto",
+            description = "ETag forte da coluna de versão e Last-Modified de updatedAt; "
+                          + "If-None-Match/If-Modified-Since válidos respondem 304 sem montar o DTO."
+    )
+    public ResponseEntity<ProductDetailsDTO> findById(@PathVariable Long id, WebRequest request) {
+        if (productService.findVersion(id).notModified(request)) return null;
+        return ok(productService.findDetailsById(id));
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductDetailsDTO>> findAll(
-            @PageableDefault(size = 5, sort = {"id"}) Pageable paginacao
+    @Operation(
+            summary = "Lista produtos paginados",
+            description = "facets=categories inclui a contagem de produtos por categoria. "
+                          + "count=none|estimate|exact: none e estimate evitam o SELECT COUNT(*) por página. "
+                          + FIELDS_DESCRIPTION + LIST_ETAG_DESCRIPTION
+    )
+    public ResponseEntity<Slice<ProductDetailsDTO>> findAll(
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) String count,
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 5, sort = {"id"}) Pageable paginacao,
+            WebRequest request
     ) {
-        Page<ProductDetailsDTO> products = productService.listAll(paginacao);
+        ProductFacets productFacets = ProductFacets.parse(facets);
+        CountMode countMode = CountMode.parse(count);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDetailsDTO.FIELDS);
+        if (request.checkNotModified(catalogVersion.eTag())) return null;
+        Slice<ProductDetailsDTO> products = productService.listAll(paginacao, productFacets, countMode, selection);
         return ok(products);
     }
 
+    @GetMapping(params = "after")
+    @Operation(
+            summary = "Lista produtos por cursor (keyset)",
+            description = "Envie after vazio para a primeira página e depois o nextCursor retornado. "
+                          + "Ordenações suportadas: id, name, price, date. "
+                          + "size acima de spring.data.web.pageable.max-page-size é reduzido a esse limite, como na paginação por offset. "
+                          + FIELDS_DESCRIPTION + LIST_ETAG_DESCRIPTION
+    )
+    public ResponseEntity<CursorPage<ProductDetailsDTO>> findAllAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String fields,
+            @SortDefault(sort = "id") Sort sort,
+            WebRequest request
+    ) {
+        FieldSelection selection = FieldSelection.parse(fields, ProductDetailsDTO.FIELDS);
+        if (request.checkNotModified(catalogVersion.eTag())) return null;
+        CursorPage<ProductDetailsDTO> products = productService.listAfter(after, Math.min(size, maxPageSize), sort, selection);
+        return ok(products);
+    }
+
+    @GetMapping(params = "categoryId")
+    @Operation(
+            summary = "Lista produtos filtrados por categorias",
+            description = "categoryId=1,3&match=any|all; resolvido por bitmaps em memória e ordenado por id. "
+                          + "facets=categories inclui a contagem por categoria dos resultados. "
+                          + FIELDS_DESCRIPTION + LIST_ETAG_DESCRIPTION
+    )
+    public ResponseEntity<Page<ProductDetailsDTO>> findAllByCategories(
+            @RequestParam("categoryId") List<Long> categoryIds,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 5, sort = {"id"}) Pageable paginacao,
+            WebRequest request
+    ) {
+        CategoryMatch categoryMatch = CategoryMatch.parse(match);
+        ProductFacets productFacets = ProductFacets.parse(facets);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDetailsDTO.FIELDS);
+        if (request.checkNotModified(catalogVersion.eTag())) return null;
+        Page<ProductDetailsDTO> products = productService.listByCategories(
+                categoryIds,
+                categoryMatch,
+                productFacets,
+                selection,
+                paginacao
+        );
+        return ok(products);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Busca textual em nome e descrição",
+            description = "Índice invertido em memória com ranking BM25; ignora acentos e maiúsculas. "
+                          + "mode=fuzzy tolera erros de digitação (trigramas + Levenshtein) e ordena pelo nome mais próximo. "
+                          + "facets=categories inclui a contagem por categoria dos resultados. "
+                          + FIELDS_DESCRIPTION + LIST_ETAG_DESCRIPTION
+    )
+    public ResponseEntity<Page<ProductDetailsDTO>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 5) Pageable paginacao,
+            WebRequest request
+    ) {
+        SearchMode searchMode = SearchMode.parse(mode);
+        ProductFacets productFacets = ProductFacets.parse(facets);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDetailsDTO.FIELDS);
+        if (request.checkNotModified(catalogVersion.eTag())) return null;
+        Page<ProductDetailsDTO> products = productService.search(
+                query,
+                searchMode,
+                productFacets,
+                selection,
+                paginacao
+        );
+        return ok(products);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Autocomplete por prefixo do nome",
+            description = "Servido de um índice em memória; ignora acentos e maiúsculas e ordena por popularidade."
+    )
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ok(productService.suggest(prefix, limit));
+    }
+
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exporta todos os produtos em NDJSON",
+            description = "Uma linha JSON por produto, escrita à medida que é lida do banco. "
+                          + "Compactado com gzip quando o cliente envia Accept-Encoding: gzip."
+    )
+    public ResponseEntity<ResponseBodyEmitter> export(
+            @RequestHeader(value = ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        /*
+          Um ResponseBodyEmitter, e não StreamingResponseBody, para ter timeout
+          próprio (products.export.timeout) sem alongar o spring.mvc.async de
+          todos os endpoints assíncronos. O buffer junta as linhas em blocos:
+          cada send do emitter é uma escrita com flush.
+         */
+        ResponseBodyEmitter body = new ResponseBodyEmitter(exportTimeout.toMillis());
+        taskExecutor.execute(() -> {
+            try {
+                OutputStream buffered = new BufferedOutputStream(new EmitterOutputStream(body), EXPORT_BUFFER_BYTES);
+                OutputStream target = gzip ? new GZIPOutputStream(buffered, true) : buffered;
+                writeNdjson(target);
+                if (target instanceof GZIPOutputStream gzipOutputStream) gzipOutputStream.finish();
+                target.flush();
+                body.complete();
+            } catch (IOException | RuntimeException failure) {
+                body.completeWithError(failure);
+            }
+        });
+
+        var response = ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(VARY, ACCEPT_ENCODING);
+        if (gzip) response.header(CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
+    @Deprecated
     @GetMapping("/without-pagination")
+    @Operation(
+            summary = "Lista todos os produtos de uma vez",
+            description = "Obsoleto: monta a lista inteira em memória. Use GET /api/v1/products/export.",
+            deprecated = true
+    )
     public ResponseEntity<List<ProductDetailsDTO>> findAllWithoutPagination() {
         List<ProductDetailsDTO> products = productService.listAllWithoutPagination();
         return ok(products);
     }
 
+    /* Repassa ao emitter o que o BufferedOutputStream acumulou. */
+    private static final class EmitterOutputStream extends OutputStream {
+
+        private final ResponseBodyEmitter emitter;
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            emitter.send(new byte[]{(byte) b});
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > 0) emitter.send(Arrays.copyOfRange(bytes, offset, offset + length));
+        }
+    }
+
+    private void writeNdjson(OutputStream outputStream) {
+        int[] written = {0};
+        productService.streamAll(productDetailsDTO -> {
+            try {
+                outputStream.write(productWriter.writeValueAsBytes(productDetailsDTO));
+                outputStream.write('\n');
+                if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) outputStream.flush();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        });
+    }
+
     @PostMapping
     @Transactional
     @Operation(
@@ -78,11 +361,94 @@ public class ProductController {
         return created(uri).body(new ProductDetailsDTO(product));
     }
 
+    @PostMapping(value = "/bulk", consumes = APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Importa produtos em lote",
+            description = BULK_DESCRIPTION,
+            responses = @ApiResponse(responseCode = "200", description = "Relatório por item")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductImportReportDTO> importAll(@RequestBody List<ProductPostDTO> products) {
+        return ok(productImportService.importAll(products.stream().map(ProductImportLine::of)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Importa produtos em lote a partir de NDJSON",
+            description = "Um ProductPostDTO por linha, lido à medida que chega; linhas em branco são ignoradas "
+                          + "e uma linha ilegível sai como INVALID. " + BULK_DESCRIPTION,
+            responses = @ApiResponse(responseCode = "200", description = "Relatório por item")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductImportReportDTO> importNdjson(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, UTF_8))) {
+            return ok(productImportService.importAll(reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(this::readImportLine)));
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    private ProductImportLine readImportLine(String line) {
+        try {
+            return ProductImportLine.of(productPostReader.readValue(line));
+        } catch (JsonProcessingException jsonProcessingException) {
+            return ProductImportLine.unreadable("JSON inválido: " + jsonProcessingException.getOriginalMessage());
+        }
+    }
+
+    @PostMapping(value = "/price-adjustments", produces = APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Reajusta preços por categoria",
+            description = REPRICING_DESCRIPTION + " Responde com o relatório final.",
+            responses = @ApiResponse(responseCode = "200", description = "Relatório do reajuste")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PriceAdjustmentReportDTO> adjustPrices(@RequestBody @Valid PriceAdjustmentDTO adjustment) {
+        PriceAdjustment prepared = productRepricingService.prepare(adjustment);
+        return ok(productRepricingService.run(prepared, progress -> {}));
+    }
+
+    @PostMapping(value = "/price-adjustments", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Reajusta preços por categoria, transmitindo o progresso",
+            description = REPRICING_DESCRIPTION + " Uma linha NDJSON com as contagens acumuladas por lote "
+                          + "gravado; a última traz done=true.",
+            responses = @ApiResponse(responseCode = "200", description = "Progresso do reajuste")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> adjustPricesWithProgress(
+            @RequestBody @Valid PriceAdjustmentDTO adjustment
+    ) {
+        PriceAdjustment prepared = productRepricingService.prepare(adjustment);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                writeLine(outputStream, productRepricingService.run(prepared, progress -> writeLine(outputStream, progress)));
+            } catch (UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+        };
+        return ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, PriceAdjustmentReportDTO report) {
+        try {
+            outputStream.write(repricingReportWriter.writeValueAsBytes(report));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+    }
+
     @PostMapping("/by-names")
     @Transactional
     @Operation(
             summary = "Cria produto por nomes de categorias (case-insensitive)",
-            description = "Se a categoria não existir, será criada. Nomes são normalizados (trim) e deduplicados.",
+            description = "Se a categoria não existir, será criada. Nomes são normalizados (trim) e deduplicados. "
+                          + "Com reuseSimilarCategories=true, reaproveita uma categoria existente de nome parecido "
+                          + "(ex.: 'Eletronicos' -> 'Eletrônicos') em vez de criar uma quase duplicata.",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Produto criado"),
                     @ApiResponse(responseCode = "400", description = "Erro de validação")
@@ -91,9 +457,10 @@ public class ProductController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDetailsDTO> createByNames(
             @RequestBody @Valid ProductPostByNameDTO productPostByNameDTO,
+            @RequestParam(defaultValue = "false") boolean reuseSimilarCategories,
             UriComponentsBuilder uriComponentsBuilder
     ) {
-        Product product = productService.createByCategoryNames(productPostByNameDTO);
+        Product product = productService.createByCategoryNames(productPostByNameDTO, reuseSimilarCategories);
         URI uri = uriComponentsBuilder
                 .path("/api/v1/products/{id}")
                 .buildAndExpand(product.getId())
@@ -111,6 +478,24 @@ public class ProductController {
         return ok(updated);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_VALUE, APPLICATION_JSON_VALUE})
+    @Operation(summary = "Altera parte de um produto", description = PATCH_DESCRIPTION)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductDetailsDTO> patch(@PathVariable Long id, @RequestBody JsonNode patch) {
+        return ok(productPatchService.patch(id, patch));
+    }
+
+    @PatchMapping(value = "/bulk", consumes = {MERGE_PATCH_VALUE, APPLICATION_JSON_VALUE})
+    @Operation(
+            summary = "Altera parte de vários produtos",
+            description = "Objeto { \"<id>\": <merge patch> }, tudo em uma transação: um id inexistente ou "
+                          + "um patch inválido não altera nenhum produto. " + PATCH_DESCRIPTION
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ProductDetailsDTO>> patchAll(@RequestBody Map<Long, JsonNode> patches) {
+        return ok(productPatchService.patchAll(patches));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductDetailsDTO> delete(@PathVariable Long id) {
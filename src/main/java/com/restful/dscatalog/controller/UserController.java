@@ -1,16 +1,19 @@
 package com.restful.dscatalog.controller;
 
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.user.UserDTO;
 import com.restful.dscatalog.dto.user.UserInsertDTO;
 import com.restful.dscatalog.dto.user.UserUpdateDTO;
 import com.restful.dscatalog.service.UserService;
 import jakarta.annotation.security.PermitAll;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -31,15 +34,29 @@ public class UserController {
 
     @GetMapping
     @PermitAll
-    public ResponseEntity<Page<UserDTO>> getAllUsers(Pageable pageable) {
-        Page<UserDTO> users = userService.findAllPaged(pageable);
+    public ResponseEntity<Slice<UserDTO>> getAllUsers(
+            @RequestParam(required = false) String count,
+            @RequestParam(required = false) String fields,
+            Pageable pageable
+    ) {
+        Slice<UserDTO> users = userService.findAllPaged(
+                pageable,
+                CountMode.parse(count),
+                FieldSelection.parse(fields, UserDTO.FIELDS)
+        );
         return ok(users);
     }
 
     @GetMapping(value = "/{id}")
     @PermitAll
-    public ResponseEntity<UserDTO> findById(@PathVariable Long id) {
-        UserDTO user = userService.findById(id);
+    public ResponseEntity<UserDTO> findById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        FieldSelection selection = FieldSelection.parse(fields, UserDTO.FIELDS);
+        if (userService.findVersion(id).notModified(request)) return null;
+        UserDTO user = userService.findById(id, selection);
         return ok(user);
     }
 
@@ -0,0 +1,11 @@
+package com.restful.dscatalog.dto.category;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "ContagemPorCategoria")
+public record CategoryFacetDTO(
+        Long id,
+        String name,
+        long count
+) {
+}
@@ -0,0 +1,74 @@
+package com.restful.dscatalog.dto.fields;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.restful.dscatalog.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toCollection;
+
+/*
+  Sparse fieldset (?fields=id,name,price): campos que o cliente quer no JSON.
+  DTOs anotados com @JsonFilter(FILTER_ID) são recortados pelo SparseFieldsAdvice;
+  os serviços consultam includes(...) para não carregar o que não será enviado
+  (ex.: o JOIN de categorias do produto ou os papéis do usuário).
+  names nulo = todos os campos (padrão).
+ */
+public record FieldSelection(Set<String> names) {
+
+    public static final String FILTER_ID = "fields";
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    public FieldSelection {
+        names = names == null ? null : Set.copyOf(names);
+    }
+
+    /* Sem validação: usado pelo advice, que não sabe qual DTO será serializado. */
+    public static FieldSelection parse(String value) {
+        if (value == null || value.isBlank()) return ALL;
+
+        Set<String> names = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(toCollection(LinkedHashSet::new));
+        return names.isEmpty() ? ALL : new FieldSelection(names);
+    }
+
+    public static FieldSelection parse(String value, Set<String> allowed) {
+        FieldSelection selection = parse(value);
+        if (selection.isAll()) return selection;
+
+        Set<String> unknown = new TreeSet<>(selection.names);
+        unknown.removeAll(allowed);
+        if (!unknown.isEmpty())
+            throw new ValidationException("fields desconhecido(s): " + String.join(", ", unknown)
+                                          + ". Permitidos: " + String.join(", ", new TreeSet<>(allowed)));
+        return selection;
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String field) {
+        return names == null || names.contains(field);
+    }
+
+    /* true quando o filtro ativo para value (via filters()) serializa todos os campos. */
+    public static boolean selectsAll(FilterProvider filterProvider, Object value) {
+        return filterProvider == null
+               || filterProvider.findPropertyFilter(FILTER_ID, value) == SimpleBeanPropertyFilter.serializeAll();
+    }
+
+    public FilterProvider filters() {
+        SimpleBeanPropertyFilter filter = isAll()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names);
+        return new SimpleFilterProvider().addFilter(FILTER_ID, filter);
+    }
+}
@@ -0,0 +1,26 @@
+package com.restful.dscatalog.dto.pagination;
+
+import com.restful.dscatalog.exception.ValidationException;
+
+import static java.util.Locale.ROOT;
+
+/*
+  Como a listagem calcula o total:
+  - EXACT: Page com SELECT COUNT(*) (padrão, comportamento original);
+  - ESTIMATE: Slice (size + 1 linhas) + total aproximado do RowCountEstimator;
+  - NONE: só Slice, sem contagem nenhuma.
+ */
+public enum CountMode {
+    NONE,
+    ESTIMATE,
+    EXACT;
+
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) return EXACT;
+        try {
+            return valueOf(value.trim().toUpperCase(ROOT));
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ValidationException("count deve ser 'none', 'estimate' ou 'exact': " + value);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.restful.dscatalog.dto.pagination;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.Serial;
+
+/*
+  Slice com um total aproximado (campo "estimatedTotal"); hasNext continua
+  exato porque vem da linha extra buscada pelo Slice.
+ */
+public class EstimatedSlice<T> extends SliceImpl<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long estimatedTotal;
+
+    public EstimatedSlice(Slice<T> slice, long estimatedTotal) {
+        super(slice.getContent(), slice.getPageable(), slice.hasNext());
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+}
@@ -0,0 +1,29 @@
+package com.restful.dscatalog.dto.pagination;
+
+import com.restful.dscatalog.dto.category.CategoryFacetDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.io.Serial;
+import java.util.List;
+
+/*
+  Page com as contagens por categoria do conjunto inteiro de resultados
+  (não só da página atual), serializadas no campo "facets".
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final List<CategoryFacetDTO> facets;
+
+    public FacetedPage(Page<T> page, List<CategoryFacetDTO> facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = List.copyOf(facets);
+    }
+
+    public List<CategoryFacetDTO> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,46 @@
+package com.restful.dscatalog.dto.pagination;
+
+import com.restful.dscatalog.exception.ValidationException;
+import org.springframework.data.domain.Sort.Direction;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+  Cursor opaco para paginação por keyset (seek).
+  Guarda a propriedade de ordenação, a direção, o id e o valor da chave
+  do último item entregue; a próxima página começa logo após (valor, id).
+  Formato interno: "property:DIRECTION:id:value" em Base64 URL-safe.
+  value só fica vazio quando a ordenação é por id; as demais chaves são
+  colunas NOT NULL.
+ */
+public record KeysetCursor(
+        String property,
+        Direction direction,
+        Long id,
+        String value
+) {
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) throw new IllegalArgumentException(raw);
+            return new KeysetCursor(
+                    parts[0],
+                    Direction.valueOf(parts[1]),
+                    Long.valueOf(parts[2]),
+                    parts[3]
+            );
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ValidationException("Cursor inválido: " + token);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.restful.dscatalog.dto.product;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PriceAdjustmentDTO(
+        @NotEmpty(message = "categoryIds é obrigatório")
+        List<Long> categoryIds,
+
+        @NotNull(message = "mode é obrigatório")
+        Mode mode,
+
+        @NotNull(message = "value é obrigatório")
+        BigDecimal value
+) {
+
+    /* PERCENT: value em pontos percentuais (7 = +7%); ABSOLUTE: somado ao preço. */
+    public enum Mode {
+        PERCENT,
+        ABSOLUTE
+    }
+}
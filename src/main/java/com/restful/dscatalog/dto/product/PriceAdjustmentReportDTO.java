@@ -0,0 +1,15 @@
+package com.restful.dscatalog.dto.product;
+
+/*
+  Contagens acumuladas até o lote indicado. skipped são produtos das categorias
+  cujo preço resultante não seria positivo; done só no relatório final.
+ */
+public record PriceAdjustmentReportDTO(
+        int chunks,
+        int matched,
+        int updated,
+        int skipped,
+        long elapsedMs,
+        boolean done
+) {
+}
@@ -1,6 +1,8 @@
 package com.restful.dscatalog.dto.product;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.restful.dscatalog.dto.fields.FieldSelection;
 import com.restful.dscatalog.entity.Category;
 import com.restful.dscatalog.entity.Product;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,8 +12,10 @@ import java.time.LocalDateTime;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import static java.util.Collections.unmodifiableSequencedSet;
 import static java.util.stream.Collectors.toCollection;
 
+@JsonFilter(FieldSelection.FILTER_ID)
 public record ProductDetailsDTO(
         Long id,
         String name,
@@ -22,6 +26,15 @@ public record ProductDetailsDTO(
         @JsonProperty("categories")
         Set<String> categoryNames
 ) {
+    /* Nomes aceitos em ?fields= (nomes do JSON). */
+    public static final Set<String> FIELDS =
+            Set.of("id", "name", "description", "price", "imgUrl", "date", "categories");
+
+    /* Imutável de fato: instâncias são compartilhadas pelo ProductDetailsCache. */
+    public ProductDetailsDTO {
+        if (categoryNames != null) categoryNames = unmodifiableSequencedSet(new LinkedHashSet<>(categoryNames));
+    }
+
     public ProductDetailsDTO(Product product) {
         this(
                 product.getId(),
@@ -0,0 +1,19 @@
+package com.restful.dscatalog.dto.product;
+
+/*
+  Um item de POST /products/bulk. Uma linha NDJSON ilegível chega com
+  product == null e a mensagem do parser, e sai como INVALID no relatório
+  sem interromper as demais.
+ */
+public record ProductImportLine(
+        ProductPostDTO product,
+        String parseError
+) {
+    public static ProductImportLine of(ProductPostDTO product) {
+        return new ProductImportLine(product, null);
+    }
+
+    public static ProductImportLine unreadable(String parseError) {
+        return new ProductImportLine(null, parseError);
+    }
+}
@@ -0,0 +1,12 @@
+package com.restful.dscatalog.dto.product;
+
+import java.util.List;
+
+public record ProductImportReportDTO(
+        int received,
+        int created,
+        int rejected,
+        long elapsedMs,
+        List<ProductImportResultDTO> items
+) {
+}
@@ -0,0 +1,29 @@
+package com.restful.dscatalog.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/* index: posição do item no corpo (0 = primeiro). id só em CREATED, errors nos demais. */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ProductImportResultDTO(
+        int index,
+        Status status,
+        Long id,
+        List<String> errors
+) {
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        FAILED
+    }
+
+    public static ProductImportResultDTO created(int index, Long id) {
+        return new ProductImportResultDTO(index, Status.CREATED, id, List.of());
+    }
+
+    public static ProductImportResultDTO rejected(int index, Status status, List<String> errors) {
+        return new ProductImportResultDTO(index, status, null, List.copyOf(errors));
+    }
+}
@@ -0,0 +1,10 @@
+package com.restful.dscatalog.dto.suggest;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Sugestao")
+public record SuggestionDTO(
+        Long id,
+        String name
+) {
+}
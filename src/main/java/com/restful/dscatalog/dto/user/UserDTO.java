@@ -1,5 +1,7 @@
 package com.restful.dscatalog.dto.user;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.restful.dscatalog.dto.fields.FieldSelection;
 import com.restful.dscatalog.dto.role.RoleDTO;
 import com.restful.dscatalog.entity.User;
 import lombok.*;
@@ -13,8 +15,12 @@ import static lombok.AccessLevel.NONE;
 @NoArgsConstructor
 @Getter
 @Setter
+@JsonFilter(FieldSelection.FILTER_ID)
 public class UserDTO {
 
+    /* Nomes aceitos em ?fields=. */
+    public static final Set<String> FIELDS = Set.of("id", "firstName", "lastName", "email", "roles");
+
     private Long id;
     private String firstName;
     private String lastName;
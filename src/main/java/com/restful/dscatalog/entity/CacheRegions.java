@@ -0,0 +1,17 @@
+package com.restful.dscatalog.entity;
+
+/*
+  Regiões do cache de segundo nível (Hibernate L2 sobre JCache/Caffeine).
+  TTL e tamanho máximo de cada uma ficam em src/main/resources/l2-cache.conf.
+ */
+public final class CacheRegions {
+
+    public static final String CATEGORY = "category";
+    public static final String ROLE = "role";
+    public static final String PRODUCT_CATEGORIES = "product-categories";
+    public static final String USER_ROLES = "user-roles";
+    public static final String CATEGORY_BY_NAME = "category-by-name";
+
+    private CacheRegions() {
+    }
+}
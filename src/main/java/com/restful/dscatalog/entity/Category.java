@@ -3,6 +3,8 @@ package com.restful.dscatalog.entity;
 import com.restful.dscatalog.dto.category.CategoryPostDTO;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
@@ -10,30 +12,58 @@ import org.hibernate.proxy.HibernateProxy;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+import static java.util.Locale.ROOT;
 import static lombok.AccessLevel.NONE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity(name = "Category")
+@Cacheable
+@Cache(usage = READ_WRITE, region = CacheRegions.CATEGORY)
 @Table(
         name = "tb_category",
         uniqueConstraints = {
                 @UniqueConstraint(
                         name = "category_name_unique",
                         columnNames = "name"
+                ),
+                @UniqueConstraint(
+                        name = "category_normalized_name_unique",
+                        columnNames = "normalized_name"
                 )
         }
 )
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = IdGenerators.CATEGORY)
+    @SequenceGenerator(
+            name = IdGenerators.CATEGORY,
+            sequenceName = IdGenerators.CATEGORY,
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     @Setter(NONE)
     private Long id;
     private String name;
 
+    /*
+      normalizeName(name), mantido pelo setName: chave das buscas por nome em
+      lote (findAllByNameKeyIn) e do upsert de insertIgnoringDuplicates. O índice
+      único vale em qualquer banco, inclusive nos de collation case-sensitive.
+     */
+    @Column(name = "normalized_name", nullable = false)
+    @Setter(NONE)
+    private String normalizedName;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Setter(NONE)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", columnDefinition = "DATETIME(6)", updatable = false)
     private LocalDateTime createdAt;
@@ -43,18 +73,29 @@ public class Category {
     private LocalDateTime updatedAt;
 
     public Category(CategoryPostDTO name) {
-        this.name = name.name();
+        setName(name.name());
     }
 
     public Category(Category category) {
         this.id = category.id;
         this.name = category.name;
+        this.normalizedName = category.normalizedName;
+        this.version = category.version;
         this.createdAt = category.createdAt;
         this.updatedAt = category.updatedAt;
     }
 
     public Category(String capitalize) {
-        this.name = capitalize;
+        setName(capitalize);
+    }
+
+    public static String normalizeName(String name) {
+        return name.trim().toLowerCase(ROOT);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.normalizedName = name != null ? normalizeName(name) : null;
     }
 
     @Override
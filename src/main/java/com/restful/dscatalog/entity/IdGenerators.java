@@ -0,0 +1,26 @@
+package com.restful.dscatalog.entity;
+
+/*
+  Geradores de id das entidades: uma sequência por tabela (no MySQL, que não tem
+  sequência, o Hibernate a emula com uma tabela de uma linha). Cada ida ao
+  banco reserva ALLOCATION_SIZE ids e o otimizador pooled-lo os entrega da
+  memória, então inserts não dependem mais do id gerado pelo banco e o
+  Hibernate pode agrupá-los em lotes JDBC (hibernate.jdbc.batch_size).
+
+  O otimizador vem de hibernate.id.optimizer.pooled.preferred
+  (application.properties). Com pooled-lo, o valor lido da sequência é o menor
+  id do bloco, de modo que quem insere por fora do Hibernate (import*.sql)
+  fica fora dos blocos já entregues desde que avance a sequência depois.
+ */
+public final class IdGenerators {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String CATEGORY = "tb_category_seq";
+    public static final String PRODUCT = "tb_product_seq";
+    public static final String ROLE = "tb_role_seq";
+    public static final String USER = "tb_user_seq";
+
+    private IdGenerators() {
+    }
+}
@@ -3,7 +3,11 @@ package com.restful.dscatalog.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.math.BigDecimal;
@@ -13,14 +17,16 @@ import java.util.Objects;
 import java.util.Set;
 
 import static jakarta.persistence.FetchType.LAZY;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.NONE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 import static org.hibernate.annotations.FetchMode.SUBSELECT;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @Table(
         name = "tb_product",
         uniqueConstraints = {
@@ -28,22 +34,50 @@ import static org.hibernate.annotations.FetchMode.SUBSELECT;
                         name = "product_name_unique",
                         columnNames = "name"
                 )
+        },
+        indexes = {
+                @Index(name = "idx_product_price_id", columnList = "price, id"),
+                @Index(name = "idx_product_date_id", columnList = "date, id")
         }
 )
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = IdGenerators.PRODUCT)
+    @SequenceGenerator(
+            name = IdGenerators.PRODUCT,
+            sequenceName = IdGenerators.PRODUCT,
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     @Setter(NONE)
     private Long id;
+
+    /*
+      name, price e date são chaves do cursor de listAfter: NOT NULL, porque
+      o seek parte do valor do último item e não há "depois de null".
+     */
+    @Column(nullable = false)
     private String name;
     private String description;
+
+    @Column(nullable = false)
     private BigDecimal price;
     private String imgUrl;
 
     @Column(columnDefinition = "DATETIME(6)", nullable = false)
     private LocalDateTime date;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Setter(NONE)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", columnDefinition = "DATETIME(6)")
+    @Setter(NONE)
+    private LocalDateTime updatedAt;
+
     @ManyToMany(fetch = LAZY)
     @JoinTable(
             name = "tb_product_category",
@@ -52,6 +86,7 @@ public class Product {
     )
     @Fetch(SUBSELECT)
     @BatchSize(size = 50)
+    @Cache(usage = READ_WRITE, region = CacheRegions.PRODUCT_CATEGORIES)
     @Setter(NONE)
     private Set<Category> categories = new HashSet<>();
 
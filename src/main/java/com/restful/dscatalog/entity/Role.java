@@ -1,30 +1,41 @@
 package com.restful.dscatalog.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Objects;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE, region = CacheRegions.ROLE)
 @Table(name = "tb_role")
 public class Role implements GrantedAuthority {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = IdGenerators.ROLE)
+    @SequenceGenerator(
+            name = IdGenerators.ROLE,
+            sequenceName = IdGenerators.ROLE,
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
     private String authority;
 
@@ -6,15 +6,20 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static jakarta.persistence.FetchType.LAZY;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.NONE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 
 @NoArgsConstructor
@@ -30,7 +35,12 @@ import static lombok.AccessLevel.NONE;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = IdGenerators.USER)
+    @SequenceGenerator(
+            name = IdGenerators.USER,
+            sequenceName = IdGenerators.USER,
+            allocationSize = IdGenerators.ALLOCATION_SIZE
+    )
     private Long id;
     private String firstName;
     private String lastName;
@@ -39,7 +49,19 @@ public class User implements UserDetails {
     @ToString.Exclude
     private String password;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Setter(NONE)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", columnDefinition = "DATETIME(6)")
+    @Setter(NONE)
+    private LocalDateTime updatedAt;
+
     @BatchSize(size = 50)
+    @Cache(usage = READ_WRITE, region = CacheRegions.USER_ROLES)
     @Setter(NONE)
     @JoinTable(
             name = "tb_user_role",
@@ -0,0 +1,24 @@
+package com.restful.dscatalog.event;
+
+import com.restful.dscatalog.entity.Category;
+
+/*
+  Publicado a cada escrita de categoria (CategoryServiceImpl e criação implícita
+  por nome no ProductServiceImpl). name == null indica remoção.
+ */
+public record CategoryChangedEvent(
+        Long categoryId,
+        String name
+) {
+    public static CategoryChangedEvent saved(Category category) {
+        return new CategoryChangedEvent(category.getId(), category.getName());
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, null);
+    }
+
+    public boolean isDeletion() {
+        return name == null;
+    }
+}
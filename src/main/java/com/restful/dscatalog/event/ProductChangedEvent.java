@@ -0,0 +1,38 @@
+package com.restful.dscatalog.event;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.entity.Product;
+
+import java.util.Set;
+
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+/*
+  Publicado pelo ProductServiceImpl a cada escrita de produto.
+  product == null indica remoção. Os ouvintes (índices e caches em memória)
+  reagem depois do commit, então nunca enxergam uma escrita desfeita.
+ */
+public record ProductChangedEvent(
+        Long productId,
+        ProductDetailsDTO product,
+        Set<Long> categoryIds
+) {
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(
+                product.getId(),
+                new ProductDetailsDTO(product),
+                product.getCategories().stream()
+                        .map(Category::getId)
+                        .collect(toUnmodifiableSet())
+        );
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null, Set.of());
+    }
+
+    public boolean isDeletion() {
+        return product == null;
+    }
+}
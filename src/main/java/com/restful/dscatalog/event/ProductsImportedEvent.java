@@ -0,0 +1,17 @@
+package com.restful.dscatalog.event;
+
+import java.util.List;
+
+/*
+  Publicado pelo ProductImportServiceImpl a cada lote gravado por
+  POST /products/bulk: um evento por lote em vez de um ProductChangedEvent por
+  produto, para que a versão do catálogo mude uma vez e a invalidação entre nós
+  vá numa só mensagem. Cada item tem o mesmo conteúdo de ProductChangedEvent.saved.
+ */
+public record ProductsImportedEvent(
+        List<ProductChangedEvent> products
+) {
+    public ProductsImportedEvent {
+        products = List.copyOf(products);
+    }
+}
@@ -0,0 +1,17 @@
+package com.restful.dscatalog.event;
+
+import java.util.List;
+
+/*
+  Publicado pelo ProductRepricingServiceImpl a cada lote do reajuste de preços,
+  dentro da transação do lote. Só o preço mudou: nome, descrição e categorias
+  continuam os mesmos, então os índices de busca não são tocados; caches de
+  DTO descartam os ids e a versão do catálogo sobe uma vez por lote.
+ */
+public record ProductsRepricedEvent(
+        List<Long> productIds
+) {
+    public ProductsRepricedEvent {
+        productIds = List.copyOf(productIds);
+    }
+}
@@ -0,0 +1,11 @@
+package com.restful.dscatalog.event;
+
+/*
+  Publicado pelo UserServiceImpl a cada escrita de usuário. Localmente o Hibernate
+  já atualiza o próprio L2; o evento existe para os outros nós descartarem o que
+  guardam do usuário (CacheInvalidationBus).
+ */
+public record UserChangedEvent(
+        Long userId
+) {
+}
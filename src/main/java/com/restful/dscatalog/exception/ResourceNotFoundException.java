@@ -4,9 +4,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
+/*
+  404 é resposta normal (e alvo de varredura por ids), não erro do servidor:
+  sem stack trace, que custaria mais que a própria resposta.
+ */
 @ResponseStatus(NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String msg) {
-        super(msg);
+        super(msg, null, false, false);
     }
 }
@@ -4,6 +4,7 @@ import com.restful.dscatalog.exception.DuplicateEntryException;
 import com.restful.dscatalog.exception.ValidationException;
 import com.restful.dscatalog.exception.ResourceNotFoundException;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import jakarta.persistence.EntityNotFoundException;
@@ -99,6 +100,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(CONFLICT).body(List.of(errorDetails));
     }
 
+    /* Dois PUT concorrentes sobre a mesma linha: a coluna @Version recusa o segundo. */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<List<ErrorDetails>> handleOptimisticLockingFailure(WebRequest webRequest) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                now(),
+                htmlEscape("Registro alterado por outra requisição; recarregue e tente novamente."),
+                htmlEscape(webRequest.getDescription(false)),
+                "CONCURRENT_MODIFICATION"
+        );
+        return ResponseEntity.status(CONFLICT).body(List.of(errorDetails));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<List<ErrorDetails>> handleBadCredentials(WebRequest webRequest) {
         ErrorDetails errorDetails = new ErrorDetails(
@@ -0,0 +1,7 @@
+package com.restful.dscatalog.projections;
+
+public interface ProductCategoryLinkProjection {
+    Long getProductId();
+
+    Long getCategoryId();
+}
@@ -0,0 +1,60 @@
+package com.restful.dscatalog.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+  Versão concreta de ProductRowProjection para consultas com "SELECT new".
+  Projeções por interface viram um proxy por linha (e uma chamada refletiva por
+  getter); um record é só um objeto pequeno, o que pesa em páginas grandes.
+ */
+public record ProductRow(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        String imgUrl,
+        LocalDateTime date,
+        String categoryName
+) implements ProductRowProjection {
+
+    /* Linha sem o JOIN de categorias (fields sem "categories"). */
+    public ProductRow(Long id, String name, String description, BigDecimal price, String imgUrl, LocalDateTime date) {
+        this(id, name, description, price, imgUrl, date, null);
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    @Override
+    public String getImgUrl() {
+        return imgUrl;
+    }
+
+    @Override
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    @Override
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
@@ -0,0 +1,20 @@
+package com.restful.dscatalog.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ProductRowProjection {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    BigDecimal getPrice();
+
+    String getImgUrl();
+
+    LocalDateTime getDate();
+
+    String getCategoryName();
+}
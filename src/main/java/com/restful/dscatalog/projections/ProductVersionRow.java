@@ -0,0 +1,21 @@
+package com.restful.dscatalog.projections;
+
+import java.time.LocalDateTime;
+
+/*
+  Validadores de vários produtos de uma vez (pré-carga do ProductDetailsCache):
+  a versão e o updated_at do produto, a soma das versões e o updated_at mais
+  recente das suas categorias.
+ */
+public record ProductVersionRow(
+        Long id,
+        Long version,
+        LocalDateTime updatedAt,
+        Long categoryVersions,
+        LocalDateTime categoriesUpdatedAt
+) {
+
+    public ResourceVersion resourceVersion() {
+        return new ResourceVersion(version, updatedAt, categoryVersions, categoriesUpdatedAt);
+    }
+}
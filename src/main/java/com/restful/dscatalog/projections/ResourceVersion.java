@@ -0,0 +1,50 @@
+package com.restful.dscatalog.projections;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/*
+  Validadores HTTP de um recurso: a coluna @Version vira um ETag forte e
+  updated_at vira Last-Modified. Lido por "SELECT new" (só pela PK, sem JOIN)
+  para responder 304 antes de montar o DTO.
+
+  Quando a representação inclui dados de outras linhas (os nomes das categorias
+  em ProductDetailsDTO), o construtor de quatro argumentos junta as versões
+  delas ao ETag e o updated_at mais recente ao Last-Modified.
+ */
+public record ResourceVersion(String tag, LocalDateTime updatedAt) {
+
+    public ResourceVersion(Long version, LocalDateTime updatedAt) {
+        this(String.valueOf(version == null ? 0 : version), updatedAt);
+    }
+
+    /*
+      Com o conjunto de ligações fixo, a soma das versões ligadas só cresce; e
+      mudar o conjunto incrementa a versão do próprio recurso. O par nunca se repete.
+     */
+    public ResourceVersion(Long version, LocalDateTime updatedAt, Long linkedVersions, LocalDateTime linkedUpdatedAt) {
+        this(
+                (version == null ? 0 : version) + "." + (linkedVersions == null ? 0 : linkedVersions),
+                linkedUpdatedAt != null && (updatedAt == null || linkedUpdatedAt.isAfter(updatedAt)) ? linkedUpdatedAt : updatedAt
+        );
+    }
+
+    public String eTag() {
+        return "\"" + tag + "\"";
+    }
+
+    /* Epoch em ms, ou -1 (ignorado pelo Spring) quando a linha nunca teve updated_at. */
+    public long lastModified() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /*
+      Avalia If-None-Match / If-Modified-Since e grava ETag e Last-Modified na
+      resposta. true = 304 já preparado; o controller só retorna null.
+     */
+    public boolean notModified(WebRequest request) {
+        return request.checkNotModified(eTag(), lastModified());
+    }
+}
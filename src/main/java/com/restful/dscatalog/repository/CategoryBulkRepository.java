@@ -0,0 +1,26 @@
+package com.restful.dscatalog.repository;
+
+import com.restful.dscatalog.entity.Category;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface CategoryBulkRepository {
+
+    /*
+      Um único INSERT multi-linha com tratamento de conflito sobre normalized_name:
+      nomes que já existem em qualquer caixa (ou que outra transação acabou de
+      inserir) são ignorados em vez de violar o índice único. Devolve as chaves
+      (normalized_name) que não existiam antes e foram de fato inseridas.
+     */
+    Set<String> insertIgnoringDuplicates(Collection<String> names);
+
+    /*
+      Carrega pelo contexto de persistência e pelo cache L2 antes de ir ao banco
+      (o multiLoad só consulta o L2 com CacheMode explícito);
+      só os ids ausentes nos dois viram um SELECT ... IN. Ids inexistentes não
+      aparecem no resultado.
+     */
+    List<Category> findAllByIdCached(Collection<Long> ids);
+}
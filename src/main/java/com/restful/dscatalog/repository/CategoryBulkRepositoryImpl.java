@@ -0,0 +1,87 @@
+package com.restful.dscatalog.repository;
+
+import com.restful.dscatalog.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.joining;
+
+class CategoryBulkRepositoryImpl implements CategoryBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /*
+      HQL insert não passa por @CreationTimestamp/@UpdateTimestamp nem pelo
+      setName, daí as datas e o normalizedName explícitos. Os nomes vão
+      ordenados pela chave para que transações concorrentes travem as chaves do
+      índice único sempre na mesma ordem, e variações de caixa do mesmo nome no
+      próprio lote ficam só na primeira grafia (o MERGE do H2 não aceita duas
+      linhas de origem para a mesma linha de destino). Chaves que já existem
+      saem do lote antes do INSERT; o que sobra é o que foi inserido (numa
+      corrida, a linha de outra transação que ganhou o conflito também conta,
+      e o evento dela sai duas vezes, o que é inofensivo).
+
+      "do update set updatedAt = c.updatedAt" não altera nada e equivale a DO NOTHING,
+      mas o Hibernate 6.6 o traduz para o dialeto (ON CONFLICT no PostgreSQL, ON
+      DUPLICATE KEY no MySQL, MERGE no H2), enquanto DO NOTHING multi-linha no H2
+      sai como um INSERT simples.
+     */
+    @Override
+    @Transactional
+    public Set<String> insertIgnoringDuplicates(Collection<String> names) {
+        if (names.isEmpty()) return Set.of();
+
+        SortedMap<String, String> namesByKey = new TreeMap<>();
+        names.forEach(name -> namesByKey.putIfAbsent(Category.normalizeName(name), name));
+        entityManager.createQuery("select c.normalizedName from Category c where c.normalizedName in :keys", String.class)
+                .setParameter("keys", namesByKey.keySet())
+                .getResultList()
+                .forEach(namesByKey::remove);
+        if (namesByKey.isEmpty()) return Set.of();
+
+        List<Map.Entry<String, String>> entries = List.copyOf(namesByKey.entrySet());
+        String rows = IntStream.range(0, entries.size())
+                .mapToObj(i -> "(:name" + i + ", :key" + i + ", local datetime, local datetime)")
+                .collect(joining(", "));
+
+        Query insert = entityManager.createQuery(
+                "insert into Category c (name, normalizedName, createdAt, updatedAt) values " + rows
+                + " on conflict (normalizedName) do update set updatedAt = c.updatedAt"
+        );
+        for (int i = 0; i < entries.size(); i++) {
+            insert.setParameter("name" + i, entries.get(i).getValue());
+            insert.setParameter("key" + i, entries.get(i).getKey());
+        }
+        insert.executeUpdate();
+        return Set.copyOf(namesByKey.keySet());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Category> findAllByIdCached(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Category.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
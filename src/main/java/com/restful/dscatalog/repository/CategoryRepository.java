@@ -1,12 +1,51 @@
 package com.restful.dscatalog.repository;
 
+import com.restful.dscatalog.entity.CacheRegions;
 import com.restful.dscatalog.entity.Category;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository("categoryRepository")
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryBulkRepository {
+
+    /*
+      Query cache: o resultado (ids) fica em category-by-name e é invalidado
+      pelo Hibernate a cada escrita em tb_category; a entidade vem da região category.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.CATEGORY_BY_NAME)
+    })
     Optional<Category> findByNameIgnoreCase(String name);
+
+    /* Direto no banco, sem L2: quais dos ids ainda existem agora. */
+    @Query("select c.id from Category c where c.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /* Página sem COUNT(*): busca size + 1 linhas só para saber se há próxima. */
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    /*
+      Um IN sobre o índice único de normalized_name (chaves de
+      CategoryDictionary.key), com lock (FOR SHARE/FOR UPDATE conforme o
+      dialeto) logo após o upsert: enxerga a linha que outra transação acabou de commitar mesmo em
+      REPEATABLE READ, onde um SELECT comum usaria o snapshot antigo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select c from Category c where c.normalizedName in :keys order by c.id")
+    List<Category> findAllByNameKeyIn(Collection<String> keys);
 }
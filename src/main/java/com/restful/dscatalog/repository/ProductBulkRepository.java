@@ -0,0 +1,42 @@
+package com.restful.dscatalog.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ProductBulkRepository {
+
+    /*
+      Insere os produtos e as linhas de tb_product_category em lotes JDBC
+      (executeBatch), sem entidades nem persistence context. Devolve os ids
+      atribuídos na mesma ordem de products. Ids de categoria precisam existir:
+      quem chama já os resolveu.
+     */
+    List<Long> insertAll(List<NewProduct> products);
+
+    /*
+      Próximos limit ids (em ordem) de produtos ligados a alguma das categorias,
+      a partir de afterId exclusive: a paginação por keyset do reajuste em lote.
+     */
+    List<Long> findIdsInCategoriesAfter(Collection<Long> categoryIds, long afterId, int limit);
+
+    /*
+      Um UPDATE para os productIds do lote que seguem ligados às categorias:
+      price = round(price * factor + delta, 2), com versão e updated_at
+      atualizados. Produtos cujo preço resultante não seria positivo ficam como
+      estão. Devolve quantas linhas mudaram.
+     */
+    int adjustPrices(Collection<Long> categoryIds, Collection<Long> productIds, BigDecimal factor, BigDecimal delta);
+
+    record NewProduct(
+            String name,
+            String description,
+            BigDecimal price,
+            String imgUrl,
+            LocalDateTime date,
+            Set<Long> categoryIds
+    ) {
+    }
+}
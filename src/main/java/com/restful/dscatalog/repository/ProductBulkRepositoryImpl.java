@@ -0,0 +1,139 @@
+package com.restful.dscatalog.repository;
+
+import com.restful.dscatalog.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.time.LocalDateTime.now;
+
+class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    /*
+      version e updated_at explícitos: o INSERT não passa por @Version nem por
+      @UpdateTimestamp. No MySQL o lote só vira um INSERT multi-linha com
+      rewriteBatchedStatements=true na URL (ver application-*.properties).
+     */
+    private static final String INSERT_PRODUCT = """
+            insert into tb_product (id, name, description, price, img_url, date, version, updated_at)
+            values (?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+    private static final String INSERT_LINK =
+            "insert into tb_product_category (product_id, category_id) values (?, ?)";
+    private static final String SELECT_IDS_IN_CATEGORIES = """
+            select distinct product_id from tb_product_category
+            where category_id in (:categoryIds) and product_id > :afterId
+            order by product_id
+            limit :limit
+            """;
+    /*
+      Só os ids lidos no lote: um produto ligado à categoria entre a leitura e
+      a escrita fica de fora (e sai no próximo lote, se o id for maior), em vez
+      de ser reajustado sem entrar no evento que limpa os caches. O IN (SELECT ...)
+      volta a conferir a associação, então um produto desassociado nesse
+      intervalo também não é reajustado.
+     */
+    private static final String ADJUST_PRICES = """
+            update tb_product
+            set price = round(price * :factor + :delta, 2), version = version + 1, updated_at = :updatedAt
+            where id in (:productIds)
+              and id in (select product_id from tb_product_category where category_id in (:categoryIds))
+              and round(price * :factor + :delta, 2) > 0
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    ProductBulkRepositoryImpl(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /*
+      Os ids vêm do mesmo gerador pooled-lo de Product (IdGenerators): uma ida à
+      sequência a cada ALLOCATION_SIZE produtos, sem colisão com o que o
+      Hibernate insere.
+     */
+    @Override
+    @Transactional
+    public List<Long> insertAll(List<NewProduct> products) {
+        if (products.isEmpty()) return List.of();
+
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Product.class)
+                .getGenerator();
+        List<Long> ids = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) ids.add((Long) generator.generate(session, null));
+
+        Timestamp updatedAt = Timestamp.valueOf(now());
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                NewProduct product = products.get(i);
+                statement.setLong(1, ids.get(i));
+                statement.setString(2, product.name());
+                statement.setString(3, product.description());
+                statement.setBigDecimal(4, product.price());
+                statement.setString(5, product.imgUrl());
+                statement.setTimestamp(6, Timestamp.valueOf(product.date()));
+                statement.setTimestamp(7, updatedAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+
+        List<Object[]> links = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Long productId = ids.get(i);
+            products.get(i).categoryIds().forEach(categoryId -> links.add(new Object[]{productId, categoryId}));
+        }
+        if (!links.isEmpty()) jdbcTemplate.batchUpdate(INSERT_LINK, links);
+        return ids;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findIdsInCategoriesAfter(Collection<Long> categoryIds, long afterId, int limit) {
+        if (categoryIds.isEmpty()) return List.of();
+
+        return namedParameterJdbcTemplate.queryForList(SELECT_IDS_IN_CATEGORIES, new MapSqlParameterSource()
+                .addValue("categoryIds", categoryIds)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit), Long.class);
+    }
+
+    @Override
+    @Transactional
+    public int adjustPrices(Collection<Long> categoryIds, Collection<Long> productIds, BigDecimal factor, BigDecimal delta) {
+        if (categoryIds.isEmpty() || productIds.isEmpty()) return 0;
+
+        return namedParameterJdbcTemplate.update(ADJUST_PRICES, new MapSqlParameterSource()
+                .addValue("factor", factor)
+                .addValue("delta", delta)
+                .addValue("updatedAt", Timestamp.valueOf(now()))
+                .addValue("productIds", productIds)
+                .addValue("categoryIds", categoryIds));
+    }
+}
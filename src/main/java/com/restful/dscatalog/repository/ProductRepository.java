@@ -1,18 +1,36 @@
 package com.restful.dscatalog.repository;
 
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.projections.ProductCategoryLinkProjection;
+import com.restful.dscatalog.projections.ProductRow;
+import com.restful.dscatalog.projections.ProductVersionRow;
+import com.restful.dscatalog.projections.ResourceVersion;
+import jakarta.persistence.QueryHint;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository("productRepository")
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductBulkRepository {
 
     @EntityGraph(attributePaths = "categories")
     @NotNull
@@ -81,4 +99,108 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
        WHERE p.id IN :ids
        """)
     List<Product> findAllWithCategoriesByIdIn(@Param("ids") List<Long> ids);
+
+    /*
+      Caminho de leitura sem entidades: a página traz só ids (ORDER BY/LIMIT
+      sobre tb_product) e findRowsByIdIn traz as colunas + nome da categoria
+      direto em um record (SELECT new). Nada entra no persistence context: sem
+      snapshot de dirty checking, sem proxies e sem coleções gerenciadas.
+     */
+    @Query(
+            value = "SELECT p.id FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p"
+    )
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    /* Dos nomes dados, os que já existem: a importação em lote os marca como duplicados. */
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    /*
+      Validadores de GET /products/{id}: versão e updated_at do produto e das
+      categorias ligadas, já que o DTO traz os nomes delas.
+     */
+    @Query("""
+       SELECT new com.restful.dscatalog.projections.ResourceVersion(p.version, p.updatedAt, SUM(c.version), MAX(c.updatedAt))
+       FROM Product p
+       LEFT JOIN p.categories c
+       WHERE p.id = :id
+       GROUP BY p.id, p.version, p.updatedAt
+       """)
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("""
+       SELECT new com.restful.dscatalog.projections.ProductVersionRow(p.id, p.version, p.updatedAt, SUM(c.version), MAX(c.updatedAt))
+       FROM Product p
+       LEFT JOIN p.categories c
+       WHERE p.id IN :ids
+       GROUP BY p.id, p.version, p.updatedAt
+       """)
+    List<ProductVersionRow> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /* Igual a findPageOfIds, mas sem COUNT: busca size + 1 ids só para saber se há próxima. */
+    @Query("SELECT p.id FROM Product p")
+    Slice<Long> findSliceOfIds(Pageable pageable);
+
+    @Query("""
+       SELECT new com.restful.dscatalog.projections.ProductRow(
+              p.id, p.name, p.description, p.price, p.imgUrl, p.date, c.name)
+       FROM Product p
+       LEFT JOIN p.categories c
+       WHERE p.id IN :ids
+       """)
+    List<ProductRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /* Igual a findRowsByIdIn sem o JOIN com tb_product_category, para ?fields= sem categories. */
+    @Query("""
+       SELECT new com.restful.dscatalog.projections.ProductRow(
+              p.id, p.name, p.description, p.price, p.imgUrl, p.date)
+       FROM Product p
+       WHERE p.id IN :ids
+       """)
+    List<ProductRow> findRowsWithoutCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /*
+      Paginação por keyset (seek): em vez de OFFSET, filtra a partir da última
+      chave entregue (sortKey, id) e busca limit + 1 linhas para saber se há próxima.
+      Não executa COUNT e o custo independe de quão "funda" está a página.
+     */
+    Window<Product> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /*
+      Leitura forward-only para exportação: uma linha por par (produto, categoria),
+      ordenada por id para que as categorias de um produto cheguem contíguas.
+      Projeção por construtor (ProductRow, sem proxy por linha) + fetch size: nada
+      vai para o persistence context e o driver entrega o resultado em blocos,
+      então a memória fica constante.
+      Obs.: no MySQL o fetch size só é respeitado com useCursorFetch=true na URL.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+       SELECT new com.restful.dscatalog.projections.ProductRow(
+              p.id, p.name, p.description, p.price, p.imgUrl, p.date, c.name)
+       FROM Product p
+       LEFT JOIN p.categories c
+       ORDER BY p.id
+       """)
+    Stream<ProductRow> streamAllRows();
+
+    /*
+      Pares (produto, categoria) direto da tabela de junção, para montar os
+      bitmaps do CategoryProductIndex na subida da aplicação.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+       SELECT p.id AS productId,
+              c.id AS categoryId
+       FROM Product p
+       JOIN p.categories c
+       """)
+    Stream<ProductCategoryLinkProjection> streamAllCategoryLinks();
 }
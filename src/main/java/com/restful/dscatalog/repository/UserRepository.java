@@ -1,7 +1,10 @@
 package com.restful.dscatalog.repository;
 
 import com.restful.dscatalog.entity.User;
+import com.restful.dscatalog.projections.ResourceVersion;
 import com.restful.dscatalog.projections.UserDetailsProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +20,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmailIgnoreCaseAndIdNot(String email, Long id);
 
+    /* Página sem COUNT(*): busca size + 1 linhas só para saber se há próxima. */
+    Slice<User> findSliceBy(Pageable pageable);
+
+    /* Só a versão e updated_at, pela PK: validadores de GET /users/{id}. */
+    @Query("SELECT new com.restful.dscatalog.projections.ResourceVersion(u.version, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<ResourceVersion> findVersionById(Long id);
+
     @Query(value = """
             SELECT u.email     AS username,
                    u.password  AS password,
@@ -0,0 +1,70 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.entity.Category;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+  Nome de categoria (trim + minúsculas) -> id, sempre em memória, para resolver
+  nomes na escrita de produtos sem ir ao banco. Leituras não bloqueiam; escritas
+  (rebuild e eventos de CategoryChangedEvent) são serializadas para que um evento
+  não se perca no meio de um rebuild.
+
+  rebuild monta mapas novos e os publica numa única troca volátil: enquanto ele
+  roda, as leituras seguem vendo o dicionário anterior inteiro, nunca um vazio.
+ */
+@Component
+public class CategoryDictionary {
+
+    private volatile Entries entries = new Entries();
+
+    public static String key(String name) {
+        return Category.normalizeName(name);
+    }
+
+    public synchronized void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        Entries fresh = new Entries();
+        source.accept(fresh::add);
+        entries = fresh;
+    }
+
+    public synchronized void put(Long categoryId, String name) {
+        entries.delete(categoryId);
+        entries.add(categoryId, name);
+    }
+
+    public synchronized void remove(Long categoryId) {
+        entries.delete(categoryId);
+    }
+
+    public Optional<Long> resolve(String name) {
+        return Optional.ofNullable(entries.idsByKey.get(key(name)));
+    }
+
+    public int size() {
+        return entries.keysById.size();
+    }
+
+    private static final class Entries {
+
+        private final Map<String, Long> idsByKey = new ConcurrentHashMap<>();
+        private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+        /* Nomes que só diferem na caixa (bancos case-sensitive): vale o menor id. */
+        void add(Long categoryId, String name) {
+            String key = key(name);
+            keysById.put(categoryId, key);
+            idsByKey.merge(key, categoryId, Math::min);
+        }
+
+        void delete(Long categoryId) {
+            String key = keysById.remove(categoryId);
+            if (key != null) idsByKey.remove(key, categoryId);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.service.CategoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class CategoryIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryIndexer.class);
+
+    private final CategoryService categoryService;
+    private final CategorySuggestIndex categorySuggestIndex;
+    private final CategoryDictionary categoryDictionary;
+
+    public CategoryIndexer(
+            CategoryService categoryService,
+            CategorySuggestIndex categorySuggestIndex,
+            CategoryDictionary categoryDictionary
+    ) {
+        this.categoryService = categoryService;
+        this.categorySuggestIndex = categorySuggestIndex;
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var categories = categoryService.listAllWithoutPagination();
+        categorySuggestIndex.rebuild(names -> categories.forEach(category -> names.accept(category.id(), category.name())));
+        categoryDictionary.rebuild(names -> categories.forEach(category -> names.accept(category.id(), category.name())));
+        log.info("Índice de categorias carregado: {} categorias", categorySuggestIndex.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isDeletion()) {
+            categorySuggestIndex.remove(event.categoryId());
+            categoryDictionary.remove(event.categoryId());
+        } else {
+            categorySuggestIndex.index(event.categoryId(), event.name());
+            categoryDictionary.put(event.categoryId(), event.name());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.exception.ValidationException;
+
+import static java.util.Locale.ROOT;
+
+public enum CategoryMatch {
+    ANY,
+    ALL;
+
+    public static CategoryMatch parse(String value) {
+        if (value == null || value.isBlank()) return ANY;
+        try {
+            return valueOf(value.trim().toUpperCase(ROOT));
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ValidationException("match deve ser 'any' ou 'all': " + value);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.restful.dscatalog.search;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+  Postings por categoria: para cada categoria, um RoaringBitmap com os ids dos
+  produtos associados (espelho de tb_product_category). Filtros com várias
+  categorias viram AND/OR de bitmaps comprimidos em memória, sem JOIN no banco.
+
+  Limite: RoaringBitmap guarda int de 32 bits, então os ids de produto precisam
+  ficar em [0, Integer.MAX_VALUE] (toInt). É o que tb_product_seq entrega por
+  muito tempo (allocationSize 50); um id acima disso falha aqui com uma mensagem
+  explícita, e a saída é trocar os bitmaps por Roaring64Bitmap. Ver também
+  ProductSearchIndex e FuzzyMatcher, que usam os mesmos bitmaps.
+
+  O mapa inverso (produto -> categorias, ordenadas) deixa index/remove tocarem
+  só os bitmaps das categorias que entraram ou saíram, não os de todas.
+ */
+@Component
+public class CategoryProductIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final long[] NO_CATEGORIES = new long[0];
+
+    private Map<Long, RoaringBitmap> productsByCategory = new HashMap<>();
+    private Map<Integer, long[]> categoriesByProduct = new HashMap<>();
+    private List<Runnable> pendingDuringRebuild;
+
+    public void rebuild(Consumer<BiConsumer<Long, Long>> source) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, RoaringBitmap> fresh = new HashMap<>();
+        Map<Integer, long[]> freshCategories = new HashMap<>();
+        source.accept((productId, categoryId) -> {
+            int product = toInt(productId);
+            fresh.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(product);
+            freshCategories.merge(product, new long[]{categoryId}, CategoryProductIndex::append);
+        });
+        fresh.values().forEach(RoaringBitmap::runOptimize);
+        freshCategories.values().forEach(Arrays::sort);
+
+        lock.writeLock().lock();
+        try {
+            productsByCategory = fresh;
+            categoriesByProduct = freshCategories;
+            pendingDuringRebuild.forEach(Runnable::run);
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Long productId, Collection<Long> categoryIds) {
+        int product = toInt(productId);
+        long[] categories = categoryIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        write(() -> {
+            long[] previous = categoriesByProduct.getOrDefault(product, NO_CATEGORIES);
+            for (long categoryId : previous) {
+                if (Arrays.binarySearch(categories, categoryId) < 0) removeFrom(categoryId, product);
+            }
+            for (long categoryId : categories) {
+                if (Arrays.binarySearch(previous, categoryId) < 0)
+                    productsByCategory.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(product);
+            }
+            if (categories.length == 0) categoriesByProduct.remove(product);
+            else categoriesByProduct.put(product, categories);
+        });
+    }
+
+    public void remove(Long productId) {
+        int product = toInt(productId);
+        write(() -> {
+            long[] previous = categoriesByProduct.remove(product);
+            if (previous != null) for (long categoryId : previous) removeFrom(categoryId, product);
+        });
+    }
+
+    public RoaringBitmap match(Collection<Long> categoryIds, CategoryMatch match) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = categoryIds.stream()
+                    .distinct()
+                    .map(categoryId -> productsByCategory.getOrDefault(categoryId, new RoaringBitmap()))
+                    .toList();
+
+            if (bitmaps.isEmpty()) return new RoaringBitmap();
+            if (bitmaps.size() == 1) return bitmaps.getFirst().clone();
+            return match == CategoryMatch.ALL
+                    ? FastAggregation.and(bitmaps.iterator())
+                    : FastAggregation.or(bitmaps.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long cardinality(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap products = productsByCategory.get(categoryId);
+            return products == null ? 0 : products.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+      Quantidade de produtos de resultSet em cada categoria, via andCardinality
+      (interseção sem materializar o bitmap). resultSet nulo = todos os produtos.
+      Categorias sem nenhum produto no resultado ficam de fora.
+     */
+    public Map<Long, Long> countByCategory(RoaringBitmap resultSet) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            productsByCategory.forEach((categoryId, products) -> {
+                long count = resultSet == null
+                        ? products.getLongCardinality()
+                        : RoaringBitmap.andCardinality(products, resultSet);
+                if (count > 0) counts.put(categoryId, count);
+            });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+      Fatia [offset, offset + limit) do bitmap em ordem crescente (ou decrescente) de id.
+      select(k) localiza o k-ésimo id sem percorrer os anteriores.
+     */
+    public static List<Long> slice(RoaringBitmap productIds, long offset, int limit, boolean descending) {
+        long cardinality = productIds.getLongCardinality();
+        if (offset >= cardinality || limit <= 0) return List.of();
+
+        int rank = (int) (descending ? cardinality - 1 - offset : offset);
+        int first = productIds.select(rank);
+
+        PeekableIntIterator iterator = descending
+                ? productIds.getReverseIntIterator()
+                : productIds.getIntIterator();
+        iterator.advanceIfNeeded(first);
+
+        List<Long> page = new ArrayList<>(limit);
+        while (iterator.hasNext() && page.size() < limit) page.add((long) iterator.next());
+        return page;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFrom(long categoryId, int product) {
+        RoaringBitmap products = productsByCategory.get(categoryId);
+        if (products != null) products.remove(product);
+    }
+
+    private static long[] append(long[] categories, long[] added) {
+        long[] merged = Arrays.copyOf(categories, categories.length + added.length);
+        System.arraycopy(added, 0, merged, categories.length, added.length);
+        return merged;
+    }
+
+    /* Id de produto como chave de bitmap; fora de int é erro de configuração, não de dados. */
+    public static int toInt(long productId) {
+        if (productId < 0 || productId > Integer.MAX_VALUE)
+            throw new IllegalStateException("Id de produto fora do limite dos índices em memória (int): " + productId);
+        return (int) productId;
+    }
+}
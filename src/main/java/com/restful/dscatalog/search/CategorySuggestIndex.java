@@ -0,0 +1,57 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+  Autocomplete e busca fuzzy de nomes de categoria. Popularidade = quantidade de produtos
+  na categoria, lida dos bitmaps do CategoryProductIndex.
+ */
+@Component
+public class CategorySuggestIndex {
+
+    private final PrefixSuggester suggester = new PrefixSuggester();
+    private final FuzzyMatcher fuzzyMatcher = new FuzzyMatcher();
+    private final CategoryProductIndex categoryProductIndex;
+
+    public CategorySuggestIndex(CategoryProductIndex categoryProductIndex) {
+        this.categoryProductIndex = categoryProductIndex;
+    }
+
+    public void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        suggester.rebuild(prefixSink ->
+                fuzzyMatcher.rebuild(fuzzySink ->
+                        source.accept(prefixSink.andThen(fuzzySink))));
+    }
+
+    public void index(Long categoryId, String name) {
+        suggester.put(categoryId, name);
+        fuzzyMatcher.put(categoryId, name);
+    }
+
+    public void remove(Long categoryId) {
+        suggester.remove(categoryId);
+        fuzzyMatcher.remove(categoryId);
+    }
+
+    public int size() {
+        return suggester.size();
+    }
+
+    /* Categoria existente mais parecida com name (acentos, caixa e poucas letras de diferença). */
+    public Optional<Long> closest(String name) {
+        return fuzzyMatcher.match(name)
+                .stream()
+                .findFirst()
+                .map(FuzzyMatcher.Match::id);
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, limit, categoryProductIndex::cardinality);
+    }
+}
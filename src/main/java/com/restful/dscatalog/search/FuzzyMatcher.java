@@ -0,0 +1,330 @@
+package com.restful.dscatalog.search;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+  Busca tolerante a erros de digitação ("notbook", "smartfone") sobre nomes.
+
+  1) Filtro: índice de trigramas por palavra ("$notebook$" -> "$no", "not", ...)
+     com um RoaringBitmap de ids por trigrama. Trigramas presentes em nomes
+     demais ("pro", "$ca") não entram na contagem; um nome precisa dividir um
+     mínimo de trigramas com a consulta, e só os MAX_CANDIDATES que mais dividem
+     (heap limitado, contadores int) seguem adiante.
+  2) Verificação: Levenshtein limitado (para assim que passa de maxDistance)
+     entre a consulta e cada janela de palavras do nome com o mesmo tamanho.
+
+  O custo por consulta fica limitado pelo número de candidatos, não pelo catálogo.
+  Ids (de produto ou de categoria) precisam caber em int, como no CategoryProductIndex.
+ */
+final class FuzzyMatcher {
+
+    static final int MAX_CANDIDATES = 64;
+
+    /*
+      Um trigrama com mais ids que max(FREQUENT_TRIGRAM_FLOOR, nomes / 20) é
+      ignorado na contagem: quase não separa candidatos e domina o custo.
+     */
+    static final int FREQUENT_TRIGRAM_FLOOR = 1_000;
+
+    /* Cada edição desfaz no máximo 3 trigramas; o espaço entre palavras, mais um. */
+    private static final int TRIGRAMS_PER_EDIT = 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, RoaringBitmap> idsByTrigram = new HashMap<>();
+    private Map<Integer, String[]> wordsById = new HashMap<>();
+    private List<Runnable> pendingDuringRebuild;
+
+    record Match(Long id, int distance, int sharedTrigrams) {
+        static final Comparator<Match> CLOSEST_FIRST = Comparator.comparingInt(Match::distance)
+                .thenComparing(Comparator.comparingInt(Match::sharedTrigrams).reversed())
+                .thenComparing(Match::id);
+    }
+
+    void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, RoaringBitmap> freshTrigrams = new HashMap<>();
+        Map<Integer, String[]> freshWords = new HashMap<>();
+        source.accept((id, name) -> add(freshTrigrams, freshWords, Math.toIntExact(id), words(name)));
+        freshTrigrams.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            idsByTrigram = freshTrigrams;
+            wordsById = freshWords;
+            pendingDuringRebuild.forEach(Runnable::run);
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(Long id, String name) {
+        int key = Math.toIntExact(id);
+        String[] words = words(name);
+        write(() -> {
+            delete(key);
+            add(idsByTrigram, wordsById, key, words);
+        });
+    }
+
+    void remove(Long id) {
+        int key = Math.toIntExact(id);
+        write(() -> delete(key));
+    }
+
+    /*
+      Nomes a no máximo maxDistance(consulta) edições, do mais próximo ao mais distante
+      (empate: mais trigramas em comum e, por fim, menor id).
+      A contagem de trigramas em comum percorre só as postings dos trigramas não
+      frequentes; quem fica abaixo de minShared não tem como estar a maxDistance
+      edições. A verificação, que é a parte cara, fica limitada a MAX_CANDIDATES.
+     */
+    List<Match> match(String query) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0) return List.of();
+
+        String joinedQuery = String.join(" ", queryWords);
+        int maxDistance = maxDistance(joinedQuery);
+        Set<String> queryTrigrams = trigrams(queryWords);
+
+        lock.readLock().lock();
+        try {
+            int frequencyCap = Math.max(FREQUENT_TRIGRAM_FLOOR, wordsById.size() / 20);
+            List<RoaringBitmap> postings = new ArrayList<>(queryTrigrams.size());
+            int skipped = 0;
+            for (String trigram : queryTrigrams) {
+                RoaringBitmap ids = idsByTrigram.get(trigram);
+                if (ids == null) continue;
+                if (ids.getCardinality() > frequencyCap) skipped++;
+                else postings.add(ids);
+            }
+            int minShared = Math.max(1, queryTrigrams.size() - TRIGRAMS_PER_EDIT * maxDistance - skipped);
+
+            SharedCounter shared = new SharedCounter(postings.stream().mapToInt(RoaringBitmap::getCardinality).sum());
+            for (RoaringBitmap ids : postings) {
+                IntIterator iterator = ids.getIntIterator();
+                while (iterator.hasNext()) shared.increment(iterator.next());
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (long candidate : shared.top(MAX_CANDIDATES, minShared)) {
+                int id = TopCandidates.id(candidate);
+                int distance = windowDistance(joinedQuery, queryWords.length, wordsById.get(id), maxDistance);
+                if (distance <= maxDistance)
+                    matches.add(new Match((long) id, distance, TopCandidates.shared(candidate)));
+            }
+            matches.sort(Match.CLOSEST_FIRST);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int maxDistance(String normalizedQuery) {
+        int length = normalizedQuery.length();
+        if (length <= 4) return 1;
+        if (length <= 10) return 2;
+        return 3;
+    }
+
+    /*
+      Levenshtein com corte: devolve max + 1 assim que nenhuma célula da linha
+      corrente fica <= max (a distância final não tem como voltar a caber).
+     */
+    static int boundedDistance(String left, String right, int max) {
+        if (Math.abs(left.length() - right.length()) > max) return max + 1;
+
+        int[] previous = new int[right.length() + 1];
+        int[] current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= right.length(); j++) {
+                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) return max + 1;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[right.length()], max + 1);
+    }
+
+    private static int windowDistance(String query, int queryWordCount, String[] nameWords, int max) {
+        if (nameWords.length <= queryWordCount) return boundedDistance(query, String.join(" ", nameWords), max);
+
+        int best = max + 1;
+        for (int start = 0; start + queryWordCount <= nameWords.length && best > 0; start++) {
+            String window = String.join(" ", Arrays.copyOfRange(nameWords, start, start + queryWordCount));
+            best = Math.min(best, boundedDistance(query, window, max));
+        }
+        return best;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(int id) {
+        String[] words = wordsById.remove(id);
+        if (words == null) return;
+        for (String trigram : trigrams(words)) {
+            RoaringBitmap ids = idsByTrigram.get(trigram);
+            if (ids == null) continue;
+            ids.remove(id);
+            if (ids.isEmpty()) idsByTrigram.remove(trigram);
+        }
+    }
+
+    private static void add(
+            Map<String, RoaringBitmap> idsByTrigram,
+            Map<Integer, String[]> wordsById,
+            int id,
+            String[] words
+    ) {
+        if (words.length == 0) return;
+        wordsById.put(id, words);
+        for (String trigram : trigrams(words))
+            idsByTrigram.computeIfAbsent(trigram, key -> new RoaringBitmap()).add(id);
+    }
+
+    private static String[] words(String name) {
+        String normalized = PrefixSuggester.normalize(name);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    /* Contagem id -> trigramas em comum em endereçamento aberto: dois int[], sem Integer nem Map.Entry. */
+    private static final class SharedCounter {
+
+        private final int[] ids;
+        private final int[] counts;
+        private final int mask;
+
+        SharedCounter(int expectedIncrements) {
+            int capacity = Integer.highestOneBit(Math.max(16, expectedIncrements) * 2 - 1) << 1;
+            ids = new int[capacity];
+            counts = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void increment(int id) {
+            int slot = (id * 0x9E3779B9) & mask;
+            while (counts[slot] != 0 && ids[slot] != id) slot = (slot + 1) & mask;
+            ids[slot] = id;
+            counts[slot]++;
+        }
+
+        long[] top(int limit, int minShared) {
+            TopCandidates top = new TopCandidates(limit);
+            for (int slot = 0; slot < counts.length; slot++) {
+                if (counts[slot] >= minShared) top.offer(ids[slot], counts[slot]);
+            }
+            return top.toArray();
+        }
+    }
+
+    /*
+      Os limit melhores (mais trigramas; empate: menor id) num min-heap de long:
+      trigramas nos 32 bits altos, ~id nos baixos, então maior = melhor.
+     */
+    private static final class TopCandidates {
+
+        private final long[] heap;
+        private int size;
+
+        TopCandidates(int limit) {
+            heap = new long[limit];
+        }
+
+        static int id(long candidate) {
+            return ~(int) candidate;
+        }
+
+        static int shared(long candidate) {
+            return (int) (candidate >>> 32);
+        }
+
+        void offer(int id, int shared) {
+            long candidate = ((long) shared << 32) | (~id & 0xFFFFFFFFL);
+            if (size < heap.length) {
+                heap[size] = candidate;
+                siftUp(size++);
+            } else if (candidate > heap[0]) {
+                heap[0] = candidate;
+                siftDown(0);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(heap, size);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent] <= heap[index]) return;
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) smallest = left;
+                if (right < size && heap[right] < heap[smallest]) smallest = right;
+                if (smallest == index) return;
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int first, int second) {
+            long value = heap[first];
+            heap[first] = heap[second];
+            heap[second] = value;
+        }
+    }
+
+    private static Set<String> trigrams(String[] words) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : words) {
+            String padded = "$" + word + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,282 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
+import com.restful.dscatalog.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+
+/*
+  Autocomplete por prefixo sobre nomes normalizados (sem acento, minúsculas).
+
+  - Os nomes ficam em arrays paralelos ordenados por (chave, id): o intervalo
+    de um prefixo sai de duas buscas binárias, sem percorrer o resto.
+  - Dentro do intervalo, os `limit` mais populares saem de um heap de tamanho
+    limit. Prefixos curtos casam com boa parte do catálogo, então no máximo
+    MAX_SCANNED nomes do intervalo (os primeiros em ordem alfabética) são
+    avaliados: acima disso a sugestão é aproximada, e o custo não cresce.
+  - Escritas não copiam os arrays principais (base): o nome novo entra num
+    segundo array ordenado pequeno (delta), e o que sai da base vira um id em
+    removed. Quando delta + removed passam de MAX_PENDING_WRITES, os três são
+    fundidos numa base nova; o custo O(n) da fusão se divide entre essas escritas.
+  - Copy-on-write: cada escrita monta um novo Snapshot e troca a referência
+    volatile; leitores nunca bloqueiam nem veem um array pela metade.
+ */
+final class PrefixSuggester {
+
+    static final int MAX_LIMIT = 50;
+    static final int MAX_SCANNED = 10_000;
+    static final int MAX_PENDING_WRITES = 512;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final long[] NO_IDS = new long[0];
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /* Só escritores (synchronized) acessam: id -> chave atual no snapshot. */
+    private Map<Long, String> keysById = new HashMap<>();
+    private List<Runnable> pendingDuringRebuild;
+
+    void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        source.accept((id, name) -> entries.add(new Entry(normalize(name), id, name)));
+        entries.sort(Entry.ORDER);
+
+        Map<Long, String> freshKeys = new HashMap<>(entries.size() * 2);
+        List<Entry> unique = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (freshKeys.putIfAbsent(entry.id(), entry.key()) == null) unique.add(entry);
+        }
+
+        synchronized (this) {
+            keysById = freshKeys;
+            snapshot = new Snapshot(SortedRun.of(unique), NO_IDS, SortedRun.EMPTY);
+            pendingDuringRebuild.forEach(Runnable::run);
+            pendingDuringRebuild = null;
+        }
+    }
+
+    void put(Long id, String name) {
+        Entry entry = new Entry(normalize(name), id, name);
+        write(() -> {
+            Snapshot current = removeFrom(snapshot, id);
+            keysById.put(id, entry.key());
+            snapshot = new Snapshot(current.base(), current.removed(), current.delta().insert(entry)).compactIfNeeded();
+        });
+    }
+
+    void remove(Long id) {
+        write(() -> snapshot = removeFrom(snapshot, id).compactIfNeeded());
+    }
+
+    int size() {
+        Snapshot current = snapshot;
+        return current.base().size() - current.removed().length + current.delta().size();
+    }
+
+    List<SuggestionDTO> suggest(String prefix, int limit, ToLongFunction<Long> popularity) {
+        if (prefix == null || prefix.isBlank()) throw new ValidationException("prefix é obrigatório.");
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new ValidationException("limit deve estar entre 1 e " + MAX_LIMIT + ".");
+
+        Snapshot current = snapshot;
+        String key = normalize(prefix);
+        String end = key + Character.MAX_VALUE;
+
+        /* Menor score sai primeiro; no empate, sai o que vem depois em ordem alfabética. */
+        Comparator<Candidate> ranking = Comparator.comparingLong(Candidate::score)
+                .thenComparing(Comparator.comparing(Candidate::entry, Entry.ORDER).reversed());
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, ranking);
+        int budget = MAX_SCANNED;
+        budget = collect(current.delta(), NO_IDS, key, end, budget, limit, popularity, top);
+        collect(current.base(), current.removed(), key, end, budget, limit, popularity, top);
+
+        SuggestionDTO[] suggestions = new SuggestionDTO[top.size()];
+        for (int position = suggestions.length - 1; position >= 0; position--) {
+            Entry entry = top.poll().entry();
+            suggestions[position] = new SuggestionDTO(entry.id(), entry.name());
+        }
+        return List.of(suggestions);
+    }
+
+    /* Avalia até budget nomes do intervalo [key, end) de run; devolve o que sobrou do budget. */
+    private static int collect(
+            SortedRun run,
+            long[] removed,
+            String key,
+            String end,
+            int budget,
+            int limit,
+            ToLongFunction<Long> popularity,
+            PriorityQueue<Candidate> top
+    ) {
+        int to = run.lowerBound(end);
+        for (int index = run.lowerBound(key); index < to && budget > 0; index++) {
+            if (removed.length > 0 && Arrays.binarySearch(removed, run.ids[index]) >= 0) continue;
+            budget--;
+            top.offer(new Candidate(run.entry(index), popularity.applyAsLong(run.ids[index])));
+            if (top.size() > limit) top.poll();
+        }
+        return budget;
+    }
+
+    private synchronized void write(Runnable change) {
+        change.run();
+        if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+    }
+
+    /* A entrada atual do id está no delta ou, se não, na base (e aí vira um id em removed). */
+    private Snapshot removeFrom(Snapshot current, Long id) {
+        String key = keysById.remove(id);
+        if (key == null) return current;
+        int inDelta = current.delta().indexOf(key, id);
+        if (inDelta >= 0) return new Snapshot(current.base(), current.removed(), current.delta().delete(inDelta));
+        if (current.base().indexOf(key, id) < 0) return current;
+        return new Snapshot(current.base(), withId(current.removed(), id), current.delta());
+    }
+
+    private static long[] withId(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) return ids;
+        position = -(position + 1);
+        long[] added = new long[ids.length + 1];
+        System.arraycopy(ids, 0, added, 0, position);
+        added[position] = id;
+        System.arraycopy(ids, position, added, position + 1, ids.length - position);
+        return added;
+    }
+
+    static String normalize(String name) {
+        return WHITESPACE.matcher(TextAnalyzer.fold(name).strip()).replaceAll(" ");
+    }
+
+    private record Entry(String key, Long id, String name) {
+        static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparing(Entry::id);
+    }
+
+    private record Candidate(Entry entry, long score) {
+    }
+
+    /* base menos removed, mais delta: o conteúdo visível do índice. */
+    private record Snapshot(SortedRun base, long[] removed, SortedRun delta) {
+        static final Snapshot EMPTY = new Snapshot(SortedRun.EMPTY, NO_IDS, SortedRun.EMPTY);
+
+        Snapshot compactIfNeeded() {
+            if (removed.length + delta.size() <= MAX_PENDING_WRITES) return this;
+
+            List<Entry> merged = new ArrayList<>(base.size() - removed.length + delta.size());
+            int fromDelta = 0;
+            for (int index = 0; index < base.size(); index++) {
+                if (Arrays.binarySearch(removed, base.ids[index]) >= 0) continue;
+                Entry entry = base.entry(index);
+                while (fromDelta < delta.size() && Entry.ORDER.compare(delta.entry(fromDelta), entry) < 0)
+                    merged.add(delta.entry(fromDelta++));
+                merged.add(entry);
+            }
+            while (fromDelta < delta.size()) merged.add(delta.entry(fromDelta++));
+            return new Snapshot(SortedRun.of(merged), NO_IDS, SortedRun.EMPTY);
+        }
+    }
+
+    private static final class SortedRun {
+        static final SortedRun EMPTY = new SortedRun(new String[0], new long[0], new String[0]);
+
+        private final String[] keys;
+        private final long[] ids;
+        private final String[] names;
+
+        private SortedRun(String[] keys, long[] ids, String[] names) {
+            this.keys = keys;
+            this.ids = ids;
+            this.names = names;
+        }
+
+        static SortedRun of(List<Entry> sortedEntries) {
+            int size = sortedEntries.size();
+            String[] keys = new String[size];
+            long[] ids = new long[size];
+            String[] names = new String[size];
+            for (int i = 0; i < size; i++) {
+                Entry entry = sortedEntries.get(i);
+                keys[i] = entry.key();
+                ids[i] = entry.id();
+                names[i] = entry.name();
+            }
+            return new SortedRun(keys, ids, names);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        Entry entry(int index) {
+            return new Entry(keys[index], ids[index], names[index]);
+        }
+
+        /* Primeira posição cuja chave é >= key. */
+        int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+
+        int indexOf(String key, long id) {
+            int index = lowerBound(key);
+            while (index < keys.length && keys[index].equals(key)) {
+                if (ids[index] == id) return index;
+                if (ids[index] > id) break;
+                index++;
+            }
+            return -(index + 1);
+        }
+
+        SortedRun insert(Entry entry) {
+            int position = -(indexOf(entry.key(), entry.id()) + 1);
+            int size = keys.length;
+
+            String[] newKeys = Arrays.copyOf(keys, size + 1);
+            long[] newIds = Arrays.copyOf(ids, size + 1);
+            String[] newNames = Arrays.copyOf(names, size + 1);
+            System.arraycopy(keys, position, newKeys, position + 1, size - position);
+            System.arraycopy(ids, position, newIds, position + 1, size - position);
+            System.arraycopy(names, position, newNames, position + 1, size - position);
+            newKeys[position] = entry.key();
+            newIds[position] = entry.id();
+            newNames[position] = entry.name();
+            return new SortedRun(newKeys, newIds, newNames);
+        }
+
+        SortedRun delete(int index) {
+            int size = keys.length;
+
+            String[] newKeys = new String[size - 1];
+            long[] newIds = new long[size - 1];
+            String[] newNames = new String[size - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(names, 0, newNames, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, size - index - 1);
+            System.arraycopy(ids, index + 1, newIds, index, size - index - 1);
+            System.arraycopy(names, index + 1, newNames, index, size - index - 1);
+            return new SortedRun(newKeys, newIds, newNames);
+        }
+    }
+}
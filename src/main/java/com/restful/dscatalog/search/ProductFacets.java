@@ -0,0 +1,19 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.exception.ValidationException;
+
+import static java.util.Locale.ROOT;
+
+public enum ProductFacets {
+    NONE,
+    CATEGORIES;
+
+    public static ProductFacets parse(String value) {
+        if (value == null || value.isBlank()) return NONE;
+        try {
+            return valueOf(value.trim().toUpperCase(ROOT));
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ValidationException("facets deve ser 'categories': " + value);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.cache.ProductIdFilter;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsImportedEvent;
+import com.restful.dscatalog.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@Component
+public class ProductIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIndexer.class);
+
+    private final ProductService productService;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryProductIndex categoryProductIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductIdFilter productIdFilter;
+
+    public ProductIndexer(
+            ProductService productService,
+            ProductSearchIndex productSearchIndex,
+            CategoryProductIndex categoryProductIndex,
+            ProductSuggestIndex productSuggestIndex,
+            ProductIdFilter productIdFilter
+    ) {
+        this.productService = productService;
+        this.productSearchIndex = productSearchIndex;
+        this.categoryProductIndex = categoryProductIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.productIdFilter = productIdFilter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = nanoTime();
+        /* Uma única leitura de produtos alimenta a busca textual, o autocomplete e o filtro de ids. */
+        productIdFilter.rebuild(ids ->
+                productSuggestIndex.rebuild(names ->
+                        productSearchIndex.rebuild(products ->
+                                productService.streamAll(products.andThen(product -> {
+                                    names.accept(product.id(), product.name());
+                                    ids.accept(product.id());
+                                })))));
+        categoryProductIndex.rebuild(productService::streamCategoryLinks);
+        log.info("Índices de produtos carregados: {} produtos em {} ms",
+                productSearchIndex.size(), NANOSECONDS.toMillis(nanoTime() - start));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeletion()) {
+            productSearchIndex.remove(event.productId());
+            categoryProductIndex.remove(event.productId());
+            productSuggestIndex.remove(event.productId());
+        } else {
+            productSearchIndex.index(event.product());
+            categoryProductIndex.index(event.productId(), event.categoryIds());
+            productSuggestIndex.index(event.productId(), event.product().name());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.products().forEach(this::onProductChanged);
+    }
+}
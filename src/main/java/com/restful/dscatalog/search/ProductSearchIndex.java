@@ -0,0 +1,302 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/*
+  Índice invertido em memória sobre name + description com ranking BM25.
+
+  - Cada produto recebe um ordinal interno (int); as postings guardam ordinais
+    e frequências em arrays primitivos, sem boxing.
+  - Termos do nome contam NAME_BOOST vezes (boost de campo simples).
+  - Atualização = remoção lógica (bitset de vivos) + novo ordinal; quando a
+    fração de ordinais mortos passa de COMPACTION_RATIO o segmento é compactado.
+  - Leitores usam read lock; escritas e compactação usam write lock.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_BOOST = 3;
+    private static final double COMPACTION_RATIO = 0.25;
+    private static final int COMPACTION_MIN_DEAD = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<float[]> scoreBuffer = ThreadLocal.withInitial(() -> new float[0]);
+
+    private Segment segment = new Segment();
+    private List<Runnable> pendingDuringRebuild;
+
+    public void rebuild(Consumer<Consumer<ProductDetailsDTO>> source) {
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        source.accept(product -> fresh.upsert(product.id(), analyze(product)));
+
+        lock.writeLock().lock();
+        try {
+            segment = fresh;
+            pendingDuringRebuild.forEach(Runnable::run);
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(ProductDetailsDTO product) {
+        Map<String, Integer> termFrequencies = analyze(product);
+        write(() -> segment.upsert(product.id(), termFrequencies));
+    }
+
+    public void remove(Long productId) {
+        write(() -> segment.remove(productId));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) return SearchHits.empty();
+
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, offset, limit, scoreBuffer(segment.ordinalCount));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+      Todos os produtos que casam com a consulta (sem ranking), para facetas.
+     */
+    public RoaringBitmap matching(String query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty()) return new RoaringBitmap();
+
+        lock.readLock().lock();
+        try {
+            return segment.matching(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+            if (segment.needsCompaction()) segment = segment.compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private float[] scoreBuffer(int size) {
+        float[] buffer = scoreBuffer.get();
+        if (buffer.length < size) {
+            buffer = new float[Math.max(size, buffer.length * 2)];
+            scoreBuffer.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static Map<String, Integer> analyze(ProductDetailsDTO product) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String term : TextAnalyzer.tokenize(product.name()))
+            termFrequencies.merge(term, NAME_BOOST, Integer::sum);
+        for (String term : TextAnalyzer.tokenize(product.description()))
+            termFrequencies.merge(term, 1, Integer::sum);
+        return termFrequencies;
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+
+    private static final class Segment {
+        private final Map<String, Postings> postingsByTerm = new HashMap<>();
+        private final Map<Long, Integer> ordinalsByProductId = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] productIds;
+        private int[] lengths;
+        private int ordinalCount;
+        private int liveCount;
+        private long totalLength;
+
+        Segment() {
+            this(1024);
+        }
+
+        Segment(int capacity) {
+            productIds = new long[Math.max(capacity, 16)];
+            lengths = new int[Math.max(capacity, 16)];
+        }
+
+        void upsert(Long productId, Map<String, Integer> termFrequencies) {
+            remove(productId);
+
+            int ordinal = ordinalCount++;
+            if (ordinal == productIds.length) {
+                productIds = Arrays.copyOf(productIds, ordinal * 2);
+                lengths = Arrays.copyOf(lengths, ordinal * 2);
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postingsByTerm.computeIfAbsent(entry.getKey(), term -> new Postings())
+                        .add(ordinal, entry.getValue());
+                length += entry.getValue();
+            }
+
+            productIds[ordinal] = productId;
+            lengths[ordinal] = length;
+            ordinalsByProductId.put(productId, ordinal);
+            live.set(ordinal);
+            liveCount++;
+            totalLength += length;
+        }
+
+        void remove(Long productId) {
+            Integer ordinal = ordinalsByProductId.remove(productId);
+            if (ordinal == null) return;
+            live.clear(ordinal);
+            liveCount--;
+            totalLength -= lengths[ordinal];
+        }
+
+        boolean needsCompaction() {
+            int dead = ordinalCount - liveCount;
+            return dead >= COMPACTION_MIN_DEAD && dead > ordinalCount * COMPACTION_RATIO;
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment(liveCount);
+            int[] remapped = new int[ordinalCount];
+
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                int newOrdinal = compacted.ordinalCount++;
+                remapped[ordinal] = newOrdinal;
+                compacted.productIds[newOrdinal] = productIds[ordinal];
+                compacted.lengths[newOrdinal] = lengths[ordinal];
+                compacted.ordinalsByProductId.put(productIds[ordinal], newOrdinal);
+                compacted.live.set(newOrdinal);
+            }
+            compacted.liveCount = liveCount;
+            compacted.totalLength = totalLength;
+
+            postingsByTerm.forEach((term, postings) -> {
+                Postings kept = new Postings();
+                for (int i = 0; i < postings.size; i++) {
+                    int ordinal = postings.ordinals[i];
+                    if (live.get(ordinal)) kept.add(remapped[ordinal], postings.frequencies[i]);
+                }
+                if (kept.size > 0) compacted.postingsByTerm.put(term, kept);
+            });
+            return compacted;
+        }
+
+        SearchHits search(List<String> terms, int offset, int limit, float[] scores) {
+            if (liveCount == 0) return SearchHits.empty();
+
+            float averageLength = (float) totalLength / liveCount;
+            int[] touched = new int[16];
+            int touchedCount = 0;
+
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings == null) continue;
+
+                int documentFrequency = Math.min(postings.size, liveCount);
+                float idf = (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+                for (int i = 0; i < postings.size; i++) {
+                    int ordinal = postings.ordinals[i];
+                    if (!live.get(ordinal)) continue;
+
+                    int frequency = postings.frequencies[i];
+                    float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                    if (scores[ordinal] == 0f) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                        touched[touchedCount++] = ordinal;
+                    }
+                    scores[ordinal] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+
+            int wanted = offset + limit;
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.min(wanted, Math.max(touchedCount, 1)) + 1,
+                    (left, right) -> compareHits(scores, left, right));
+            for (int i = 0; i < touchedCount; i++) {
+                top.offer(touched[i]);
+                if (top.size() > wanted) top.poll();
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) ranked.add(productIds[top.poll()]);
+            Collections.reverse(ranked);
+
+            for (int i = 0; i < touchedCount; i++) scores[touched[i]] = 0f;
+
+            List<Long> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new SearchHits(touchedCount, List.copyOf(page));
+        }
+
+        RoaringBitmap matching(List<String> terms) {
+            RoaringBitmap productIdsMatched = new RoaringBitmap();
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings == null) continue;
+                for (int i = 0; i < postings.size; i++) {
+                    int ordinal = postings.ordinals[i];
+                    if (live.get(ordinal)) productIdsMatched.add(CategoryProductIndex.toInt(productIds[ordinal]));
+                }
+            }
+            return productIdsMatched;
+        }
+
+        private int compareHits(float[] scores, int left, int right) {
+            int byScore = Float.compare(scores[left], scores[right]);
+            if (byScore != 0) return byScore;
+            return Long.compare(productIds[right], productIds[left]);
+        }
+    }
+}
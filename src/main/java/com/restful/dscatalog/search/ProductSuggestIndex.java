@@ -0,0 +1,63 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/*
+  Autocomplete e busca fuzzy de nomes de produto. Popularidade do autocomplete
+  = visualizações do produto (GET /products/{id}) desde a subida da aplicação.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    private final PrefixSuggester suggester = new PrefixSuggester();
+    private final FuzzyMatcher fuzzyMatcher = new FuzzyMatcher();
+    private final Map<Long, LongAdder> views = new ConcurrentHashMap<>();
+
+    public void rebuild(Consumer<BiConsumer<Long, String>> source) {
+        suggester.rebuild(prefixSink ->
+                fuzzyMatcher.rebuild(fuzzySink ->
+                        source.accept(prefixSink.andThen(fuzzySink))));
+    }
+
+    public void index(Long productId, String name) {
+        suggester.put(productId, name);
+        fuzzyMatcher.put(productId, name);
+    }
+
+    public void remove(Long productId) {
+        suggester.remove(productId);
+        fuzzyMatcher.remove(productId);
+        views.remove(productId);
+    }
+
+    public void recordView(Long productId) {
+        views.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    public int size() {
+        return suggester.size();
+    }
+
+    /* Ids dos produtos com nome mais próximo da consulta, do mais próximo ao mais distante. */
+    public List<Long> fuzzy(String query) {
+        return fuzzyMatcher.match(query)
+                .stream()
+                .map(FuzzyMatcher.Match::id)
+                .toList();
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, limit, productId -> {
+            LongAdder productViews = views.get(productId);
+            return productViews == null ? 0 : productViews.sum();
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.restful.dscatalog.search;
+
+import java.util.List;
+
+public record SearchHits(
+        long total,
+        List<Long> productIds
+) {
+    public static SearchHits empty() {
+        return new SearchHits(0, List.of());
+    }
+}
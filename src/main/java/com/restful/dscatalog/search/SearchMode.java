@@ -0,0 +1,19 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.exception.ValidationException;
+
+import static java.util.Locale.ROOT;
+
+public enum SearchMode {
+    TEXT,
+    FUZZY;
+
+    public static SearchMode parse(String value) {
+        if (value == null || value.isBlank()) return TEXT;
+        try {
+            return valueOf(value.trim().toUpperCase(ROOT));
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new ValidationException("mode deve ser 'text' ou 'fuzzy': " + value);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.restful.dscatalog.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.text.Normalizer.Form.NFD;
+import static java.util.Locale.ROOT;
+
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "em", "no", "na",
+            "com", "para", "por", "um", "uma", "the", "and", "of", "for", "with"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    /*
+      Minúsculas + remoção de acentos: "Eletrônicos" -> "eletronicos".
+     */
+    public static String fold(String text) {
+        if (text == null) return "";
+        return DIACRITICS.matcher(Normalizer.normalize(text, NFD))
+                .replaceAll("")
+                .toLowerCase(ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(fold(text))) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) tokens.add(token);
+        }
+        return tokens;
+    }
+}
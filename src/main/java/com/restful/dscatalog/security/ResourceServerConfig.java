@@ -79,8 +79,13 @@ public class ResourceServerConfig {
                 .requestMatchers(POST, "/api/v1/users", "/users").permitAll()
                 .requestMatchers(PUT, "/api/v1/users/**", "/users/**").authenticated()
 
+                .requestMatchers(POST, "/api/v1/products/bulk", "/products/bulk").hasRole("ADMIN")
+                .requestMatchers(PATCH, "/api/v1/products/bulk", "/products/bulk").hasRole("ADMIN")
+                .requestMatchers(POST, "/api/v1/products/price-adjustments", "/products/price-adjustments").hasRole("ADMIN")
                 .requestMatchers("/api/v1/products/**", "/products/**").authenticated()
 
+                .requestMatchers("/actuator/cacheregions", "/actuator/cacheregions/**").hasRole("ADMIN")
+
                 .anyRequest().authenticated()
         );
 
@@ -1,13 +1,17 @@
 package com.restful.dscatalog.service;
 
 import com.restful.dscatalog.dto.category.CategoryPostDTO;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.category.CategoryDetailsDTO;
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
 import com.restful.dscatalog.entity.Category;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 public interface CategoryService {
 
     @Transactional
@@ -15,7 +19,11 @@ public interface CategoryService {
 
     Category findById(Long id);
 
-    Page<CategoryDetailsDTO> listAll(Pageable pageable);
+    Slice<CategoryDetailsDTO> listAll(Pageable pageable, CountMode count);
+
+    List<CategoryDetailsDTO> listAllWithoutPagination();
+
+    List<SuggestionDTO> suggest(String prefix, int limit);
 
     @Transactional
     CategoryDetailsDTO update(Long id, @Valid CategoryPostDTO categoryPostDTO);
@@ -0,0 +1,16 @@
+package com.restful.dscatalog.service;
+
+import com.restful.dscatalog.dto.product.ProductImportLine;
+import com.restful.dscatalog.dto.product.ProductImportReportDTO;
+
+import java.util.stream.Stream;
+
+public interface ProductImportService {
+
+    /*
+      Consome os itens na ordem e grava em lotes, cada lote na sua transação:
+      um item rejeitado não desfaz os outros, e um lote gravado continua
+      gravado se um posterior falhar.
+     */
+    ProductImportReportDTO importAll(Stream<ProductImportLine> lines);
+}
@@ -0,0 +1,19 @@
+package com.restful.dscatalog.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductPatchService {
+
+    /* JSON Merge Patch (RFC 7396) sobre os campos de ProductPostDTO. */
+    ProductDetailsDTO patch(Long id, JsonNode patch);
+
+    /*
+      Um merge patch por id, todos na mesma transação: um id inexistente ou um
+      patch inválido desfaz o lote inteiro. O resultado segue a ordem do mapa.
+     */
+    List<ProductDetailsDTO> patchAll(Map<Long, JsonNode> patches);
+}
@@ -0,0 +1,32 @@
+package com.restful.dscatalog.service;
+
+import com.restful.dscatalog.dto.product.PriceAdjustmentDTO;
+import com.restful.dscatalog.dto.product.PriceAdjustmentReportDTO;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface ProductRepricingService {
+
+    /*
+      Valida o pedido e confere as categorias antes de qualquer escrita, para
+      que o erro saia como resposta comum mesmo quando o progresso é transmitido.
+     */
+    PriceAdjustment prepare(PriceAdjustmentDTO adjustment);
+
+    /*
+      Reajusta em lotes, cada um na sua transação: um lote gravado continua
+      gravado se um posterior falhar. progress recebe as contagens acumuladas
+      depois de cada lote.
+     */
+    PriceAdjustmentReportDTO run(PriceAdjustment adjustment, Consumer<PriceAdjustmentReportDTO> progress);
+
+    /* Novo preço = round(preço * factor + delta, 2). */
+    record PriceAdjustment(
+            Set<Long> categoryIds,
+            BigDecimal factor,
+            BigDecimal delta
+    ) {
+    }
+}
@@ -1,15 +1,30 @@
 package com.restful.dscatalog.service;
 
+import com.restful.dscatalog.dto.fields.FieldSelection;
 import com.restful.dscatalog.dto.product.ProductPostDTO;
 import com.restful.dscatalog.dto.product.ProductPostByNameDTO;
 import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.pagination.CursorPage;
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.projections.ResourceVersion;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.restful.dscatalog.search.CategoryMatch;
+import com.restful.dscatalog.search.ProductFacets;
+import com.restful.dscatalog.search.SearchMode;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
@@ -17,14 +32,45 @@ public interface ProductService {
     Product create(@Valid ProductPostDTO productPostDTO);
 
     @Transactional
-    Product createByCategoryNames(ProductPostByNameDTO productPostByNameDTO);
+    Product createByCategoryNames(ProductPostByNameDTO productPostByNameDTO, boolean reuseSimilarCategories);
 
     Product findById(Long id);
 
-    Page<ProductDetailsDTO> listAll(Pageable paginacao);
+    ResourceVersion findVersion(Long id);
+
+    /* Validadores de vários produtos, numa consulta; ids inexistentes ficam de fora. */
+    Map<Long, ResourceVersion> findVersions(Collection<Long> ids);
+
+    ProductDetailsDTO findDetailsById(Long id);
+
+    Slice<ProductDetailsDTO> listAll(Pageable paginacao, ProductFacets facets, CountMode count, FieldSelection fields);
+
+    CursorPage<ProductDetailsDTO> listAfter(String after, int size, Sort sort, FieldSelection fields);
+
+    Page<ProductDetailsDTO> search(
+            String query,
+            SearchMode mode,
+            ProductFacets facets,
+            FieldSelection fields,
+            Pageable pageable
+    );
+
+    List<SuggestionDTO> suggest(String prefix, int limit);
+
+    Page<ProductDetailsDTO> listByCategories(
+            Collection<Long> categoryIds,
+            CategoryMatch match,
+            ProductFacets facets,
+            FieldSelection fields,
+            Pageable pageable
+    );
 
     List<ProductDetailsDTO> listAllWithoutPagination();
 
+    void streamAll(Consumer<ProductDetailsDTO> consumer);
+
+    void streamCategoryLinks(BiConsumer<Long, Long> consumer);
+
     @Transactional
     @Valid
     ProductDetailsDTO update(Long id, @Valid ProductPostDTO productPostDTO);
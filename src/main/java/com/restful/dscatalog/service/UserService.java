@@ -1,21 +1,26 @@
 package com.restful.dscatalog.service;
 
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.user.UserDTO;
 import com.restful.dscatalog.dto.user.UserInsertDTO;
 import com.restful.dscatalog.dto.user.UserUpdateDTO;
 import com.restful.dscatalog.entity.User;
+import com.restful.dscatalog.projections.ResourceVersion;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface UserService {
-    Page<UserDTO> findAllPaged(Pageable pageable);
+    Slice<UserDTO> findAllPaged(Pageable pageable, CountMode count, FieldSelection fields);
 
     @Transactional
     UserDTO insert(@Valid UserInsertDTO userInsertDTO);
 
-    UserDTO findById(Long id);
+    ResourceVersion findVersion(Long id);
+
+    UserDTO findById(Long id, FieldSelection fields);
 
     @Transactional
     UserDTO update(Long id, @Valid UserUpdateDTO userInsertDTO);
@@ -1,27 +1,55 @@
 package com.restful.dscatalog.service.impl;
 
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.cache.SingleFlight;
+import com.restful.dscatalog.config.RowCountEstimator;
 import com.restful.dscatalog.dto.category.CategoryPostDTO;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.category.CategoryDetailsDTO;
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
 import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.event.CategoryChangedEvent;
 import com.restful.dscatalog.exception.DatabaseException;
 import com.restful.dscatalog.exception.DuplicateEntryException;
 import com.restful.dscatalog.exception.ResourceNotFoundException;
 import com.restful.dscatalog.repository.CategoryRepository;
+import com.restful.dscatalog.search.CategorySuggestIndex;
 import com.restful.dscatalog.service.CategoryService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Service("categoryService")
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategorySuggestIndex categorySuggestIndex;
+    private final SingleFlight singleFlight;
+    private final CatalogVersion catalogVersion;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(
+            CategoryRepository categoryRepository,
+            CategorySuggestIndex categorySuggestIndex,
+            SingleFlight singleFlight,
+            CatalogVersion catalogVersion,
+            RowCountEstimator rowCountEstimator,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.categoryRepository = categoryRepository;
+        this.categorySuggestIndex = categorySuggestIndex;
+        this.singleFlight = singleFlight;
+        this.catalogVersion = catalogVersion;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -30,6 +58,7 @@ public class CategoryServiceImpl implements CategoryService {
         try {
             Category category = new Category(categoryPostDTO);
             categoryRepository.saveAndFlush(category);
+            eventPublisher.publishEvent(CategoryChangedEvent.saved(category));
             return category;
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
             throw new DuplicateEntryException("Entrada duplicada para Categoria.");
@@ -42,10 +71,35 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + categoryId));
     }
 
+    /* Sem @Transactional pelo mesmo motivo de ProductServiceImpl.listAll (SingleFlight). */
+    @Override
+    public Slice<CategoryDetailsDTO> listAll(Pageable pageable, CountMode count) {
+        return singleFlight.load(
+                "category-list",
+                Arrays.asList(catalogVersion.current(), pageable, count),
+                () -> loadAll(pageable, count)
+        );
+    }
+
+    private Slice<CategoryDetailsDTO> loadAll(Pageable pageable, CountMode count) {
+        if (count == CountMode.EXACT) return categoryRepository.findAll(pageable).map(CategoryDetailsDTO::new);
+
+        Slice<CategoryDetailsDTO> categorySlice = categoryRepository.findSliceBy(pageable).map(CategoryDetailsDTO::new);
+        return rowCountEstimator.withCount(count, categorySlice, "tb_category", categoryRepository::count);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public Page<CategoryDetailsDTO> listAll(Pageable pageable) {
-        return categoryRepository.findAll(pageable).map(CategoryDetailsDTO::new);
+    public List<CategoryDetailsDTO> listAllWithoutPagination() {
+        return categoryRepository.findAll()
+                .stream()
+                .map(CategoryDetailsDTO::new)
+                .toList();
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return categorySuggestIndex.suggest(prefix, limit);
     }
 
     @Override
@@ -59,6 +113,7 @@ public class CategoryServiceImpl implements CategoryService {
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
             throw new DuplicateEntryException("Entrada duplicada para Categoria.");
         }
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(category));
         return new CategoryDetailsDTO(category);
     }
 
@@ -72,6 +127,7 @@ public class CategoryServiceImpl implements CategoryService {
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
             throw new DatabaseException("Integrity violation");
         }
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(categoryId));
         return new CategoryDetailsDTO(category);
     }
 
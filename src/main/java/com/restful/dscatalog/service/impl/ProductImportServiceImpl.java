@@ -0,0 +1,255 @@
+package com.restful.dscatalog.service.impl;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.dto.product.ProductImportLine;
+import com.restful.dscatalog.dto.product.ProductImportReportDTO;
+import com.restful.dscatalog.dto.product.ProductImportResultDTO;
+import com.restful.dscatalog.dto.product.ProductPostDTO;
+import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.event.ProductsImportedEvent;
+import com.restful.dscatalog.repository.CategoryRepository;
+import com.restful.dscatalog.repository.ProductBulkRepository.NewProduct;
+import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.service.ProductImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.restful.dscatalog.dto.product.ProductImportResultDTO.Status.DUPLICATE;
+import static com.restful.dscatalog.dto.product.ProductImportResultDTO.Status.FAILED;
+import static com.restful.dscatalog.dto.product.ProductImportResultDTO.Status.INVALID;
+import static java.lang.System.nanoTime;
+import static java.time.LocalDateTime.now;
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toMap;
+
+/*
+  POST /products/bulk. Por lote de products.import.batch-size itens:
+  validação das constraints de ProductPostDTO em memória, uma consulta para os
+  nomes que já existem, uma para as categorias (findAllByIdCached, quase sempre
+  servida pelo L2) e os INSERTs em lote do ProductBulkRepository. O create de
+  um item faz tudo isso por produto, com saveAndFlush e transação próprios.
+
+  Se o lote violar uma constraint no banco (nome inserido ou categoria apagada
+  por outra transação entre a checagem e o INSERT), ele é refeito item a item
+  para que só os culpados saiam com o mesmo status da checagem de antes do
+  INSERT: nome que já existe como DUPLICATE, categoria que sumiu como INVALID.
+ */
+@Service("productImportService")
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${products.import.batch-size:1000}") int batchSize
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ProductImportReportDTO importAll(Stream<ProductImportLine> lines) {
+        long start = nanoTime();
+        List<ProductImportResultDTO> results = new ArrayList<>();
+        Set<String> namesInRequest = new HashSet<>();
+
+        List<ProductImportLine> chunk = new ArrayList<>(batchSize);
+        int index = 0;
+        for (Iterator<ProductImportLine> iterator = lines.iterator(); iterator.hasNext(); index++) {
+            chunk.add(iterator.next());
+            if (chunk.size() == batchSize) {
+                importChunk(index + 1 - chunk.size(), chunk, namesInRequest, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) importChunk(index - chunk.size(), chunk, namesInRequest, results);
+
+        results.sort(comparingInt(ProductImportResultDTO::index));
+        int created = (int) results.stream().filter(result -> result.id() != null).count();
+        return new ProductImportReportDTO(
+                results.size(),
+                created,
+                results.size() - created,
+                NANOSECONDS.toMillis(nanoTime() - start),
+                results
+        );
+    }
+
+    private void importChunk(
+            int firstIndex,
+            List<ProductImportLine> chunk,
+            Set<String> namesInRequest,
+            List<ProductImportResultDTO> results
+    ) {
+        List<Pending> pending = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = firstIndex + i;
+            ProductImportLine line = chunk.get(i);
+            if (line.parseError() != null) {
+                results.add(ProductImportResultDTO.rejected(index, INVALID, List.of(line.parseError())));
+                continue;
+            }
+            List<String> violations = validate(line.product());
+            if (!violations.isEmpty()) {
+                results.add(ProductImportResultDTO.rejected(index, INVALID, violations));
+                continue;
+            }
+            Pending item = new Pending(index, line.product());
+            if (!namesInRequest.add(item.name())) {
+                results.add(ProductImportResultDTO.rejected(
+                        index, DUPLICATE, List.of("Nome repetido na importação: " + item.name())));
+                continue;
+            }
+            pending.add(item);
+        }
+        if (pending.isEmpty()) return;
+
+        Set<String> existingNames = new HashSet<>(productRepository.findExistingNames(
+                pending.stream().map(Pending::name).toList()));
+        Map<Long, Category> categories = categoryRepository.findAllByIdCached(
+                        pending.stream().flatMap(item -> item.product().categoryIds().stream()).distinct().toList())
+                .stream()
+                .collect(toMap(Category::getId, Function.identity()));
+
+        List<Pending> ready = new ArrayList<>();
+        for (Pending item : pending) {
+            if (existingNames.contains(item.name())) {
+                results.add(ProductImportResultDTO.rejected(
+                        item.index(), DUPLICATE, List.of("Produto já existe: " + item.name())));
+                continue;
+            }
+            List<Long> missing = item.product().categoryIds().stream()
+                    .filter(categoryId -> !categories.containsKey(categoryId))
+                    .distinct()
+                    .toList();
+            if (!missing.isEmpty()) {
+                results.add(ProductImportResultDTO.rejected(
+                        item.index(), INVALID, List.of("Categorias inexistentes: " + missing)));
+                continue;
+            }
+            ready.add(item);
+        }
+        if (ready.isEmpty()) return;
+
+        LocalDateTime defaultDate = now();
+        List<NewProduct> rows = ready.stream().map(item -> item.toRow(defaultDate)).toList();
+        try {
+            results.addAll(insert(ready, rows, categories));
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            for (int i = 0; i < ready.size(); i++) {
+                try {
+                    results.addAll(insert(List.of(ready.get(i)), List.of(rows.get(i)), categories));
+                } catch (DuplicateKeyException duplicateKeyException) {
+                    results.add(ProductImportResultDTO.rejected(
+                            ready.get(i).index(), DUPLICATE, List.of("Produto já existe: " + ready.get(i).name())));
+                } catch (DataIntegrityViolationException rowViolation) {
+                    results.add(rejectedByIntegrity(ready.get(i)));
+                }
+            }
+        }
+    }
+
+    /* Fora nome repetido, a constraint que resta é a FK de tb_product_category. */
+    private ProductImportResultDTO rejectedByIntegrity(Pending item) {
+        Set<Long> missing = new TreeSet<>(item.product().categoryIds());
+        categoryRepository.findExistingIds(missing).forEach(missing::remove);
+        if (!missing.isEmpty())
+            return ProductImportResultDTO.rejected(item.index(), INVALID, List.of("Categorias inexistentes: " + missing));
+        return ProductImportResultDTO.rejected(item.index(), FAILED, List.of("Violação de integridade no banco."));
+    }
+
+    /* O evento sai dentro da transação: os ouvintes só o recebem depois do commit. */
+    private List<ProductImportResultDTO> insert(List<Pending> items, List<NewProduct> rows, Map<Long, Category> categories) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = productRepository.insertAll(rows);
+            List<ProductImportResultDTO> created = new ArrayList<>(ids.size());
+            List<ProductChangedEvent> events = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                created.add(ProductImportResultDTO.created(items.get(i).index(), ids.get(i)));
+                events.add(savedEvent(ids.get(i), rows.get(i), categories));
+            }
+            eventPublisher.publishEvent(new ProductsImportedEvent(events));
+            return created;
+        });
+    }
+
+    private static ProductChangedEvent savedEvent(Long id, NewProduct row, Map<Long, Category> categories) {
+        return new ProductChangedEvent(
+                id,
+                new ProductDetailsDTO(
+                        id,
+                        row.name(),
+                        row.description(),
+                        row.price(),
+                        row.imgUrl(),
+                        row.date(),
+                        row.categoryIds().stream()
+                                .map(categoryId -> categories.get(categoryId).getName())
+                                .collect(toCollection(LinkedHashSet::new))
+                ),
+                Set.copyOf(row.categoryIds())
+        );
+    }
+
+    private List<String> validate(ProductPostDTO product) {
+        return validator.validate(product).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    /* Os mesmos ajustes de setProductScalarFields no create, mais a data padrão de createByCategoryNames. */
+    private record Pending(int index, ProductPostDTO product) {
+
+        String name() {
+            return product.name().trim();
+        }
+
+        NewProduct toRow(LocalDateTime defaultDate) {
+            return new NewProduct(
+                    name(),
+                    product.description().trim(),
+                    BigDecimal.valueOf(product.price()),
+                    product.imgUrl() != null ? product.imgUrl().trim() : null,
+                    product.date() != null ? product.date() : defaultDate,
+                    new LinkedHashSet<>(product.categoryIds())
+            );
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.restful.dscatalog.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.dto.product.ProductPostDTO;
+import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.exception.DuplicateEntryException;
+import com.restful.dscatalog.exception.ResourceNotFoundException;
+import com.restful.dscatalog.exception.ValidationException;
+import com.restful.dscatalog.repository.CategoryRepository;
+import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.service.ProductPatchService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+/*
+  PATCH /products/{id} e PATCH /products/bulk. O patch é aplicado sobre a
+  representação atual em ProductPostDTO e o resultado passa pelas mesmas
+  constraints do POST; na entidade, só os campos presentes no patch são
+  tocados. Com @DynamicUpdate em Product, o UPDATE leva apenas as colunas que
+  de fato mudaram (mais a versão), e as categorias viram um diff no
+  PersistentSet: o Hibernate apaga e insere só as linhas de
+  tb_product_category que entraram ou saíram, sem recriar a coleção.
+
+  O lote carrega produtos e categorias em uma consulta cada, e os UPDATEs
+  saem em lotes JDBC (hibernate.jdbc.batch_size).
+ */
+@Service("productPatchService")
+public class ProductPatchServiceImpl implements ProductPatchService {
+
+    private static final Set<String> PATCHABLE_FIELDS = Arrays.stream(ProductPostDTO.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .collect(toUnmodifiableSet());
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxItems;
+
+    public ProductPatchServiceImpl(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${products.patch.max-items:500}") int maxItems
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    @Transactional
+    public ProductDetailsDTO patch(Long id, JsonNode patch) {
+        return patchAll(Map.of(id, patch)).getFirst();
+    }
+
+    @Override
+    @Transactional
+    public List<ProductDetailsDTO> patchAll(Map<Long, JsonNode> patches) {
+        if (patches.isEmpty()) return List.of();
+        if (patches.size() > maxItems)
+            throw new ValidationException("No máximo " + maxItems + " produtos por requisição.");
+
+        Map<Long, Product> products = productRepository.findAllWithCategoriesByIdIn(List.copyOf(patches.keySet()))
+                .stream()
+                .collect(toMap(Product::getId, Function.identity(), (first, second) -> first));
+        Set<Long> missingIds = new TreeSet<>(patches.keySet());
+        missingIds.removeAll(products.keySet());
+        if (!missingIds.isEmpty()) throw new ResourceNotFoundException("Product not found: " + missingIds);
+
+        Map<Long, ProductPostDTO> targets = new HashMap<>();
+        patches.forEach((id, patch) -> targets.put(id, merge(id, products.get(id), patch)));
+        Map<Long, Category> categories = loadCategories(patches, targets);
+
+        patches.forEach((id, patch) -> apply(patch, targets.get(id), products.get(id), categories));
+        try {
+            productRepository.flush();
+        } catch (DataIntegrityViolationException dataIntegrityViolationException) {
+            throw new DuplicateEntryException("Entrada duplicada para Produto.");
+        }
+
+        List<ProductDetailsDTO> patched = new ArrayList<>(patches.size());
+        for (Long id : patches.keySet()) {
+            ProductChangedEvent productChangedEvent = ProductChangedEvent.saved(products.get(id));
+            eventPublisher.publishEvent(productChangedEvent);
+            patched.add(productChangedEvent.product());
+        }
+        return patched;
+    }
+
+    private ProductPostDTO merge(Long id, Product product, JsonNode patch) {
+        if (patch == null || !patch.isObject())
+            throw new ValidationException("Produto " + id + ": o merge patch deve ser um objeto JSON.");
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field))
+                throw new ValidationException("Produto " + id + ": campo não suportado: " + field);
+        });
+
+        ProductPostDTO target;
+        try {
+            target = objectMapper.treeToValue(mergePatch(objectMapper.valueToTree(toPostDTO(product)), patch), ProductPostDTO.class);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new ValidationException("Produto " + id + ": JSON inválido: " + jsonProcessingException.getOriginalMessage());
+        }
+
+        List<String> violations = new ArrayList<>(validator.validate(target).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList());
+        if (target.date() == null) violations.add("date é obrigatória");
+        if (!violations.isEmpty())
+            throw new ValidationException("Produto " + id + ": " + violations.stream().sorted().collect(joining(", ")));
+        return target;
+    }
+
+    /* RFC 7396: null remove o campo, objetos são mesclados recursivamente e o resto substitui. */
+    private static JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) return patch;
+
+        ObjectNode merged = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : ((ObjectNode) patch).objectNode();
+        patch.properties().forEach(field -> {
+            if (field.getValue().isNull()) merged.remove(field.getKey());
+            else merged.set(field.getKey(), mergePatch(merged.get(field.getKey()), field.getValue()));
+        });
+        return merged;
+    }
+
+    private Map<Long, Category> loadCategories(Map<Long, JsonNode> patches, Map<Long, ProductPostDTO> targets) {
+        Set<Long> categoryIds = new TreeSet<>();
+        patches.forEach((id, patch) -> {
+            if (patch.has("categoryIds")) categoryIds.addAll(targets.get(id).categoryIds());
+        });
+        if (categoryIds.isEmpty()) return Map.of();
+
+        Map<Long, Category> categories = categoryRepository.findAllByIdCached(categoryIds)
+                .stream()
+                .collect(toMap(Category::getId, Function.identity()));
+        categoryIds.removeAll(categories.keySet());
+        if (!categoryIds.isEmpty()) throw new ResourceNotFoundException("Categorias inexistentes: " + categoryIds);
+        return categories;
+    }
+
+    private static void apply(JsonNode patch, ProductPostDTO target, Product product, Map<Long, Category> categories) {
+        if (patch.has("name")) product.setName(target.name().trim());
+        if (patch.has("description")) product.setDescription(target.description().trim());
+        if (patch.has("price")) {
+            BigDecimal price = BigDecimal.valueOf(target.price());
+            if (product.getPrice() == null || product.getPrice().compareTo(price) != 0) product.setPrice(price);
+        }
+        if (patch.has("imgUrl")) product.setImgUrl(target.imgUrl() != null ? target.imgUrl().trim() : null);
+        if (patch.has("date")) product.setDate(target.date());
+        if (patch.has("categoryIds")) {
+            Set<Long> categoryIds = Set.copyOf(target.categoryIds());
+            product.getCategories().removeIf(category -> !categoryIds.contains(category.getId()));
+            categoryIds.forEach(categoryId -> product.getCategories().add(categories.get(categoryId)));
+        }
+    }
+
+    private static ProductPostDTO toPostDTO(Product product) {
+        return new ProductPostDTO(
+                product.getName(),
+                product.getDescription(),
+                product.getPrice() != null ? product.getPrice().doubleValue() : null,
+                product.getImgUrl(),
+                product.getDate(),
+                product.getCategories().stream().map(Category::getId).sorted().toList()
+        );
+    }
+}
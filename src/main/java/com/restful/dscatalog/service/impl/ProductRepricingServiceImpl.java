@@ -0,0 +1,140 @@
+package com.restful.dscatalog.service.impl;
+
+import com.restful.dscatalog.dto.product.PriceAdjustmentDTO;
+import com.restful.dscatalog.dto.product.PriceAdjustmentReportDTO;
+import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.event.ProductsRepricedEvent;
+import com.restful.dscatalog.exception.ResourceNotFoundException;
+import com.restful.dscatalog.exception.ValidationException;
+import com.restful.dscatalog.repository.CategoryRepository;
+import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.service.ProductRepricingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static java.lang.System.nanoTime;
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.ZERO;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/*
+  POST /products/price-adjustments. Em vez de um PUT por produto (carregar a
+  entidade, alterar, gravar), cada lote de products.repricing.chunk-size ids é
+  um SELECT por keyset em tb_product_category e um UPDATE sobre os ids lidos,
+  na sua própria transação: os locks duram um lote, não o reajuste inteiro.
+
+  Cada lote publica um único ProductsRepricedEvent com os seus ids, e os
+  caches derivados descartam esses ids de uma vez depois do commit.
+ */
+@Service("productRepricingService")
+public class ProductRepricingServiceImpl implements ProductRepricingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRepricingServiceImpl.class);
+
+    private static final BigDecimal MIN_PERCENT = new BigDecimal("-100");
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ProductRepricingServiceImpl(
+            ProductRepository productRepository,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${products.repricing.chunk-size:500}") int chunkSize
+    ) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public PriceAdjustment prepare(PriceAdjustmentDTO adjustment) {
+        if (adjustment.value().signum() == 0) throw new ValidationException("value deve ser diferente de zero");
+        if (adjustment.mode() == PriceAdjustmentDTO.Mode.PERCENT && adjustment.value().compareTo(MIN_PERCENT) <= 0)
+            throw new ValidationException("value percentual deve ser maior que -100");
+
+        Set<Long> categoryIds = new TreeSet<>(adjustment.categoryIds());
+        Set<Long> missingIds = new TreeSet<>(categoryIds);
+        categoryRepository.findAllByIdCached(categoryIds).stream().map(Category::getId).forEach(missingIds::remove);
+        if (!missingIds.isEmpty()) throw new ResourceNotFoundException("Categorias inexistentes: " + missingIds);
+
+        return switch (adjustment.mode()) {
+            case PERCENT -> new PriceAdjustment(categoryIds, ONE.add(adjustment.value().movePointLeft(2)), ZERO);
+            case ABSOLUTE -> new PriceAdjustment(categoryIds, ONE, adjustment.value());
+        };
+    }
+
+    @Override
+    public PriceAdjustmentReportDTO run(PriceAdjustment adjustment, Consumer<PriceAdjustmentReportDTO> progress) {
+        long start = nanoTime();
+        int chunks = 0;
+        int matched = 0;
+        int updated = 0;
+
+        long afterId = 0;
+        while (true) {
+            long lastSeenId = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> adjustChunk(adjustment, lastSeenId));
+            if (chunk == null || chunk.productIds().isEmpty()) break;
+
+            chunks++;
+            matched += chunk.productIds().size();
+            updated += chunk.updated();
+            afterId = chunk.productIds().getLast();
+            progress.accept(report(chunks, matched, updated, start, false));
+            log.debug("Reajuste de preços: lote {} ({} produtos, {} alterados até aqui)", chunks, matched, updated);
+            if (chunk.productIds().size() < chunkSize) break;
+        }
+
+        PriceAdjustmentReportDTO report = report(chunks, matched, updated, start, true);
+        log.info("Reajuste de preços nas categorias {}: {} de {} produtos em {} lotes, {} ms",
+                adjustment.categoryIds(), updated, matched, chunks, report.elapsedMs());
+        return report;
+    }
+
+    /* O evento sai dentro da transação: os ouvintes só o recebem depois do commit. */
+    private Chunk adjustChunk(PriceAdjustment adjustment, long afterId) {
+        List<Long> productIds = productRepository.findIdsInCategoriesAfter(adjustment.categoryIds(), afterId, chunkSize);
+        if (productIds.isEmpty()) return new Chunk(productIds, 0);
+
+        int updated = productRepository.adjustPrices(
+                adjustment.categoryIds(),
+                productIds,
+                adjustment.factor(),
+                adjustment.delta()
+        );
+        if (updated > 0) eventPublisher.publishEvent(new ProductsRepricedEvent(productIds));
+        return new Chunk(productIds, updated);
+    }
+
+    private static PriceAdjustmentReportDTO report(int chunks, int matched, int updated, long start, boolean done) {
+        return new PriceAdjustmentReportDTO(
+                chunks,
+                matched,
+                updated,
+                matched - updated,
+                NANOSECONDS.toMillis(nanoTime() - start),
+                done
+        );
+    }
+
+    private record Chunk(List<Long> productIds, int updated) {
+    }
+}
@@ -1,34 +1,85 @@
 package com.restful.dscatalog.service.impl;
 
-import com.restful.dscatalog.dto.category.CategoryPostDTO;
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.cache.ProductDetailsCache;
+import com.restful.dscatalog.cache.ProductIdFilter;
+import com.restful.dscatalog.cache.SingleFlight;
+import com.restful.dscatalog.config.RowCountEstimator;
+import com.restful.dscatalog.dto.category.CategoryFacetDTO;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.pagination.CursorPage;
+import com.restful.dscatalog.dto.pagination.FacetedPage;
+import com.restful.dscatalog.dto.pagination.KeysetCursor;
 import com.restful.dscatalog.dto.product.ProductPostDTO;
 import com.restful.dscatalog.dto.product.ProductPostByNameDTO;
 import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
 import com.restful.dscatalog.entity.Category;
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
 import com.restful.dscatalog.exception.DatabaseException;
 import com.restful.dscatalog.exception.DuplicateEntryException;
 import com.restful.dscatalog.exception.ResourceNotFoundException;
+import com.restful.dscatalog.exception.ValidationException;
+import com.restful.dscatalog.projections.ProductCategoryLinkProjection;
+import com.restful.dscatalog.projections.ProductRow;
+import com.restful.dscatalog.projections.ProductRowProjection;
+import com.restful.dscatalog.projections.ProductVersionRow;
+import com.restful.dscatalog.projections.ResourceVersion;
 import com.restful.dscatalog.repository.CategoryRepository;
 import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.search.CategoryDictionary;
+import com.restful.dscatalog.search.CategoryMatch;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import com.restful.dscatalog.search.CategorySuggestIndex;
+import com.restful.dscatalog.search.ProductFacets;
+import com.restful.dscatalog.search.ProductSearchIndex;
+import com.restful.dscatalog.search.ProductSuggestIndex;
+import com.restful.dscatalog.search.SearchHits;
+import com.restful.dscatalog.search.SearchMode;
 import com.restful.dscatalog.service.ProductService;
 import jakarta.persistence.EntityNotFoundException;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.lang.Character.toUpperCase;
 import static java.time.LocalDateTime.now;
@@ -37,15 +88,57 @@ import static java.util.stream.Collectors.*;
 @Service("productService")
 public class ProductServiceImpl implements ProductService {
 
+    private static final String ID_PROPERTY = "id";
+
+    private static final Map<String, Function<String, Object>> KEYSET_SORT_PROPERTIES = Map.of(
+            ID_PROPERTY, Long::valueOf,
+            "name", value -> value,
+            "price", BigDecimal::new,
+            "date", LocalDateTime::parse
+    );
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryProductIndex categoryProductIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final CategorySuggestIndex categorySuggestIndex;
+    private final CategoryDictionary categoryDictionary;
+    private final ProductDetailsCache productDetailsCache;
+    private final ProductIdFilter productIdFilter;
+    private final SingleFlight singleFlight;
+    private final CatalogVersion catalogVersion;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductServiceImpl(
             ProductRepository productRepository,
-            CategoryRepository categoryRepository
+            CategoryRepository categoryRepository,
+            ProductSearchIndex productSearchIndex,
+            CategoryProductIndex categoryProductIndex,
+            ProductSuggestIndex productSuggestIndex,
+            CategorySuggestIndex categorySuggestIndex,
+            CategoryDictionary categoryDictionary,
+            ProductDetailsCache productDetailsCache,
+            ProductIdFilter productIdFilter,
+            SingleFlight singleFlight,
+            CatalogVersion catalogVersion,
+            RowCountEstimator rowCountEstimator,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.categoryProductIndex = categoryProductIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.categorySuggestIndex = categorySuggestIndex;
+        this.categoryDictionary = categoryDictionary;
+        this.productDetailsCache = productDetailsCache;
+        this.productIdFilter = productIdFilter;
+        this.singleFlight = singleFlight;
+        this.catalogVersion = catalogVersion;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -63,6 +156,7 @@ public class ProductServiceImpl implements ProductService {
             );
             setCategoriesFromIds(productPostDTO.categoryIds(), product);
             productRepository.saveAndFlush(product);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(product));
             return product;
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
             throw new DuplicateEntryException("Produto duplicado.");
@@ -71,7 +165,10 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional
-    public Product createByCategoryNames(@Valid ProductPostByNameDTO productPostByNameDTO) {
+    public Product createByCategoryNames(
+            @Valid ProductPostByNameDTO productPostByNameDTO,
+            boolean reuseSimilarCategories
+    ) {
         try {
             Product product = new Product();
             setProductScalarFields(
@@ -84,8 +181,9 @@ public class ProductServiceImpl implements ProductService {
                             : now(), product
             );
 
-            applyCategoriesByNames(productPostByNameDTO.categoryNames(), product);
+            applyCategoriesByNames(productPostByNameDTO.categoryNames(), product, reuseSimilarCategories);
             productRepository.saveAndFlush(product);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(product));
             return product;
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
             throw new DuplicateEntryException("Entrada duplicada para Produto.");
@@ -95,44 +193,247 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional(readOnly = true)
     public Product findById(Long id) {
-        return productRepository.findById(id)
+        Product product = productIdFilter.find(id, productRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + id));
+        productSuggestIndex.recordView(id);
+        return product;
+    }
+
+    /*
+      Os validadores vêm da mesma entrada do ProductDetailsCache que serve o
+      corpo: num acerto, o 304 (ou o 200 logo em seguida) não toca o banco. Na
+      falta, a entrada inteira é carregada uma vez e fica para o findDetailsById.
+     */
+    @Override
+    public ResourceVersion findVersion(Long id) {
+        return productDetailsCache.get(id, this::loadDetails).version();
+    }
+
+    /*
+      Sem @Transactional: um acerto no ProductDetailsCache não abre transação nem
+      pega conexão. Na falta, uma única consulta plana (ProductRow) monta o DTO.
+     */
+    @Override
+    public ProductDetailsDTO findDetailsById(Long id) {
+        ProductDetailsDTO details = productDetailsCache.get(id, this::loadDetails).details();
+        productSuggestIndex.recordView(id);
+        return details;
+    }
+
+    /* Validadores antes do DTO (ver ProductDetailsCache.Entry); ids inexistentes param no ProductIdFilter. */
+    private ProductDetailsCache.Entry loadDetails(Long id) {
+        return productIdFilter.find(id, productId -> productRepository.findVersionById(productId)
+                        .flatMap(version -> loadDetailsInOrder(List.of(productId), FieldSelection.ALL)
+                                .stream()
+                                .findFirst()
+                                .map(details -> new ProductDetailsCache.Entry(details, version))))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + id));
+    }
+
+    @Override
+    public Map<Long, ResourceVersion> findVersions(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        return productRepository.findVersionsByIdIn(ids)
+                .stream()
+                .collect(toMap(ProductVersionRow::id, ProductVersionRow::resourceVersion));
+    }
+
+    /*
+      Sem @Transactional: requisições idênticas simultâneas esperam a mesma carga
+      (SingleFlight) e não podem segurar conexão enquanto esperam. Cada consulta
+      abaixo abre sua própria transação de leitura.
+     */
+    @Override
+    public Slice<ProductDetailsDTO> listAll(
+            Pageable pageable,
+            ProductFacets facets,
+            CountMode count,
+            FieldSelection fields
+    ) {
+        return singleFlight.load(
+                "product-list",
+                Arrays.asList(catalogVersion.current(), pageable, facets, count, fields),
+                () -> loadAll(pageable, facets, count, fields)
+        );
+    }
+
+    private Slice<ProductDetailsDTO> loadAll(
+            Pageable pageable,
+            ProductFacets facets,
+            CountMode count,
+            FieldSelection fields
+    ) {
+        if (count == CountMode.EXACT) return withFacets(listAllPage(pageable, fields), facets, () -> null);
+        if (facets != ProductFacets.NONE) throw new ValidationException("facets requer count=exact.");
+
+        Slice<Long> idsSlice = productRepository.findSliceOfIds(pageable);
+        Slice<ProductDetailsDTO> productSlice = new SliceImpl<>(
+                loadDetailsInOrder(idsSlice.getContent(), fields),
+                idsSlice.getPageable(),
+                idsSlice.hasNext()
+        );
+        return rowCountEstimator.withCount(count, productSlice, "tb_product", productRepository::count);
+    }
+
+    private Page<ProductDetailsDTO> listAllPage(Pageable pageable, FieldSelection fields) {
+        Page<Long> idsPage = productRepository.findPageOfIds(pageable);
+        return new PageImpl<>(
+                loadDetailsInOrder(idsPage.getContent(), fields),
+                idsPage.getPageable(),
+                idsPage.getTotalElements()
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProductDetailsDTO> listAll(Pageable pageable) {
-        Page<Product> productsPage = productRepository.findAll(pageable);
-        if (productsPage.isEmpty()) return productsPage.map(ProductDetailsDTO::new);
+    public CursorPage<ProductDetailsDTO> listAfter(String after, int size, Sort sort, FieldSelection fields) {
+        if (size < 1) throw new ValidationException("size deve ser maior que zero.");
+
+        KeysetCursor cursor = (after == null || after.isBlank()) ? null : KeysetCursor.decode(after);
+        Sort.Order order = cursor != null
+                ? new Sort.Order(cursor.direction(), cursor.property())
+                : resolveKeysetOrder(sort);
 
-        List<Long> productsIds = productsPage.stream()
+        ScrollPosition position = cursor != null
+                ? ScrollPosition.forward(keysetOf(cursor))
+                : ScrollPosition.keyset();
+
+        Window<Product> window = productRepository.findBy(position, keysetSort(order), Limit.of(size));
+
+        List<Long> productIds = window.stream()
                 .map(Product::getId)
                 .toList();
 
-        List<Product> productsWithCategories = productRepository.findAllWithCategoriesByIdIn(productsIds);
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? nextCursor(order, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
 
-        Map<Long, Product> productsById = productsWithCategories.stream()
-                .collect(toMap(Product::getId, p -> p));
+        return new CursorPage<>(loadDetailsInOrder(productIds, fields), size, nextCursor);
+    }
 
-        return productsPage.map(pagedProduct -> {
-            Product product = productsById.getOrDefault(pagedProduct.getId(), pagedProduct);
-            return new ProductDetailsDTO(product);
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductDetailsDTO> search(
+            String query,
+            SearchMode mode,
+            ProductFacets facets,
+            FieldSelection fields,
+            Pageable pageable
+    ) {
+        if (query == null || query.isBlank()) throw new ValidationException("q é obrigatório.");
+        if (mode == SearchMode.FUZZY) return fuzzySearch(query, facets, fields, pageable);
+
+        SearchHits hits = productSearchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        Page<ProductDetailsDTO> page = new PageImpl<>(
+                loadDetailsInOrder(hits.productIds(), fields),
+                pageable,
+                hits.total()
+        );
+        return withFacets(page, facets, () -> productSearchIndex.matching(query));
+    }
+
+    private Page<ProductDetailsDTO> fuzzySearch(
+            String query,
+            ProductFacets facets,
+            FieldSelection fields,
+            Pageable pageable
+    ) {
+        List<Long> matches = productSuggestIndex.fuzzy(query);
+        List<Long> pageIds = matches.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+
+        Page<ProductDetailsDTO> page = new PageImpl<>(loadDetailsInOrder(pageIds, fields), pageable, matches.size());
+        return withFacets(page, facets, () -> {
+            RoaringBitmap matchingIds = new RoaringBitmap();
+            matches.forEach(productId -> matchingIds.add(CategoryProductIndex.toInt(productId)));
+            return matchingIds;
         });
     }
 
     @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        return productSuggestIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductDetailsDTO> listByCategories(
+            Collection<Long> categoryIds,
+            CategoryMatch match,
+            ProductFacets facets,
+            FieldSelection fields,
+            Pageable pageable
+    ) {
+        if (categoryIds == null || categoryIds.isEmpty())
+            throw new ValidationException("categoryId é obrigatório.");
+
+        /* Os bitmaps só sabem ordenar por id: outra propriedade seria ignorada em silêncio. */
+        pageable.getSort().stream()
+                .filter(order -> !ID_PROPERTY.equals(order.getProperty()))
+                .findFirst()
+                .ifPresent(order -> {
+                    throw new ValidationException("Ordenação não suportada com categoryId: " + order.getProperty());
+                });
+
+        RoaringBitmap matchingIds = categoryProductIndex.match(categoryIds, match);
+        boolean descending = pageable.getSort().stream()
+                .findFirst()
+                .map(Sort.Order::isDescending)
+                .orElse(false);
+
+        List<Long> pageIds = CategoryProductIndex.slice(
+                matchingIds,
+                pageable.getOffset(),
+                pageable.getPageSize(),
+                descending
+        );
+        Page<ProductDetailsDTO> page = new PageImpl<>(
+                loadDetailsInOrder(pageIds, fields),
+                pageable,
+                matchingIds.getLongCardinality()
+        );
+        return withFacets(page, facets, () -> matchingIds);
+    }
+
+    /* Mesma leitura plana do export; a lista inteira ainda fica em memória (endpoint obsoleto). */
+    @Override
+    @Transactional(readOnly = true)
     public List<ProductDetailsDTO> listAllWithoutPagination() {
-        List<Long> productsIds = productRepository.findAll()
-                .stream()
-                .map(Product::getId)
-                .toList();
+        List<ProductDetailsDTO> products = new ArrayList<>();
+        streamAll(products::add);
+        return products;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ProductDetailsDTO> consumer) {
+        try (Stream<ProductRow> rows = productRepository.streamAllRows()) {
+            Iterator<ProductRow> iterator = rows.iterator();
+            ProductRow current = null;
+            Set<String> categoryNames = new LinkedHashSet<>();
+
+            while (iterator.hasNext()) {
+                ProductRow row = iterator.next();
+                if (current != null && !current.getId().equals(row.getId())) {
+                    consumer.accept(toDetails(current, categoryNames));
+                    categoryNames = new LinkedHashSet<>();
+                }
+                current = row;
+                if (row.getCategoryName() != null) categoryNames.add(row.getCategoryName());
+            }
 
-        if (productsIds.isEmpty()) return List.of();
+            if (current != null) consumer.accept(toDetails(current, categoryNames));
+        }
+    }
 
-        return productRepository.findAllWithCategoriesByIdIn(productsIds)
-                .stream()
-                .map(ProductDetailsDTO::new)
-                .toList();
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCategoryLinks(BiConsumer<Long, Long> consumer) {
+        try (Stream<ProductCategoryLinkProjection> links = productRepository.streamAllCategoryLinks()) {
+            links.forEach(link -> consumer.accept(link.getProductId(), link.getCategoryId()));
+        }
     }
 
     @Override
@@ -159,7 +460,9 @@ public class ProductServiceImpl implements ProductService {
                 throw new DuplicateEntryException("Entrada duplicada para Produto.");
             }
 
-            return new ProductDetailsDTO(product);
+            ProductChangedEvent productChangedEvent = ProductChangedEvent.saved(product);
+            eventPublisher.publishEvent(productChangedEvent);
+            return productChangedEvent.product();
         } catch (EntityNotFoundException entityNotFoundException) {
             throw new ResourceNotFoundException("Product not found: " + id);
         }
@@ -174,12 +477,125 @@ public class ProductServiceImpl implements ProductService {
         try {
             productRepository.delete(product);
             productRepository.flush();
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
             return productDetailsDTO;
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
             throw new DatabaseException("Integrity violation");
         }
     }
 
+    /*
+      Facetas: contagem por categoria sobre o conjunto inteiro de resultados,
+      intersectando bitmaps em memória (sem GROUP BY em tb_product_category).
+      Os bitmaps acompanham as escritas via ProductChangedEvent; só os nomes
+      das categorias com contagem > 0 são lidos do banco, por id.
+     */
+    private Page<ProductDetailsDTO> withFacets(
+            Page<ProductDetailsDTO> page,
+            ProductFacets facets,
+            Supplier<RoaringBitmap> resultSet
+    ) {
+        if (facets != ProductFacets.CATEGORIES) return page;
+
+        Map<Long, Long> counts = categoryProductIndex.countByCategory(resultSet.get());
+        if (counts.isEmpty()) return new FacetedPage<>(page, List.of());
+
+        List<CategoryFacetDTO> categoryFacets = categoryRepository.findAllById(counts.keySet())
+                .stream()
+                .map(category -> new CategoryFacetDTO(category.getId(), category.getName(), counts.get(category.getId())))
+                .sorted(Comparator.comparingLong(CategoryFacetDTO::count).reversed()
+                        .thenComparing(CategoryFacetDTO::name))
+                .toList();
+        return new FacetedPage<>(page, categoryFacets);
+    }
+
+    /*
+      Monta os DTOs a partir de linhas planas (produto x categoria) em record,
+      sem hidratar entidades, preservando a ordem de productIds.
+      Se fields não pede "categories", nem faz o JOIN com tb_product_category.
+     */
+    private List<ProductDetailsDTO> loadDetailsInOrder(List<Long> productIds, FieldSelection fields) {
+        if (productIds.isEmpty()) return List.of();
+
+        List<ProductRow> rows = fields.includes("categories")
+                ? productRepository.findRowsByIdIn(productIds)
+                : productRepository.findRowsWithoutCategoriesByIdIn(productIds);
+
+        Map<Long, ProductRowProjection> rowsById = new HashMap<>(productIds.size() * 2);
+        Map<Long, Set<String>> categoryNamesById = new HashMap<>(productIds.size() * 2);
+        for (ProductRow row : rows) {
+            rowsById.putIfAbsent(row.getId(), row);
+            Set<String> categoryNames = categoryNamesById.computeIfAbsent(row.getId(), id -> new LinkedHashSet<>());
+            if (row.getCategoryName() != null) categoryNames.add(row.getCategoryName());
+        }
+
+        List<ProductDetailsDTO> details = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            ProductRowProjection row = rowsById.get(productId);
+            if (row != null) details.add(toDetails(row, categoryNamesById.get(productId)));
+        }
+        return details;
+    }
+
+    private static ProductDetailsDTO toDetails(ProductRowProjection row, Set<String> categoryNames) {
+        return new ProductDetailsDTO(
+                row.getId(),
+                row.getName(),
+                row.getDescription(),
+                row.getPrice(),
+                row.getImgUrl(),
+                row.getDate(),
+                categoryNames
+        );
+    }
+
+    private static Sort.Order resolveKeysetOrder(Sort sort) {
+        Sort.Order order = sort.stream()
+                .findFirst()
+                .orElse(Sort.Order.asc(ID_PROPERTY));
+        requireKeysetProperty(order.getProperty());
+        return order;
+    }
+
+    private static Sort keysetSort(Sort.Order order) {
+        if (ID_PROPERTY.equals(order.getProperty())) return Sort.by(order);
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID_PROPERTY));
+    }
+
+    private static Map<String, Object> keysetOf(KeysetCursor cursor) {
+        Function<String, Object> parser = requireKeysetProperty(cursor.property());
+        if (ID_PROPERTY.equals(cursor.property())) return Map.of(ID_PROPERTY, cursor.id());
+        try {
+            return Map.of(
+                    cursor.property(), parser.apply(cursor.value()),
+                    ID_PROPERTY, cursor.id()
+            );
+        } catch (NumberFormatException | DateTimeParseException exception) {
+            throw new ValidationException("Cursor inválido para a propriedade: " + cursor.property());
+        }
+    }
+
+    private static String nextCursor(Sort.Order order, KeysetScrollPosition lastPosition) {
+        Map<String, ?> keys = lastPosition.getKeys();
+        Long lastId = (Long) keys.get(ID_PROPERTY);
+        Object lastValue = keys.get(order.getProperty());
+        if (lastValue == null && !ID_PROPERTY.equals(order.getProperty()))
+            throw new IllegalStateException("Chave de cursor nula em " + order.getProperty() + " do produto " + lastId);
+        return new KeysetCursor(
+                order.getProperty(),
+                order.getDirection(),
+                lastId,
+                lastValue == null ? null : lastValue.toString()
+        ).encode();
+    }
+
+    private static Function<String, Object> requireKeysetProperty(String property) {
+        Function<String, Object> parser = KEYSET_SORT_PROPERTIES.get(property);
+        if (parser == null)
+            throw new ValidationException("Ordenação não suportada para cursor: " + property);
+        return parser;
+    }
+
     private void setProductScalarFields(
             String name,
             String description,
@@ -195,39 +611,93 @@ public class ProductServiceImpl implements ProductService {
         if (date != null) product.setDate(date);
     }
 
+    /*
+      Diff em vez de clear + addAll: o Hibernate só apaga e insere as linhas de
+      tb_product_category que mudaram.
+     */
     private void setCategoriesFromIds(List<Long> requestedCategoryIds, Product product) {
-        product.getCategories().clear();
-        if (requestedCategoryIds == null || requestedCategoryIds.isEmpty()) return;
-        product.getCategories().addAll(fetchCategoriesOrThrow(requestedCategoryIds));
+        Set<Category> categories = requestedCategoryIds == null || requestedCategoryIds.isEmpty()
+                ? Set.of()
+                : fetchCategoriesOrThrow(requestedCategoryIds);
+        product.getCategories().retainAll(categories);
+        product.getCategories().addAll(categories);
     }
 
-    private void applyCategoriesByNames(Collection<String> categoryNames, Product product) {
+    /*
+      Nomes resolvidos pelo CategoryDictionary e carregados pelo cache L2, sem SQL
+      quando quentes. Com reuseSimilarCategories, antes de criar "Eletronicos" ou
+      "Eletrônico", procura no índice fuzzy em memória uma categoria existente a
+      poucas edições de distância e a reaproveita. Um id do dicionário que não
+      existe mais (removido por outra instância) sai dele e o nome volta a faltar.
+     */
+    private void applyCategoriesByNames(
+            Collection<String> categoryNames,
+            Product product,
+            boolean reuseSimilarCategories
+    ) {
         product.getCategories().clear();
         if (categoryNames == null || categoryNames.isEmpty()) return;
 
-        LinkedHashSet<String> normalizedNames = normalizeNames(categoryNames);
+        Map<String, Long> resolvedIds = new LinkedHashMap<>();
+        List<String> missingNames = new ArrayList<>();
+        for (String normalizedName : normalizeNames(categoryNames)) {
+            Optional<Long> categoryId = reuseSimilarCategories
+                    ? categoryDictionary.resolve(normalizedName).or(() -> categorySuggestIndex.closest(normalizedName))
+                    : categoryDictionary.resolve(normalizedName);
+            categoryId.ifPresentOrElse(id -> resolvedIds.put(normalizedName, id), () -> missingNames.add(normalizedName));
+        }
+
+        Map<Long, Category> loaded = categoryRepository.findAllByIdCached(List.copyOf(resolvedIds.values()))
+                .stream()
+                .collect(toMap(Category::getId, Function.identity()));
+        resolvedIds.forEach((normalizedName, categoryId) -> {
+            Category category = loaded.get(categoryId);
+            if (category != null) {
+                product.getCategories().add(category);
+            } else {
+                categoryDictionary.remove(categoryId);
+                missingNames.add(normalizedName);
+            }
+        });
+        if (!missingNames.isEmpty()) product.getCategories().addAll(createMissingCategories(missingNames));
+    }
+
+    /*
+      Os nomes que faltam no dicionário viram um único upsert; a leitura seguinte
+      devolve tanto as linhas criadas aqui quanto as que uma requisição concorrente
+      criou com o mesmo nome, sem estourar category_name_unique. Só as criadas aqui
+      publicam CategoryChangedEvent; as que já existiam (já commitadas) só entram
+      no dicionário local, que estava desatualizado.
+     */
+    private List<Category> createMissingCategories(List<String> normalizedNames) {
+        Set<String> insertedKeys = categoryRepository.insertIgnoringDuplicates(
+                normalizedNames.stream().map(ProductServiceImpl::capitalize).toList()
+        );
+
+        Map<String, Category> categoriesByKey = new HashMap<>();
+        for (Category category : categoryRepository.findAllByNameKeyIn(normalizedNames)) {
+            categoriesByKey.putIfAbsent(category.getNormalizedName(), category);
+        }
+
+        List<Category> categories = new ArrayList<>(normalizedNames.size());
         for (String normalizedName : normalizedNames) {
-            Category category = findOrCreateCategoryCaseInsensitive(normalizedName);
-            product.getCategories().add(category);
+            Category category = categoriesByKey.get(normalizedName);
+            if (category == null) throw new DatabaseException("Categoria não criada: " + normalizedName);
+            if (insertedKeys.contains(normalizedName)) eventPublisher.publishEvent(CategoryChangedEvent.saved(category));
+            else categoryDictionary.put(category.getId(), category.getName());
+            categories.add(category);
         }
+        return categories;
     }
 
     private LinkedHashSet<String> normalizeNames(Collection<String> names) {
         return names.stream()
                 .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(String::toLowerCase)
+                .filter(s -> !s.isBlank())
+                .map(CategoryDictionary::key)
                 .collect(toCollection(LinkedHashSet::new));
     }
 
-    private Category findOrCreateCategoryCaseInsensitive(String normalizedName) {
-        return categoryRepository.findByNameIgnoreCase(normalizedName)
-                .orElseGet(() -> categoryRepository.saveAndFlush(
-                        new Category(new CategoryPostDTO(capitalize(normalizedName)))
-                ));
-    }
-
     private Set<Category> fetchCategoriesOrThrow(List<Long> categoryIds) {
         if (categoryIds == null) return Set.of();
 
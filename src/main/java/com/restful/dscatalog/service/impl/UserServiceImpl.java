@@ -1,21 +1,28 @@
 package com.restful.dscatalog.service.impl;
 
+import com.restful.dscatalog.config.RowCountEstimator;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.user.UserDTO;
 import com.restful.dscatalog.dto.user.UserInsertDTO;
 import com.restful.dscatalog.dto.user.UserUpdateDTO;
 import com.restful.dscatalog.entity.Role;
 import com.restful.dscatalog.entity.User;
+import com.restful.dscatalog.event.UserChangedEvent;
 import com.restful.dscatalog.exception.DuplicateEntryException;
 import com.restful.dscatalog.exception.ResourceNotFoundException;
 import com.restful.dscatalog.exception.ValidationException;
+import com.restful.dscatalog.projections.ResourceVersion;
 import com.restful.dscatalog.projections.UserDetailsProjection;
 import com.restful.dscatalog.repository.RoleRepository;
 import com.restful.dscatalog.repository.UserRepository;
 import com.restful.dscatalog.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
@@ -40,15 +47,21 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     private final PasswordEncoder bCryptPasswordEncoder;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserServiceImpl(
             PasswordEncoder bcryptpasswordencoder,
             UserRepository userRepository,
-            RoleRepository roleRepository
+            RoleRepository roleRepository,
+            RowCountEstimator rowCountEstimator,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.bCryptPasswordEncoder = bcryptpasswordencoder;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
+        this.rowCountEstimator = rowCountEstimator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -76,17 +89,36 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<UserDTO> findAllPaged(Pageable pageable) {
-        Page<User> userPage = userRepository.findAll(pageable);
-        return userPage.map(UserDTO::new);
+    public Slice<UserDTO> findAllPaged(Pageable pageable, CountMode count, FieldSelection fields) {
+        if (count == CountMode.EXACT) {
+            Page<User> userPage = userRepository.findAll(pageable);
+            return userPage.map(user -> toDTO(user, fields));
+        }
+        Slice<UserDTO> userSlice = userRepository.findSliceBy(pageable).map(user -> toDTO(user, fields));
+        return rowCountEstimator.withCount(count, userSlice, "tb_user", userRepository::count);
+    }
+
+    @Override
+    public ResourceVersion findVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public UserDTO findById(Long id) {
+    public UserDTO findById(Long id, FieldSelection fields) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return new UserDTO(user);
+        return toDTO(user, fields);
+    }
+
+    /*
+      roles é LAZY: sem "roles" em fields a coleção nunca é tocada, então o
+      SELECT em tb_user_role (em lotes de @BatchSize) não acontece.
+     */
+    private static UserDTO toDTO(User user, FieldSelection fields) {
+        if (fields.includes("roles")) return new UserDTO(user);
+        return new UserDTO(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
     }
 
     @Override
@@ -110,6 +142,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
             user.getRoles().add(roleRepository.getReferenceById(DEFAULT_CLIENT_ROLE_ID));
 
             userRepository.saveAndFlush(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
             return new UserDTO(user);
         } catch (DataIntegrityViolationException dataIntegrityViolationException) {
@@ -134,6 +167,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
         user.updateProfile(userInsertDTO.firstName(), userInsertDTO.lastName(), normalizedEmailAddress);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
         return new UserDTO(user);
     }
@@ -0,0 +1,93 @@
+package com.restful.dscatalog.benchmark;
+
+import com.restful.dscatalog.dto.product.ProductImportLine;
+import com.restful.dscatalog.dto.product.ProductImportReportDTO;
+import com.restful.dscatalog.dto.product.ProductPostDTO;
+import com.restful.dscatalog.service.ProductImportService;
+import com.restful.dscatalog.service.ProductService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+/*
+  Compara N chamadas a ProductService.create (o que POST /products faz por
+  produto) com ProductImportService.importAll, o caminho de POST /products/bulk.
+
+  Não roda no build padrão; use: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(PER_CLASS)
+class ProductImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportBenchmarkTest.class);
+
+    private static final String PREFIX = "Import-Bench-";
+    private static final int SINGLE_PRODUCTS = 2_000;
+    private static final int BULK_PRODUCTS = 20_000;
+    private static final List<Long> CATEGORY_IDS = List.of(1L, 2L);
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("""
+                DELETE FROM tb_product_category
+                WHERE product_id IN (SELECT id FROM tb_product WHERE name LIKE ?)
+                """, PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM tb_product WHERE name LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("importAll: ao menos 10x mais produtos por segundo que create item a item")
+    void bulk_import_outperforms_single_creates() {
+        IntStream.range(0, 200).forEach(i -> productService.create(product("warmup-single-" + i)));
+        productImportService.importAll(IntStream.range(0, 2_000)
+                .mapToObj(i -> ProductImportLine.of(product("warmup-bulk-" + i))));
+
+        long start = System.nanoTime();
+        IntStream.range(0, SINGLE_PRODUCTS).forEach(i -> productService.create(product("single-" + i)));
+        double singlePerSecond = SINGLE_PRODUCTS / seconds(start);
+
+        start = System.nanoTime();
+        ProductImportReportDTO report = productImportService.importAll(IntStream.range(0, BULK_PRODUCTS)
+                .mapToObj(i -> ProductImportLine.of(product("bulk-" + i))));
+        double bulkPerSecond = BULK_PRODUCTS / seconds(start);
+
+        log.info("Importação: create {} produtos/s; bulk {} produtos/s ({}x)",
+                Math.round(singlePerSecond), Math.round(bulkPerSecond), Math.round(bulkPerSecond / singlePerSecond));
+
+        assertThat(report.created()).isEqualTo(BULK_PRODUCTS);
+        assertThat(bulkPerSecond).isGreaterThanOrEqualTo(10 * singlePerSecond);
+    }
+
+    private static ProductPostDTO product(String suffix) {
+        return new ProductPostDTO(PREFIX + suffix, "Produto de benchmark", 19.90, null, DATE, CATEGORY_IDS);
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,159 @@
+package com.restful.dscatalog.benchmark;
+
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.repository.ProductBulkRepository.NewProduct;
+import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.search.ProductFacets;
+import com.restful.dscatalog.service.ProductService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+/*
+  Compara o caminho antigo de listagem (entidades Product + fetch join de
+  categorias + cópia para DTO) com o caminho por projeção do ProductServiceImpl.
+
+  Não roda no build padrão; use: mvn test -Pbenchmark
+  Mede tempo e bytes alocados pela thread (com.sun.management.ThreadMXBean).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("h2")
+@TestInstance(PER_CLASS)
+class ProductListingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductListingBenchmarkTest.class);
+
+    private static final String PREFIX = "Bench-";
+    private static final int PRODUCTS = 5_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<NewProduct> products = new ArrayList<>(PRODUCTS);
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < PRODUCTS; i++)
+            products.add(new NewProduct(
+                    PREFIX + i, "Produto de benchmark " + i, BigDecimal.valueOf(10 + i % 500), null, date, Set.of(1L, 2L, 3L)));
+        productRepository.insertAll(products);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("""
+                DELETE FROM tb_product_category
+                WHERE product_id IN (SELECT id FROM tb_product WHERE name LIKE ?)
+                """, PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM tb_product WHERE name LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    @DisplayName("listAll: projeção aloca menos que o caminho por entidades e devolve o mesmo conteúdo")
+    void projection_path_allocates_less_than_entity_path() {
+        int pages = (int) Math.ceil((double) productRepository.count() / PAGE_SIZE);
+
+        assertThat(walk(pages, this::entityPage)).isEqualTo(walk(pages, this::projectionPage));
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            walk(pages, this::entityPage);
+            walk(pages, this::projectionPage);
+        }
+
+        Measurement entity = measure(() -> walk(pages, this::entityPage));
+        Measurement projection = measure(() -> walk(pages, this::projectionPage));
+
+        log.info("listAll ({} páginas de {}): entidades {} ms / {} KiB por rodada; projeção {} ms / {} KiB por rodada",
+                pages, PAGE_SIZE,
+                entity.millisPerRound(), entity.bytesPerRound() / 1024,
+                projection.millisPerRound(), projection.bytesPerRound() / 1024);
+
+        assertThat(projection.bytesPerRound()).isLessThan(entity.bytesPerRound());
+    }
+
+    /* Caminho anterior do ProductServiceImpl.listAll, reproduzido aqui como referência. */
+    private Page<ProductDetailsDTO> entityPage(Pageable pageable) {
+        return readOnly.execute(status -> {
+            Page<Product> productsPage = productRepository.findAll(pageable);
+            List<Long> productsIds = productsPage.map(Product::getId).getContent();
+            Map<Long, Product> productsById = productRepository.findAllWithCategoriesByIdIn(productsIds)
+                    .stream()
+                    .collect(toMap(Product::getId, Function.identity()));
+            return productsPage.map(product -> new ProductDetailsDTO(productsById.getOrDefault(product.getId(), product)));
+        });
+    }
+
+    private Page<ProductDetailsDTO> projectionPage(Pageable pageable) {
+        return readOnly.execute(status ->
+                (Page<ProductDetailsDTO>) productService.listAll(pageable, ProductFacets.NONE, CountMode.EXACT, FieldSelection.ALL));
+    }
+
+    private static List<ProductDetailsDTO> walk(int pages, Function<Pageable, Page<ProductDetailsDTO>> path) {
+        List<ProductDetailsDTO> all = new ArrayList<>();
+        for (int page = 0; page < pages; page++)
+            all.addAll(path.apply(PageRequest.of(page, PAGE_SIZE, Sort.by("id"))).getContent());
+        return all;
+    }
+
+    private static Measurement measure(Runnable round) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) round.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new Measurement(elapsed / 1_000_000 / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS);
+    }
+
+    private record Measurement(long millisPerRound, long bytesPerRound) {
+    }
+}
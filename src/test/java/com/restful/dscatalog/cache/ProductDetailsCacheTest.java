@@ -0,0 +1,132 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.projections.ResourceVersion;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductDetailsCacheTest {
+
+    private final CategoryProductIndex categoryProductIndex = new CategoryProductIndex();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ProductDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductDetailsCache(
+                categoryProductIndex,
+                new SharedCache(meterRegistry, false, "redis://localhost:6379", Duration.ofMillis(200), Duration.ofSeconds(5)),
+                meterRegistry,
+                DataSize.ofMegabytes(1),
+                Duration.ofMinutes(10),
+                Duration.ofMinutes(5)
+        );
+        categoryProductIndex.index(1L, List.of(10L));
+        categoryProductIndex.index(2L, List.of(10L, 20L));
+        categoryProductIndex.index(3L, List.of(20L));
+    }
+
+    private ProductDetailsCache.Entry load(Long id) {
+        loads.incrementAndGet();
+        return new ProductDetailsCache.Entry(
+                new ProductDetailsDTO(id, "P" + id, "desc", BigDecimal.ONE, null, LocalDateTime.now(), Set.of("Games")),
+                new ResourceVersion(1L, null, 3L, null));
+    }
+
+    @Test
+    @DisplayName("get: segunda leitura do mesmo id não chama o loader")
+    void get_loadsOnce_perId() {
+        var first = cache.get(1L, this::load);
+        var second = cache.get(1L, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.version().eTag()).isEqualTo("\"1.3\"");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("onProductChanged: invalida só o produto alterado")
+    void onProductChanged_invalidatesOnlyThatProduct() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("onCategoryChanged: invalida os produtos da categoria renomeada")
+    void onCategoryChanged_invalidatesProductsOfCategory() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        cache.onCategoryChanged(new CategoryChangedEvent(10L, "Jogos"));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("métricas: acertos e faltas publicados com cache=product-details")
+    void metrics_areRegistered() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "product-details").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "product-details").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("warm: pré-carga vale até a primeira invalidação ocorrida desde a leitura")
+    void warm_discardsDetailsRead_beforeAnInvalidation() {
+        long before = cache.invalidations();
+        cache.warm(List.of(load(1L), load(2L)), before);
+        assertThat(cache.get(1L, this::load).details().name()).isEqualTo("P1");
+
+        long stale = cache.invalidations();
+        ProductDetailsCache.Entry readBeforeCommit = load(3L);
+        cache.onProductChanged(ProductChangedEvent.deleted(4L));
+        cache.warm(List.of(readBeforeCommit), stale);
+
+        loads.set(0);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("métricas: cada carga entra em cache.load.latency com percentis")
+    void metrics_recordLoadLatency() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        var latency = meterRegistry.get(CacheStatsCounter.LOAD_LATENCY).tag("cache", "product-details").timer();
+        assertThat(latency.count()).isEqualTo(2);
+        assertThat(latency.takeSnapshot().percentileValues()).hasSize(3);
+    }
+}
@@ -0,0 +1,98 @@
+package com.restful.dscatalog.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restful.dscatalog.config.JacksonConfig;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductFragmentSerializerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductFragmentCache cache =
+            new ProductFragmentCache(new CategoryProductIndex(), meterRegistry, DataSize.ofMegabytes(1));
+
+    private final ObjectMapper plain = mapper();
+    private final ObjectMapper withFragments = mapper().registerModule(JacksonConfig.productFragmentModule(cache));
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setFilterProvider(FieldSelection.ALL.filters());
+    }
+
+    private static ProductDetailsDTO product(long id, String name) {
+        return new ProductDetailsDTO(
+                id, name, "Descrição \"com aspas\" e acentuação", new BigDecimal("199.90"), null,
+                LocalDateTime.of(2024, 1, 10, 10, 0), new LinkedHashSet<>(List.of("Games", "Informática"))
+        );
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", ProductFragmentCache.NAME).tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("listas montadas com fragmentos produzem o mesmo JSON que a serialização normal")
+    void fragments_produceSameJsonAsPlainSerialization() throws Exception {
+        var page = Map.of("content", List.of(product(1L, "Mouse"), product(2L, "Teclado")));
+
+        String first = withFragments.writeValueAsString(page);
+        String second = withFragments.writeValueAsString(page);
+
+        assertThat(first).isEqualTo(plain.writeValueAsString(page));
+        assertThat(second).isEqualTo(first);
+        assertThat(hits()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("DTO diferente do que gerou o fragmento é reserializado, mesmo sem invalidação")
+    void changedProduct_isReserialized() throws Exception {
+        withFragments.writeValueAsString(product(1L, "Mouse"));
+
+        String renamed = withFragments.writeValueAsString(product(1L, "Mouse Gamer"));
+
+        assertThat(renamed).contains("\"name\":\"Mouse Gamer\"");
+    }
+
+    @Test
+    @DisplayName("com ?fields= o fragmento não é usado e o filtro recorta os campos")
+    void sparseFields_bypassFragments() throws Exception {
+        withFragments.writeValueAsString(product(1L, "Mouse"));
+
+        String sparse = withFragments.writer(new FieldSelection(Set.of("id", "name")).filters())
+                .writeValueAsString(product(1L, "Mouse"));
+
+        assertThat(sparse).isEqualTo("{\"id\":1,\"name\":\"Mouse\"}");
+        assertThat(hits()).isZero();
+    }
+
+    @Test
+    @DisplayName("onProductChanged: remove o fragmento do produto")
+    void onProductChanged_evictsFragment() throws Exception {
+        withFragments.writeValueAsString(product(1L, "Mouse"));
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        withFragments.writeValueAsString(product(1L, "Mouse"));
+
+        assertThat(hits()).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductIdFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ProductIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ProductIdFilter(meterRegistry, 1_000, 0.01, Duration.ofMinutes(1), 1_000);
+    }
+
+    private Optional<String> load(Long id) {
+        loads.incrementAndGet();
+        return id <= 100 ? Optional.of("P" + id) : Optional.empty();
+    }
+
+    private double rejections(String reason) {
+        var counter = meterRegistry.find(ProductIdFilter.REJECTIONS).tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static ProductChangedEvent saved(long id) {
+        return new ProductChangedEvent(
+                id,
+                new ProductDetailsDTO(id, "P" + id, "desc", BigDecimal.ONE, null, LocalDateTime.now(), Set.of()),
+                Set.of()
+        );
+    }
+
+    @Test
+    @DisplayName("find: antes do rebuild tudo vai ao loader")
+    void find_beforeRebuild_passesThrough() {
+        assertThat(filter.find(5_000L, this::load)).isEmpty();
+        assertThat(loads).hasValue(1);
+        assertThat(rejections("bloom")).isZero();
+    }
+
+    @Test
+    @DisplayName("find: id fora do Bloom é 404 sem loader; ids existentes sempre passam")
+    void find_rejectsUnknownIds_withoutLoading() {
+        filter.rebuild(ids -> LongStream.rangeClosed(1, 100).forEach(ids));
+
+        for (long id = 1; id <= 100; id++) assertThat(filter.find(id, this::load)).contains("P" + id);
+        assertThat(loads).hasValue(100);
+
+        loads.set(0);
+        for (long id = 10_001; id <= 20_000; id++) filter.find(id, this::load);
+
+        assertThat(rejections("bloom")).isGreaterThan(9_800);
+        assertThat(loads.get()).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("find: falta que passou pelo Bloom fica no cache negativo")
+    void find_cachesMisses() {
+        filter.rebuild(ids -> LongStream.rangeClosed(1, 100).forEach(ids));
+        filter.onProductChanged(ProductChangedEvent.deleted(50L));
+
+        assertThat(filter.find(50L, id -> Optional.empty())).isEmpty();
+        assertThat(filter.find(50L, id -> {
+            throw new AssertionError("não deveria consultar");
+        })).isEmpty();
+        assertThat(rejections("negative")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onProductChanged: produto criado entra no Bloom e sai do cache negativo")
+    void onProductChanged_admitsNewIds() {
+        filter.rebuild(ids -> LongStream.rangeClosed(1, 100).forEach(ids));
+        filter.find(7L, id -> Optional.empty());
+
+        filter.onProductChanged(saved(7L));
+        filter.onProductChanged(saved(5_000L));
+
+        assertThat(filter.find(7L, id -> Optional.of("novo"))).contains("novo");
+        assertThat(filter.find(5_000L, id -> Optional.of("novo"))).contains("novo");
+    }
+
+    @Test
+    @DisplayName("find: falta lida enquanto um produto é salvo não é lembrada")
+    void find_doesNotCacheMiss_whenSaveRacesWithLoad() {
+        filter.rebuild(ids -> LongStream.rangeClosed(1, 100).forEach(ids));
+
+        filter.find(60L, id -> {
+            filter.onProductChanged(saved(60L));
+            return Optional.empty();
+        });
+
+        assertThat(filter.find(60L, id -> Optional.of("visível"))).contains("visível");
+    }
+
+    @Test
+    @DisplayName("rebuild: ids salvos durante a leitura entram no filtro novo")
+    void rebuild_keepsIdsSavedDuringRebuild() {
+        filter.rebuild(ids -> {
+            LongStream.rangeClosed(1, 10).forEach(ids);
+            filter.onProductChanged(saved(9_999L));
+        });
+
+        assertThat(filter.find(9_999L, id -> Optional.of("ok"))).contains("ok");
+    }
+
+    @Test
+    @DisplayName("métricas: tamanho, ids e fpp estimada dentro do configurado")
+    void metrics_reportFootprintAndFpp() {
+        filter.rebuild(ids -> LongStream.rangeClosed(1, 1_000).forEach(ids));
+
+        assertThat(meterRegistry.get("product-id-filter.ids").gauge().value()).isEqualTo(1_000);
+        assertThat(meterRegistry.get("product-id-filter.size").gauge().value()).isBetween(1_000.0, 4_000.0);
+        assertThat(meterRegistry.get("product-id-filter.fpp").gauge().value()).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("BloomFilter: taxa medida de falsos positivos perto da configurada")
+    void bloomFilter_measuredFpp_isCloseToConfigured() {
+        BloomFilter bloom = BloomFilter.create(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) bloom.add(id);
+
+        long falsePositives = LongStream.rangeClosed(1_000_001, 1_100_000).filter(bloom::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(bloom.hashes()).isEqualTo(7);
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1.0));
+    }
+}
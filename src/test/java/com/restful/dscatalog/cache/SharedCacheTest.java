@@ -0,0 +1,196 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.event.ProductChangedEvent;
+import com.restful.dscatalog.projections.ResourceVersion;
+import com.restful.dscatalog.search.CategoryIndexer;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import com.restful.dscatalog.search.ProductIndexer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/* Dois "nós" (SharedCache + ProductDetailsCache + CacheInvalidationBus) sobre um Redis embutido. */
+class SharedCacheTest {
+
+    private final List<SharedCache> sharedCaches = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Cache hibernateCache = mock(Cache.class);
+
+    private int port;
+    private RedisServer redisServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sharedCaches.forEach(SharedCache::destroy);
+        if (redisServer.isActive()) redisServer.stop();
+    }
+
+    private SharedCache node(SimpleMeterRegistry meterRegistry) {
+        SharedCache sharedCache = new SharedCache(
+                meterRegistry, true, "redis://localhost:" + port, Duration.ofMillis(300), Duration.ofMillis(200));
+        sharedCaches.add(sharedCache);
+        return sharedCache;
+    }
+
+    private ProductDetailsCache detailsCache(SharedCache sharedCache) {
+        return new ProductDetailsCache(
+                new CategoryProductIndex(), sharedCache, new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(10), Duration.ofMinutes(5));
+    }
+
+    private CacheInvalidationBus bus(SharedCache sharedCache, ProductDetailsCache detailsCache, CatalogVersion catalogVersion) {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        /* Como no Spring, fora de transação o evento republicado chega também ao próprio bus (fallbackExecution). */
+        AtomicReference<CacheInvalidationBus> bus = new AtomicReference<>();
+        bus.set(new CacheInvalidationBus(
+                sharedCache,
+                event -> {
+                    if (event instanceof ProductChangedEvent productChanged) {
+                        detailsCache.onProductChanged(productChanged);
+                        catalogVersion.onProductChanged(productChanged);
+                        bus.get().onProductChanged(productChanged);
+                    }
+                },
+                entityManagerFactory, catalogVersion, detailsCache,
+                mock(CategoryIndexer.class), mock(ProductIndexer.class), new SimpleMeterRegistry()));
+        return bus.get();
+    }
+
+    private ProductDetailsCache.Entry load(Long id) {
+        loads.incrementAndGet();
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        return new ProductDetailsCache.Entry(
+                new ProductDetailsDTO(id, "P" + id + "-v" + loads.get(), "desc", new BigDecimal("10.50"), null,
+                        updatedAt, Set.of("Games", "Eletrônicos")),
+                new ResourceVersion((long) loads.get(), updatedAt, 2L, updatedAt.plusDays(1)));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) Thread.sleep(10);
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("L2: o que um nó carregou do banco o outro lê do cache compartilhado")
+    void productDetails_secondNodeReadsFromSharedCache() {
+        ProductDetailsCache nodeA = detailsCache(node(new SimpleMeterRegistry()));
+        ProductDetailsCache nodeB = detailsCache(node(new SimpleMeterRegistry()));
+
+        ProductDetailsCache.Entry loaded = nodeA.get(1L, this::load);
+        ProductDetailsCache.Entry shared = nodeB.get(1L, this::load);
+
+        assertThat(shared).isEqualTo(loaded);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("L2: valor carregado antes de uma invalidação não é gravado depois do DEL")
+    void productDetails_staleLoadIsNotStored_afterInvalidation() {
+        ProductDetailsCache nodeA = detailsCache(node(new SimpleMeterRegistry()));
+        ProductDetailsCache nodeB = detailsCache(node(new SimpleMeterRegistry()));
+
+        nodeA.get(1L, id -> {
+            ProductDetailsCache.Entry readBeforeCommit = load(id);
+            nodeB.onProductChanged(ProductChangedEvent.deleted(id));
+            return readBeforeCommit;
+        });
+
+        assertThat(nodeB.get(1L, this::load).details().name()).isEqualTo("P1-v2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("invalidação: escrita num nó descarta L1 e L2 no outro, e a mensagem não volta")
+    void invalidation_reachesOtherNodes() throws InterruptedException {
+        SharedCache sharedA = node(new SimpleMeterRegistry());
+        SharedCache sharedB = node(new SimpleMeterRegistry());
+        ProductDetailsCache nodeA = detailsCache(sharedA);
+        ProductDetailsCache nodeB = detailsCache(sharedB);
+        CatalogVersion versionA = new CatalogVersion();
+        CatalogVersion versionB = new CatalogVersion();
+        CacheInvalidationBus busA = bus(sharedA, nodeA, versionA);
+        bus(sharedB, nodeB, versionB);
+
+        nodeA.get(1L, this::load);
+        nodeB.get(1L, this::load);
+
+        ProductChangedEvent deleted = ProductChangedEvent.deleted(1L);
+        nodeA.onProductChanged(deleted);
+        busA.onProductChanged(deleted);
+
+        await(() -> versionB.current() == 1);
+        verify(hibernateCache).evictCollectionData("com.restful.dscatalog.entity.Product.categories", 1L);
+        assertThat(nodeB.get(1L, this::load).details().name()).isEqualTo("P1-v2");
+        assertThat(versionA.current()).isZero();
+    }
+
+    @Test
+    @DisplayName("queda do servidor: segue só com o L1, sem travar, e volta sozinho depois")
+    void serverDown_fallsBackToL1_andRecovers() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SharedCache sharedCache = node(meterRegistry);
+        ProductDetailsCache details = detailsCache(sharedCache);
+        AtomicInteger resyncs = new AtomicInteger();
+        sharedCache.subscribe("canal", String.class, message -> {
+        });
+        sharedCache.onResubscribe(resyncs::incrementAndGet);
+        details.get(1L, this::load);
+        assertThat(sharedCache.isAvailable()).isTrue();
+
+        redisServer.stop();
+        long start = System.nanoTime();
+        details.onProductChanged(ProductChangedEvent.deleted(1L));
+        assertThat(details.get(1L, this::load)).isNotNull();
+        assertThat(details.get(2L, this::load)).isNotNull();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(loads).hasValue(3);
+        assertThat(sharedCache.isAvailable()).isFalse();
+        assertThat(meterRegistry.get(SharedCache.ERRORS).counters()).isNotEmpty();
+
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        await(() -> {
+            details.invalidateAll();
+            details.get(3L, this::load);
+            return sharedCache.isAvailable() && resyncs.get() == 1;
+        });
+    }
+}
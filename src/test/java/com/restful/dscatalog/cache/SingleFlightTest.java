@@ -0,0 +1,180 @@
+package com.restful.dscatalog.cache;
+
+import com.restful.dscatalog.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double loads(String outcome) {
+        var counter = meterRegistry.find(SingleFlight.LOADS).tags("group", "g", "outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /* Dispara CALLERS chamadas da mesma chave enquanto o líder está preso no latch. */
+    private List<Future<String>> concurrentLoads(SingleFlight singleFlight, CountDownLatch release) throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.load("g", 1L, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "v" + loads.get();
+        })));
+        assertThat(leaderStarted.await(5, SECONDS)).isTrue();
+
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.load("g", 1L, () -> "v" + loads.incrementAndGet())));
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, SECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Espera os seguidores estarem bloqueados na carga do líder (threads ativas no pool). */
+    private void awaitFollowers(int followers) throws InterruptedException {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        for (int i = 0; i < 500 && pool.getActiveCount() < followers + 1; i++) Thread.sleep(10);
+        Thread.sleep(50);
+    }
+
+    @Test
+    @DisplayName("load: chamadas simultâneas da mesma chave dividem uma única carga")
+    void load_collapsesConcurrentCalls() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, Duration.ofSeconds(5), Map.of());
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrentLoads(singleFlight, release);
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) assertThat(result.get(5, SECONDS)).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+        assertThat(loads("leader")).isEqualTo(1);
+        assertThat(loads("collapsed")).isEqualTo(CALLERS - 1);
+        assertThat(meterRegistry.get("single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("load: terminada a carga, a próxima chamada carrega de novo (nada fica guardado)")
+    void load_doesNotCacheAfterCompletion() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, Duration.ofSeconds(5), Map.of());
+
+        singleFlight.load("g", 1L, loads::incrementAndGet);
+        singleFlight.load("g", 1L, loads::incrementAndGet);
+        singleFlight.load("g", 2L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(3);
+        assertThat(loads("leader")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("load: seguidor que passa de max-wait carrega sozinho")
+    void load_followerTimesOut_andLoadsItself() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, Duration.ofMillis(20), Map.of());
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrentLoads(singleFlight, release);
+        for (Future<String> follower : results.subList(1, results.size())) {
+            assertThat(follower.get(5, SECONDS)).startsWith("v");
+        }
+        release.countDown();
+        results.getFirst().get(5, SECONDS);
+
+        assertThat(loads).hasValue(CALLERS);
+        assertThat(loads("timeout")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("load: max-wait do grupo e o de quem chama substituem o global")
+    void load_usesGroupAndCallerMaxWait() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, Duration.ofSeconds(5), Map.of("g", Duration.ofMillis(20)));
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = concurrentLoads(singleFlight, release);
+        for (Future<String> follower : results.subList(1, results.size())) {
+            assertThat(follower.get(5, SECONDS)).startsWith("v");
+        }
+        assertThat(loads("timeout")).isEqualTo(CALLERS - 1);
+
+        Future<String> patient = executor.submit(
+                () -> singleFlight.load("g", 1L, Duration.ofSeconds(5), () -> "v" + loads.incrementAndGet()));
+        awaitFollowers(1);
+        release.countDown();
+
+        assertThat(results.getFirst().get(5, SECONDS)).isEqualTo("v" + CALLERS);
+        assertThat(patient.get(5, SECONDS)).isEqualTo("v" + CALLERS);
+        assertThat(loads("collapsed")).isEqualTo(1);
+        assertThat(loads).hasValue(CALLERS);
+    }
+
+    @Test
+    @DisplayName("load: exceção do líder chega a todos os seguidores")
+    void load_propagatesLeaderFailure() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, true, Duration.ofSeconds(5), Map.of());
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> singleFlight.load("g", 1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new ResourceNotFoundException("Product not found: 1");
+        }));
+        assertThat(leaderStarted.await(5, SECONDS)).isTrue();
+        Future<Object> follower = executor.submit(() -> singleFlight.load("g", 1L, () -> "nunca"));
+        awaitFollowers(1);
+        release.countDown();
+
+        var failure = assertThrows(ExecutionException.class, () -> follower.get(5, SECONDS));
+        assertThat(failure.getCause()).isInstanceOf(ResourceNotFoundException.class);
+        assertThrows(ExecutionException.class, () -> leader.get(5, SECONDS));
+        assertThat(meterRegistry.get("single-flight.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("load: desligado, cada chamada carrega por conta própria")
+    void load_disabled_callsLoaderEveryTime() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, false, Duration.ofSeconds(5), Map.of());
+
+        singleFlight.load("g", 1L, loads::incrementAndGet);
+        singleFlight.load("g", 1L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.find(SingleFlight.LOADS).counters()).isEmpty();
+    }
+}
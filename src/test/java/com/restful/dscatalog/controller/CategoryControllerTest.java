@@ -1,6 +1,7 @@
 package com.restful.dscatalog.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.dscatalog.cache.CatalogVersion;
 import com.restful.dscatalog.dto.category.CategoryDetailsDTO;
 import com.restful.dscatalog.dto.category.CategoryPostDTO;
 import com.restful.dscatalog.entity.Category;
@@ -46,11 +47,15 @@ class CategoryControllerTest {
     @MockitoBean
     private CategoryService categoryService;
 
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
     private String baseUrl;
 
     @BeforeEach
     void setup() {
         this.baseUrl = "/api/v1/categories";
+        given(catalogVersion.eTag()).willReturn("W/\"e-7\"");
     }
 
     private static Category withId(Category category, long id) {
@@ -66,6 +71,34 @@ class CategoryControllerTest {
         return objectMapper.writeValueAsString(obj);
     }
 
+    @Test
+    @DisplayName("GET /api/v1/categories/{id} com If-None-Match da versão -> 304")
+    void getById_notModified() throws Exception {
+        Category category = withId(newCategory("Eletrônicos"), 10L);
+        ReflectionTestUtils.setField(category, "version", 2L);
+        given(categoryService.findById(10L)).willReturn(category);
+
+        mockMvc.perform(get(baseUrl + "/{id}", 10L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+
+        mockMvc.perform(get(baseUrl + "/{id}", 10L).header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get(baseUrl + "/{id}", 10L).header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/categories com If-None-Match da versão do catálogo -> 304 sem consultar o serviço")
+    void getAll_notModified_skipsService() throws Exception {
+        mockMvc.perform(get(baseUrl).header("If-None-Match", "W/\"e-7\""))
+                .andExpect(status().isNotModified());
+
+        verify(categoryService, never()).listAll(any(), any());
+    }
+
     @Test
     @DisplayName("GET /api/v1/categories/{id} -> 200 e corpo com id e name")
     void getById_ok() throws Exception {
@@ -84,7 +117,7 @@ class CategoryControllerTest {
     void getAll_ok_withPaginationHeaders() throws Exception {
         var categoryDetailsDTO = new CategoryDetailsDTO(1L, "Informática");
         var page = new PageImpl<>(List.of(categoryDetailsDTO), PageRequest.of(0, 5), 1);
-        given(categoryService.listAll(any(Pageable.class))).willReturn(page);
+        given(categoryService.listAll(any(Pageable.class), any())).willReturn(page);
 
         mockMvc.perform(get(baseUrl)
                         .param("page", "0")
@@ -1,9 +1,14 @@
 package com.restful.dscatalog.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.dscatalog.cache.CatalogVersion;
 import com.restful.dscatalog.dto.product.ProductDetailsDTO;
 import com.restful.dscatalog.dto.product.ProductPostDTO;
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.projections.ResourceVersion;
+import com.restful.dscatalog.service.ProductImportService;
+import com.restful.dscatalog.service.ProductPatchService;
+import com.restful.dscatalog.service.ProductRepricingService;
 import com.restful.dscatalog.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -44,6 +49,18 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductPatchService productPatchService;
+
+    @MockitoBean
+    private ProductRepricingService productRepricingService;
+
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
     private String baseUrl;
     private LocalDateTime now;
 
@@ -51,6 +68,8 @@ class ProductControllerTest {
     void setup() {
         this.baseUrl = "/api/v1/products";
         this.now = LocalDateTime.of(2025, 10, 15, 15, 15, 15);
+        given(productService.findVersion(anyLong())).willReturn(new ResourceVersion(3L, now));
+        given(catalogVersion.eTag()).willReturn("W/\"e-7\"");
     }
 
     private static Product withId(Product product, long id) {
@@ -75,7 +94,7 @@ class ProductControllerTest {
     @DisplayName("GET /api/v1/products/{id} -> 200 e corpo com id e name")
     void getById_returnsOk() throws Exception {
         Product product = withId(newProduct("Notebook", 5499.90), 1L);
-        given(productService.findById(1L)).willReturn(product);
+        given(productService.findDetailsById(1L)).willReturn(new ProductDetailsDTO(product));
 
         mockMvc.perform(get(baseUrl + "/{id}", 1L))
                 .andExpect(status().isOk())
@@ -83,6 +102,49 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.name", is("Notebook")));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/products/{id} -> ETag da versão e Last-Modified de updatedAt")
+    void getById_returnsValidators() throws Exception {
+        Product product = withId(newProduct("Notebook", 5499.90), 1L);
+        given(productService.findDetailsById(1L)).willReturn(new ProductDetailsDTO(product));
+
+        mockMvc.perform(get(baseUrl + "/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products/{id} com If-None-Match igual -> 304 sem montar o DTO")
+    void getById_notModified_skipsDetails() throws Exception {
+        mockMvc.perform(get(baseUrl + "/{id}", 1L).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).findDetailsById(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products/{id} com If-Modified-Since >= updatedAt -> 304")
+    void getById_notModifiedSince_skipsDetails() throws Exception {
+        long lastModified = new ResourceVersion(3L, now).lastModified();
+
+        mockMvc.perform(get(baseUrl + "/{id}", 1L).header("If-Modified-Since", lastModified + 1000))
+                .andExpect(status().isNotModified());
+
+        verify(productService, never()).findDetailsById(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products com If-None-Match da versão do catálogo -> 304 sem consultar o serviço")
+    void getAll_notModified_skipsService() throws Exception {
+        mockMvc.perform(get(baseUrl).header("If-None-Match", "W/\"e-7\""))
+                .andExpect(status().isNotModified());
+
+        verify(productService, never()).listAll(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("GET /api/v1/products -> 200, paginação em headers e conteúdo em DTO")
     void getAll_returnsOkWithHeaders() throws Exception {
@@ -93,7 +155,7 @@ class ProductControllerTest {
                 PageRequest.of(0, 5),
                 1
         );
-        given(productService.listAll(any())).willReturn(page);
+        given(productService.listAll(any(), any(), any(), any())).willReturn(page);
 
         mockMvc.perform(get(baseUrl))
                 .andExpect(status().isOk())
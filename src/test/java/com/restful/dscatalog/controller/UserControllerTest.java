@@ -1,9 +1,12 @@
 package com.restful.dscatalog.controller;
 
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.role.RoleDTO;
 import com.restful.dscatalog.dto.user.UserDTO;
 import com.restful.dscatalog.dto.user.UserInsertDTO;
 import com.restful.dscatalog.dto.user.UserUpdateDTO;
+import com.restful.dscatalog.projections.ResourceVersion;
 import com.restful.dscatalog.service.UserService;
 import com.restful.dscatalog.util.TestSecurityConfig;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,17 +61,29 @@ class UserControllerTest {
     @BeforeEach
     void setup() {
         this.baseUrl = "/api/v1/users";
+        given(userService.findVersion(any())).willReturn(new ResourceVersion(4L, null));
     }
 
     private static UserDTO userDto(long id, String firstName, String lastName, String email) {
         return new UserDTO(id, firstName, lastName, email);
     }
 
+    @Test
+    @DisplayName("GET /api/v1/users/{id} com If-None-Match da versão -> 304 sem carregar o usuário")
+    void findById_notModified() throws Exception {
+        mockMvc.perform(get(baseUrl + "/{id}", 10L).header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        verify(userService, never()).findById(any(), any());
+    }
+
     @Test
     @DisplayName("GET /api/v1/users/{id} -> 200 e corpo com id, firstName, lastName e email")
     void findById_ok() throws Exception {
         var dto = userDto(10L, "Alice", "Silva", "alice@example.com");
-        given(userService.findById(10L)).willReturn(dto);
+        given(userService.findById(eq(10L), any())).willReturn(dto);
 
         mockMvc.perform(get(baseUrl + "/{id}", 10L))
                 .andExpect(status().isOk())
@@ -76,7 +91,31 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.id").value(10L))
                 .andExpect(jsonPath("$.firstName").value("Alice"))
                 .andExpect(jsonPath("$.lastName").value("Silva"))
-                .andExpect(jsonPath("$.email").value("alice@example.com"));
+                .andExpect(jsonPath("$.email").value("alice@example.com"))
+                .andExpect(jsonPath("$.roles").exists());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/users/{id}?fields=id,email -> só os campos pedidos no JSON")
+    void findById_sparseFields() throws Exception {
+        var dto = userDto(10L, "Alice", "Silva", "alice@example.com");
+        given(userService.findById(eq(10L), eq(FieldSelection.parse("id,email")))).willReturn(dto);
+
+        mockMvc.perform(get(baseUrl + "/{id}", 10L).param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(10L))
+                .andExpect(jsonPath("$.email").value("alice@example.com"))
+                .andExpect(jsonPath("$.firstName").doesNotExist())
+                .andExpect(jsonPath("$.roles").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/users/{id}?fields=password -> 400 para campo desconhecido")
+    void findById_unknownField_badRequest() throws Exception {
+        mockMvc.perform(get(baseUrl + "/{id}", 10L).param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).findById(any(), any());
     }
 
     @Test
@@ -85,7 +124,7 @@ class UserControllerTest {
         var user1 = userDto(1L, "Alice", "Silva", "alice@example.com");
         var user2 = userDto(2L, "Bob", "Souza", "bob@example.com");
         var page = new PageImpl<>(List.of(user1, user2), PageRequest.of(0, 5), 2);
-        given(userService.findAllPaged(any(Pageable.class))).willReturn(page);
+        given(userService.findAllPaged(any(Pageable.class), any(), any())).willReturn(page);
 
         mockMvc.perform(get(baseUrl)
                         .param("page", "0")
@@ -107,7 +146,7 @@ class UserControllerTest {
     @DisplayName("GET /api/v1/users -> 200 com metadados de paginação (number, size, totalElements, totalPages)")
     void getAll_ok_paged_metadata() throws Exception {
         Page<UserDTO> page = new PageImpl<>(List.of(), PageRequest.of(2, 50), 0);
-        given(userService.findAllPaged(any(Pageable.class))).willReturn(page);
+        given(userService.findAllPaged(any(Pageable.class), any(), any())).willReturn(page);
 
         mockMvc.perform(get(baseUrl)
                         .param("page", "2")
@@ -195,7 +234,7 @@ class UserControllerTest {
     @Test
     @DisplayName("GET /api/v1/users/{id} -> 404 quando não encontrado")
     void findById_notFound() throws Exception {
-        given(userService.findById(999L)).willThrow(new ResponseStatusException(NOT_FOUND, "User 999"));
+        given(userService.findById(eq(999L), any())).willThrow(new ResponseStatusException(NOT_FOUND, "User 999"));
         mockMvc.perform(get(baseUrl + "/{id}", 999L))
                 .andExpect(status().isNotFound());
     }
@@ -287,7 +326,7 @@ class UserControllerTest {
     void getAll_capturesPageable() throws Exception {
         Page<UserDTO> page = new PageImpl<>(List.of(), PageRequest.of(2, 50), 0);
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        given(userService.findAllPaged(any(Pageable.class))).willReturn(page);
+        given(userService.findAllPaged(any(Pageable.class), any(), any())).willReturn(page);
 
         mockMvc.perform(get(baseUrl)
                         .param("page", "2")
@@ -295,7 +334,7 @@ class UserControllerTest {
                         .param("sort", "lastName,asc"))
                 .andExpect(status().isOk());
 
-        verify(userService).findAllPaged(captor.capture());
+        verify(userService).findAllPaged(captor.capture(), eq(CountMode.EXACT), any());
         Pageable p = captor.getValue();
         assertNotNull(p);
         assertEquals(2, p.getPageNumber());
@@ -307,7 +346,7 @@ class UserControllerTest {
     @Test
     @DisplayName("GET /api/v1/users -> Pageable default quando sem parâmetros")
     void getAll_defaultPageable() throws Exception {
-        given(userService.findAllPaged(any(Pageable.class)))
+        given(userService.findAllPaged(any(Pageable.class), any(), any()))
                 .willReturn(new PageImpl<>(List.of()));
 
         mockMvc.perform(get(baseUrl))
@@ -331,7 +370,7 @@ class UserControllerTest {
     void findById_containsRolesArray() throws Exception {
         var dto = userDto(10L, "Alice", "Silva", "alice@example.com");
         dto.getRoles().add(new RoleDTO(1L, "ROLE_ADMIN"));
-        given(userService.findById(10L)).willReturn(dto);
+        given(userService.findById(eq(10L), any())).willReturn(dto);
 
         mockMvc.perform(get(baseUrl + "/{id}", 10L))
                 .andExpect(status().isOk())
@@ -364,7 +403,7 @@ class UserControllerTest {
     @DisplayName("GET /users/{id} -> 200 usando alias de rota")
     void findById_ok_viaAlias() throws Exception {
         var dto = userDto(5L, "Ana", "Costa", "ana@example.com");
-        given(userService.findById(5L)).willReturn(dto);
+        given(userService.findById(eq(5L), any())).willReturn(dto);
 
         mockMvc.perform(get("/users/{id}", 5L))
                 .andExpect(status().isOk())
@@ -398,7 +437,7 @@ class UserControllerTest {
     @Test
     @DisplayName("GET /api/v1/users -> 406 quando Accept não suportado")
     void getAll_notAcceptable() throws Exception {
-        given(userService.findAllPaged(any(Pageable.class)))
+        given(userService.findAllPaged(any(Pageable.class), any(), any()))
                 .willReturn(new PageImpl<>(List.of()));
 
         mockMvc.perform(get(baseUrl)
@@ -1,23 +1,43 @@
 package com.restful.dscatalog.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.cache.ProductDetailsCache;
+import com.restful.dscatalog.cache.ProductFragmentCache;
+import com.restful.dscatalog.search.CategoryIndexer;
+import com.restful.dscatalog.search.ProductIndexer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority; // necessário para authorities do jwt
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt; // postprocessor de JWT para MockMvc
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,12 +58,43 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 )
 class ProductControllerIntegrationTest {
 
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryIndexer categoryIndexer;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ProductIndexer productIndexer;
+
+    @Autowired
+    private ProductDetailsCache productDetailsCache;
+
+    @Autowired
+    private ProductFragmentCache productFragmentCache;
+
+    /* Os scripts @Sql escrevem direto no banco: caches e dicionário de categorias não ficam sabendo. */
+    @BeforeEach
+    void resyncCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        productDetailsCache.invalidateAll();
+        productFragmentCache.evictAll();
+        categoryIndexer.rebuild();
+        productIndexer.rebuild();
+        catalogVersion.bump();
+    }
+
     @Test
     @DisplayName("GET /api/v1/products/{id} deve retornar 200 e o produto")
     void getById_ok() throws Exception {
@@ -54,6 +105,27 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.categories", hasSize(greaterThanOrEqualTo(1))));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/products/{id}: renomear uma categoria do produto muda o ETag")
+    void getById_eTagChanges_whenCategoryIsRenamed() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(ETAG);
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/v1/categories/{id}", 1L)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"name\": \"Eletrônica\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ETAG, not(eTag)))
+                .andExpect(jsonPath("$.categories", hasItem("Eletrônica")));
+    }
+
     @Test
     @DisplayName("GET /api/v1/products com paginação deve retornar 200 + headers de paginação")
     void findAll_withPaginationHeaders_ok() throws Exception {
@@ -71,6 +143,116 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(1)));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/products?after= deve paginar por cursor e emitir Link rel=next")
+    void findAll_withCursor_ok() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/products")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "price,desc")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Page-Size", "2"))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].name").value("Smartphone XYZ"))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/products")
+                        .param("after", nextCursor)
+                        .param("size", "2")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Travesseiro Ortopédico"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(header().string("Link", not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products?after= deve limitar size ao max-page-size da paginação por offset")
+    void findAll_withCursor_capsSize() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                        .param("after", "")
+                        .param("size", "100000000")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Page-Size", "2000"))
+                .andExpect(jsonPath("$.content", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products?after= com cursor inválido deve retornar 400")
+    void findAll_withInvalidCursor_badRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                        .param("after", "%%%")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products/export deve transmitir uma linha NDJSON por produto")
+    void export_streamsNdjson_ok() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/products/export").with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(asyncResult.getRequest().getAsyncContext().getTimeout()).isEqualTo(MINUTES.toMillis(10));
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(UTF_8);
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.getFirst()).get("name").asText()).isEqualTo("Smartphone XYZ");
+        assertThat(objectMapper.readTree(lines.getFirst()).get("categories").isArray()).isTrue();
+    }
+
+    @Test
+    @DisplayName("fragmentos em cache só nas listagens: item único e export NDJSON usam a serialização normal")
+    void fragmentCache_isUsedOnlyByListResponses() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Smartphone XYZ"));
+        MvcResult export = mockMvc.perform(get("/api/v1/products/export").with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+
+        assertThat(productFragmentCache.caffeine().estimatedSize()).isZero();
+
+        mockMvc.perform(get("/api/v1/products").param("size", "10").with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].categories").isArray());
+
+        assertThat(productFragmentCache.caffeine().estimatedSize()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products/export com Accept-Encoding gzip deve compactar a resposta")
+    void export_gzip_ok() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/products/export")
+                        .header(ACCEPT_ENCODING, "gzip")
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), UTF_8).lines()).hasSize(3);
+        }
+    }
+
     @Test
     @DisplayName("POST /api/v1/products/by-names deve criar (201), retornar Location e o corpo")
     void createByNames_created() throws Exception {
@@ -113,6 +295,147 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("PC Gamer Atualizado"));
     }
 
+    @Test
+    @DisplayName("PATCH /api/v1/products/{id} (merge patch) altera só os campos enviados; null remove")
+    void patch_ok() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/{id}", 1L)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MERGE_PATCH)
+                        .content("""
+                                {"price": 2100.0, "imgUrl": null, "categoryIds": []}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Smartphone XYZ"))
+                .andExpect(jsonPath("$.price").value(2100.0))
+                .andExpect(jsonPath("$.imgUrl").doesNotExist())
+                .andExpect(jsonPath("$.categories", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/products/{id} deve retornar 400 ao remover campo obrigatório ou enviar campo desconhecido")
+    void patch_invalid_returns400() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/{id}", 1L)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MERGE_PATCH)
+                        .content("{\"name\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field", containsString("name")));
+
+        mockMvc.perform(patch("/api/v1/products/{id}", 1L)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MERGE_PATCH)
+                        .content("{\"version\": 7}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field", containsString("version")));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/products/bulk aplica um patch por id, ou nenhum se algum id não existir")
+    void patchBulk_isAllOrNothing() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/bulk")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MERGE_PATCH)
+                        .content("""
+                                {"1": {"price": 10.0}, "999999": {"price": 20.0}}
+                                """))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(1999.9));
+
+        mockMvc.perform(patch("/api/v1/products/bulk")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MERGE_PATCH)
+                        .content("""
+                                {"1": {"description": "Tela 6.7 polegadas"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].description").value("Tela 6.7 polegadas"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/products/price-adjustments reajusta os produtos da categoria e descarta o DTO em cache")
+    void priceAdjustment_percent_ok() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()))
+                .andExpect(jsonPath("$.price").value(1999.9));
+
+        mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(APPLICATION_JSON)
+                        .content("""
+                                {"categoryIds": [1], "mode": "PERCENT", "value": 10}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.skipped").value(0))
+                .andExpect(jsonPath("$.done").value(true));
+
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(2199.89));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/products/price-adjustments com Accept NDJSON transmite o progresso; preço <= 0 fica como está")
+    void priceAdjustment_streamsProgress_andSkipsNonPositivePrices() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_NDJSON)
+                        .content("""
+                                {"categoryIds": [1], "mode": "ABSOLUTE", "value": -2000}
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(UTF_8);
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.getFirst()).get("done").asBoolean()).isFalse();
+        assertThat(objectMapper.readTree(lines.getLast()).get("skipped").asInt()).isEqualTo(1);
+        assertThat(objectMapper.readTree(lines.getLast()).get("done").asBoolean()).isTrue();
+
+        mockMvc.perform(get("/api/v1/products/{id}", 1L).with(jwt()))
+                .andExpect(jsonPath("$.price").value(1999.9));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/products/price-adjustments valida o pedido antes de gravar")
+    void priceAdjustment_invalid() throws Exception {
+        mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(APPLICATION_JSON)
+                        .content("""
+                                {"categoryIds": [999999], "mode": "PERCENT", "value": 5}
+                                """))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_NDJSON)
+                        .content("""
+                                {"categoryIds": [1], "mode": "PERCENT", "value": -100}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/products/price-adjustments")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_CLIENT")))
+                        .contentType(APPLICATION_JSON)
+                        .content("""
+                                {"categoryIds": [1], "mode": "PERCENT", "value": 5}
+                                """))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("DELETE /api/v1/products/{id} deve remover (200) e retornar DTO do removido")
     void delete_ok() throws Exception {
@@ -0,0 +1,113 @@
+package com.restful.dscatalog.repository;
+
+import com.restful.dscatalog.entity.CacheRegions;
+import com.restful.dscatalog.entity.Category;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.ANY;
+
+/*
+  Sem a transação do teste: cada chamada ao repositório abre e fecha a sua,
+  que é o cenário em que o cache L2 e o cache de consultas são usados.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryRepositoryCacheTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        categoryRepository.deleteAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("findById: primeira leitura popula o cache L2 e a segunda não vai ao banco")
+    void findById_hitsSecondLevelCache_onSecondRead() {
+        var saved = categoryRepository.save(new Category("Cacheada"));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        stats.clear();
+
+        categoryRepository.findById(saved.getId());
+        var second = categoryRepository.findById(saved.getId());
+
+        assertThat(second).map(Category::getName).contains("Cacheada");
+        var region = stats.getDomainDataRegionStatistics(CacheRegions.CATEGORY);
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getPutCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByNameIgnoreCase: consulta repetida é servida pelo cache de consultas")
+    void findByNameIgnoreCase_hitsQueryCache_onRepeat() {
+        categoryRepository.save(new Category("Repetida"));
+        stats.clear();
+
+        categoryRepository.findByNameIgnoreCase("repetida");
+        var second = categoryRepository.findByNameIgnoreCase("REPETIDA");
+        categoryRepository.findByNameIgnoreCase("repetida");
+
+        assertThat(second).isPresent();
+        var region = stats.getQueryRegionStatistics(CacheRegions.CATEGORY_BY_NAME);
+        assertThat(region.getMissCount()).isEqualTo(2);
+        assertThat(region.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("save: alteração invalida o cache de consultas da tabela")
+    void save_invalidatesQueryCache_whenCategoryChanges() {
+        var saved = categoryRepository.save(new Category("Antiga"));
+        categoryRepository.findByNameIgnoreCase("antiga");
+
+        saved.setName("Nova");
+        categoryRepository.save(saved);
+
+        assertThat(categoryRepository.findByNameIgnoreCase("antiga")).isEmpty();
+        assertThat(categoryRepository.findById(saved.getId())).map(Category::getName).contains("Nova");
+    }
+
+    @Test
+    @DisplayName("findAllByIdCached: com o cache L2 quente, não vai ao banco")
+    void findAllByIdCached_servesFromSecondLevelCache_whenWarm() {
+        var first = categoryRepository.save(new Category("Primeira"));
+        var second = categoryRepository.save(new Category("Segunda"));
+        categoryRepository.findAllByIdCached(List.of(first.getId(), second.getId()));
+        stats.clear();
+
+        var found = categoryRepository.findAllByIdCached(List.of(first.getId(), second.getId()));
+
+        assertThat(found).extracting(Category::getName).containsExactly("Primeira", "Segunda");
+        assertThat(stats.getPrepareStatementCount()).isZero();
+    }
+}
@@ -10,9 +10,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.ANY;
 
@@ -99,4 +101,53 @@ class CategoryRepositoryTest {
 
         assertThrows(ConstraintViolationException.class, () -> testEntityManager.persistAndFlush(dup));
     }
+
+    @Test
+    @DisplayName("insertIgnoringDuplicates: insere os nomes novos em lote e ignora os que já existem")
+    void insertIgnoringDuplicates_insertsNewNames_andSkipsExisting() {
+        var existing = newCategory("Drones");
+        testEntityManager.clear();
+
+        var inserted = categoryRepository.insertIgnoringDuplicates(List.of("Robôs", "Drones", "Câmeras"));
+
+        assertThat(inserted).containsExactlyInAnyOrder("robôs", "câmeras");
+
+        var categories = categoryRepository.findAllByNameKeyIn(List.of("drones", "robôs", "câmeras"));
+        assertThat(categories).extracting(Category::getName).containsExactlyInAnyOrder("Drones", "Robôs", "Câmeras");
+        assertThat(categories).filteredOn(c -> c.getName().equals("Drones"))
+                .extracting(Category::getId).containsExactly(existing.getId());
+        assertThat(categories).allSatisfy(c -> assertThat(c.getCreatedAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("insertIgnoringDuplicates: ignora variações de caixa de um nome existente")
+    void insertIgnoringDuplicates_skipsCaseVariants_ofExistingName() {
+        var existing = newCategory("Games");
+        testEntityManager.clear();
+
+        assertThat(categoryRepository.insertIgnoringDuplicates(List.of("games", " GAMES "))).isEmpty();
+
+        assertThat(categoryRepository.findAllByNameKeyIn(List.of("games")))
+                .extracting(Category::getId, Category::getName)
+                .containsExactly(tuple(existing.getId(), "Games"));
+    }
+
+    @Test
+    @DisplayName("save: rejeita nome que só difere em caixa de uma categoria existente")
+    void save_throwsConstraintViolation_whenNameDiffersOnlyInCase() {
+        newCategory("Livros");
+
+        assertThrows(ConstraintViolationException.class, () -> testEntityManager.persistAndFlush(new Category("LIVROS")));
+    }
+
+    @Test
+    @DisplayName("findAllByIdCached: ignora ids inexistentes")
+    void findAllByIdCached_skipsMissingIds() {
+        var saved = newCategory("Presente");
+        testEntityManager.clear();
+
+        var found = categoryRepository.findAllByIdCached(List.of(saved.getId(), saved.getId() + 10_000L));
+
+        assertThat(found).extracting(Category::getId).containsExactly(saved.getId());
+    }
 }
@@ -2,10 +2,16 @@ package com.restful.dscatalog.repository;
 
 import com.restful.dscatalog.entity.Category;
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.repository.ProductBulkRepository.NewProduct;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -15,8 +21,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.time.LocalDateTime.now;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -144,4 +152,161 @@ class ProductRepositoryTests {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("must not be null");
     }
+
+    @Test
+    @DisplayName("ids pooled-lo: persistir vários produtos agrupa os INSERTs em lotes JDBC")
+    void persist_manyProducts_batchesInserts() {
+        Statistics statistics = testEntityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<Long> ids = IntStream.range(0, 120)
+                .mapToObj(i -> testEntityManager.persist(new Product("Lote " + i, "desc", BigDecimal.TEN, now())).getId())
+                .toList();
+        testEntityManager.flush();
+
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    @DisplayName("insertAll: ids do mesmo gerador das entidades, sem colidir com os persistidos")
+    void insertAll_sharesIdGeneratorWithPersistedProducts() {
+        var games = newCategory("Games em lote");
+        var before = newProduct("Antes do lote", new BigDecimal("10.00"));
+
+        List<Long> ids = productRepository.insertAll(List.of(
+                new NewProduct("Lote A", "desc", new BigDecimal("1.00"), null, now(), Set.of(games.getId())),
+                new NewProduct("Lote B", "desc", new BigDecimal("2.00"), null, now(), Set.of())
+        ));
+        var after = newProduct("Depois do lote", new BigDecimal("20.00"));
+        testEntityManager.clear();
+
+        assertThat(ids).hasSize(2).doesNotContain(before.getId(), after.getId());
+        assertThat(productRepository.findAllWithCategoriesByIdIn(ids))
+                .extracting(Product::getName)
+                .containsExactlyInAnyOrder("Lote A", "Lote B");
+        assertThat(productRepository.findById(ids.getFirst()).orElseThrow().getCategories())
+                .extracting(Category::getName)
+                .containsExactly("Games em lote");
+    }
+
+    @Test
+    @DisplayName("insertAll: nome repetido vira DuplicateKeyException; categoria inexistente, só DataIntegrityViolationException")
+    void insertAll_translatesDuplicateNameAndMissingCategoryDifferently() {
+        newProduct("Já existe", new BigDecimal("10.00"));
+
+        assertThrows(DuplicateKeyException.class, () -> productRepository.insertAll(List.of(
+                new NewProduct("Já existe", "desc", new BigDecimal("1.00"), null, now(), Set.of()))));
+        var missingCategory = assertThrows(DataIntegrityViolationException.class, () -> productRepository.insertAll(List.of(
+                new NewProduct("Sem categoria", "desc", new BigDecimal("1.00"), null, now(), Set.of(999_999L)))));
+        assertThat(missingCategory).isNotInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @DisplayName("save: rejeita name ou price nulos (chaves do cursor)")
+    void save_rejectsNullCursorKeys() {
+        assertThrows(ConstraintViolationException.class, () -> newProduct(null, new BigDecimal("1.00")));
+        testEntityManager.clear();
+        assertThrows(ConstraintViolationException.class, () -> newProduct("Sem preço", null));
+    }
+
+    @Test
+    @DisplayName("@DynamicUpdate: o UPDATE só escreve as colunas alteradas")
+    void update_writesOnlyChangedColumns() {
+        var product = newProduct("Parcial", new BigDecimal("10.00"));
+        testEntityManager.clear();
+
+        var loaded = productRepository.findById(product.getId()).orElseThrow();
+        testEntityManager.getEntityManager()
+                .createNativeQuery("UPDATE tb_product SET description = 'Alterada por fora' WHERE id = :id")
+                .setParameter("id", product.getId())
+                .executeUpdate();
+        loaded.setPrice(new BigDecimal("12.00"));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        var reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reloaded.getPrice()).isEqualByComparingTo("12.00");
+        assertThat(reloaded.getDescription()).isEqualTo("Alterada por fora");
+    }
+
+    @Test
+    @DisplayName("categorias: trocar um elemento do Set atualiza só as linhas afetadas, sem recriar a coleção")
+    void categories_diff_updatesCollectionWithoutRecreating() {
+        var a = newCategory("Diff A");
+        var b = newCategory("Diff B");
+        var c = newCategory("Diff C");
+        var product = newProduct("Com categorias", BigDecimal.ONE, a, b);
+        testEntityManager.clear();
+        Statistics statistics = testEntityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        var loaded = productRepository.findAllWithCategoriesByIdIn(List.of(product.getId())).getFirst();
+        statistics.clear();
+        loaded.getCategories().retainAll(Set.of(b, c));
+        loaded.getCategories().add(testEntityManager.find(Category.class, c.getId()));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        assertThat(statistics.getCollectionUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(statistics.getCollectionRemoveCount()).isZero();
+        assertThat(productRepository.findAllWithCategoriesByIdIn(List.of(product.getId())).getFirst().getCategories())
+                .extracting(Category::getName)
+                .containsExactlyInAnyOrder("Diff B", "Diff C");
+    }
+
+    @Test
+    @DisplayName("reajuste em lote: keyset pelos ids das categorias e UPDATE só nos ids do lote")
+    void findIdsInCategoriesAfter_andAdjustPrices_workInIdChunks() {
+        var reajuste = newCategory("Reajuste");
+        var outra = newCategory("Fora do reajuste");
+        var p1 = newProduct("Reajuste 1", new BigDecimal("10.00"), reajuste);
+        var p2 = newProduct("Reajuste 2", new BigDecimal("20.00"), reajuste, outra);
+        var p3 = newProduct("Reajuste 3", new BigDecimal("30.00"), reajuste);
+        var fora = newProduct("Fora", new BigDecimal("40.00"), outra);
+        testEntityManager.clear();
+
+        List<Long> first = productRepository.findIdsInCategoriesAfter(List.of(reajuste.getId()), 0, 2);
+        List<Long> rest = productRepository.findIdsInCategoriesAfter(List.of(reajuste.getId()), first.getLast(), 2);
+        int updated = productRepository.adjustPrices(
+                List.of(reajuste.getId()), first, new BigDecimal("1.10"), BigDecimal.ZERO);
+        testEntityManager.clear();
+
+        assertThat(first).containsExactly(p1.getId(), p2.getId());
+        assertThat(rest).containsExactly(p3.getId());
+        assertThat(updated).isEqualTo(2);
+        Map<String, Product> byName = productRepository.findAllById(List.of(p1.getId(), p2.getId(), p3.getId(), fora.getId()))
+                .stream()
+                .collect(Collectors.toMap(Product::getName, Function.identity()));
+        assertThat(byName.get("Reajuste 1").getPrice()).isEqualByComparingTo("11.00");
+        assertThat(byName.get("Reajuste 1").getVersion()).isEqualTo(p1.getVersion() + 1);
+        assertThat(byName.get("Reajuste 2").getPrice()).isEqualByComparingTo("22.00");
+        assertThat(byName.get("Reajuste 3").getPrice()).isEqualByComparingTo("30.00");
+        assertThat(byName.get("Fora").getPrice()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("reajuste em lote: produto ligado depois da leitura do lote não é reajustado, mesmo com id dentro da faixa")
+    void adjustPrices_skipsProductsOutsideTheChunk_evenInsideTheIdRange() {
+        var reajuste = newCategory("Reajuste tardio");
+        var p1 = newProduct("Tardio 1", new BigDecimal("10.00"), reajuste);
+        var linkedLater = newProduct("Tardio 2", new BigDecimal("20.00"), reajuste);
+        var p3 = newProduct("Tardio 3", new BigDecimal("30.00"), reajuste);
+        testEntityManager.clear();
+
+        int updated = productRepository.adjustPrices(
+                List.of(reajuste.getId()), List.of(p1.getId(), p3.getId()), BigDecimal.ONE, BigDecimal.TEN);
+        testEntityManager.clear();
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(productRepository.findById(linkedLater.getId()).orElseThrow().getPrice()).isEqualByComparingTo("20.00");
+        assertThat(productRepository.findById(p3.getId()).orElseThrow().getPrice()).isEqualByComparingTo("40.00");
+    }
 }
@@ -0,0 +1,163 @@
+package com.restful.dscatalog.rest;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static io.restassured.http.ContentType.JSON;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "security.test.jwt.secret=test-256-bit-secret-0123456789ABCDEF0123456789AB",
+        "security.test.jwt.issuer=http://localhost/test"
+})
+@TestInstance(PER_CLASS)
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CacheRegionsEndpointRestAssuredTest {
+
+    private static final String CACHE_REGIONS = "/actuator/cacheregions";
+    private static final String ISSUER = "http://localhost/test";
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    private RequestSpecification admin;
+    private RequestSpecification client;
+
+    @BeforeEach
+    void stubJwt() {
+        Jwt jwt = Jwt.withTokenValue("t")
+                .header("alg", "none")
+                .claim("sub", "test-user")
+                .claim("roles", List.of("ADMIN"))
+                .build();
+        when(jwtDecoder.decode(anyString())).thenReturn(jwt);
+    }
+
+    @BeforeAll
+    void beforeAll() {
+        admin = new RequestSpecBuilder().setPort(port)
+                .addHeader("Authorization", "Bearer " + issueJwt("maria@gmail.com", "ADMIN")).build();
+        client = new RequestSpecBuilder().setPort(port)
+                .addHeader("Authorization", "Bearer " + issueJwt("alex@gmail.com", "CLIENT")).build();
+    }
+
+    private static String issueJwt(String subjectEmail, String... roles) {
+        try {
+            var now = Instant.now();
+            var claims = new JWTClaimsSet.Builder()
+                    .issuer(ISSUER)
+                    .subject(subjectEmail)
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(now.plus(1, ChronoUnit.HOURS)))
+                    .claim("roles", roles)
+                    .build();
+            var jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+            jwt.sign(new MACSigner(CategoryControllerRestAssuredTest.TEST_SECRET));
+            return jwt.serialize();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to issue test JWT", e);
+        }
+    }
+
+    @Test
+    void cacheRegions_requires_admin_role() {
+        given().port(port).when().get(CACHE_REGIONS).then().statusCode(401);
+        given().spec(client).when().get(CACHE_REGIONS).then().statusCode(403);
+        given().spec(client).when().delete(CACHE_REGIONS + "/product-details").then().statusCode(403);
+    }
+
+    @Test
+    void warmUp_fills_product_details_and_lists_local_and_hibernate_regions() {
+        given().spec(admin).when().delete(CACHE_REGIONS + "/product-details").then().statusCode(200);
+
+        given().spec(admin)
+                .contentType(JSON)
+                .body("""
+                        { "pages": 2, "size": 3 }
+                        """)
+                .when().post(CACHE_REGIONS)
+                .then().statusCode(200)
+                .body("products", equalTo(6))
+                .body("categories", greaterThan(0));
+
+        given().spec(admin)
+                .when().get(CACHE_REGIONS)
+                .then().statusCode(200)
+                .body("'product-details'.source", equalTo("local"))
+                .body("'product-details'.size", greaterThanOrEqualTo(6))
+                .body("'product-details'.weightBytes", greaterThan(0))
+                .body("'hot-pages'.source", equalTo("local"))
+                .body("'product-not-found'.source", equalTo("local"))
+                .body("category.source", equalTo("hibernate"));
+    }
+
+    @Test
+    void region_reports_load_time_percentiles_after_a_load() {
+        given().spec(admin).when().delete(CACHE_REGIONS + "/product-details?key=2").then().statusCode(200);
+        given().spec(admin).when().get("/api/v1/products/2").then().statusCode(200);
+
+        given().spec(admin)
+                .when().get(CACHE_REGIONS + "/product-details")
+                .then().statusCode(200)
+                .body("loadTimeMs.p50", notNullValue())
+                .body("loadTimeMs.p99", notNullValue())
+                .body("misses", greaterThan(0));
+    }
+
+    @Test
+    void evict_by_key_prefix_or_whole_region() {
+        given().spec(admin)
+                .contentType(JSON).body("{ \"pages\": 1, \"size\": 5 }")
+                .when().post(CACHE_REGIONS)
+                .then().statusCode(200);
+
+        given().spec(admin)
+                .when().delete(CACHE_REGIONS + "/product-details?key=1")
+                .then().statusCode(200)
+                .body("region", equalTo("product-details"))
+                .body("evicted", equalTo(1));
+        given().spec(admin)
+                .when().delete(CACHE_REGIONS + "/product-details?prefix=")
+                .then().statusCode(200)
+                .body("evicted", greaterThanOrEqualTo(4));
+
+        given().spec(admin).when().delete(CACHE_REGIONS + "/category").then().statusCode(200);
+        given().spec(admin).when().delete(CACHE_REGIONS + "/category?key=1").then().statusCode(400);
+        given().spec(admin).when().delete(CACHE_REGIONS + "/product-details?key=abc").then().statusCode(400);
+        given().spec(admin).when().delete(CACHE_REGIONS + "/nope").then().statusCode(404);
+        given().spec(admin).when().get(CACHE_REGIONS + "/nope").then().statusCode(404);
+    }
+}
@@ -204,6 +204,153 @@ class CategoryControllerRestAssuredTest {
                 .body("content.size()", lessThanOrEqualTo(5));
     }
 
+    @Test
+    void findAllShouldServeHotPageFromCacheUntilCatalogChanges() {
+        String first = given().spec(requestSpecification)
+                .queryParam("size", 7)
+                .queryParam("sort", "id,DESC")
+                .when().get(CATEGORIES)
+                .then().statusCode(200)
+                .extract().asString();
+
+        given().spec(requestSpecification)
+                .header("Accept-Encoding", "gzip")
+                .queryParam("page", 0)
+                .queryParam("size", 7)
+                .queryParam("sort", "id,desc")
+                .when().get(CATEGORIES)
+                .then()
+                .statusCode(200)
+                .contentType(JSON)
+                .header("X-Cache", "HIT")
+                .header("Content-Encoding", "gzip")
+                .header("X-Page-Size", "7")
+                .body(equalTo(first));
+
+        String name = "Hotpage-" + nanoTime();
+        createCategoryAndReturnId(name);
+
+        given().spec(requestSpecification)
+                .queryParam("size", 7)
+                .queryParam("sort", "id,desc")
+                .when().get(CATEGORIES)
+                .then()
+                .statusCode(200)
+                .header("X-Cache", "MISS")
+                .body("content[0].name", equalTo(name));
+    }
+
+    @Test
+    void findAllShouldAnswerNotModifiedFromHotPageUntilCatalogChanges() {
+        String eTag = given().spec(requestSpecification)
+                .queryParam("size", 6)
+                .when().get(CATEGORIES)
+                .then().statusCode(200)
+                .header("ETag", startsWith("W/\""))
+                .extract().header("ETag");
+
+        given().spec(requestSpecification)
+                .header("If-None-Match", eTag)
+                .queryParam("size", 6)
+                .when().get(CATEGORIES)
+                .then()
+                .statusCode(304)
+                .header("X-Cache", "HIT")
+                .header("ETag", eTag);
+
+        createCategoryAndReturnId("Etag-List-" + nanoTime());
+
+        given().spec(requestSpecification)
+                .header("If-None-Match", eTag)
+                .queryParam("size", 6)
+                .when().get(CATEGORIES)
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(eTag)));
+    }
+
+    @Test
+    void findByIdShouldAnswerNotModifiedUntilCategoryIsUpdated() {
+        Long id = createCategoryAndReturnId("Etag-" + nanoTime());
+
+        String eTag = given().spec(requestSpecification)
+                .pathParam("id", id)
+                .when().get(CATEGORIES + "/{id}")
+                .then().statusCode(200)
+                .header("Last-Modified", notNullValue())
+                .extract().header("ETag");
+
+        given().spec(requestSpecification)
+                .header("If-None-Match", eTag)
+                .pathParam("id", id)
+                .when().get(CATEGORIES + "/{id}")
+                .then()
+                .statusCode(304)
+                .body(emptyString());
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .contentType(JSON)
+                .pathParam("id", id)
+                .body(categoryPayload("Etag-Updated-" + nanoTime()))
+                .when().put(CATEGORIES + "/{id}")
+                .then().statusCode(200);
+
+        given().spec(requestSpecification)
+                .header("If-None-Match", eTag)
+                .pathParam("id", id)
+                .when().get(CATEGORIES + "/{id}")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(eTag)))
+                .body("name", startsWith("Etag-Updated-"));
+    }
+
+    @Test
+    void findAllShouldBypassHotPageCacheForOtherParameters() {
+        given().spec(requestSpecification)
+                .queryParam("count", "none")
+                .when().get(CATEGORIES)
+                .then()
+                .statusCode(200)
+                .header("X-Cache", nullValue());
+    }
+
+    @Test
+    void suggestShouldMatchPrefixIgnoringAccentsAndSeeNewCategories() {
+        given().spec(requestSpecification)
+                .queryParam("prefix", "eletro")
+                .when()
+                .get(CATEGORIES + "/suggest")
+                .then()
+                .statusCode(200)
+                .contentType(JSON)
+                .body("name", hasItem("Eletrônicos"));
+
+        String name = "Zyxsuggest" + nanoTime();
+        Long id = createCategoryAndReturnId(name);
+
+        given().spec(requestSpecification)
+                .queryParam("prefix", name.substring(0, 10).toUpperCase())
+                .queryParam("limit", 5)
+                .when()
+                .get(CATEGORIES + "/suggest")
+                .then()
+                .statusCode(200)
+                .body("id", hasItem(id.intValue()));
+    }
+
+    @Test
+    void suggestShouldReturnBadRequestWhenLimitIsOutOfRange() {
+        given().spec(requestSpecification)
+                .queryParam("prefix", "a")
+                .queryParam("limit", 0)
+                .when()
+                .get(CATEGORIES + "/suggest")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void findByIdShouldReturnCategoryWhenIdExists() {
         Long existingId = ensureCategoryExistsAndGetId();
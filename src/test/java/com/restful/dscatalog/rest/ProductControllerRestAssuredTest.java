@@ -25,7 +25,9 @@ import com.nimbusds.jwt.SignedJWT;
 import static com.nimbusds.jose.JWSAlgorithm.HS256;
 import static com.restful.dscatalog.util.TokenUtil.obtainAccessToken;
 import static io.restassured.RestAssured.given;
+import static io.restassured.config.EncoderConfig.encoderConfig;
 import static io.restassured.http.ContentType.JSON;
+import static io.restassured.http.ContentType.TEXT;
 import static java.lang.System.nanoTime;
 import static java.time.Instant.now;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -316,6 +318,271 @@ class ProductControllerRestAssuredTest {
                 .body("size()", greaterThanOrEqualTo(0));
     }
 
+    @Test
+    void findAllWithCountNoneShouldOmitTotalAndLastLink() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("count", "none")
+                .queryParam("size", 5)
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(200)
+                .contentType(JSON)
+                .header("X-Page-Size", equalTo("5"))
+                .header("X-Total-Count", nullValue())
+                .header("X-Total-Count-Estimate", nullValue())
+                .header("Link", containsString("rel=\"next\""))
+                .header("Link", not(containsString("rel=\"last\"")))
+                .body("content.size()", equalTo(5))
+                .body("$", not(hasKey("totalElements")));
+    }
+
+    @Test
+    void findAllWithCountEstimateShouldExposeEstimatedTotal() {
+        String estimate = given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("count", "estimate")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", nullValue())
+                .extract()
+                .header("X-Total-Count-Estimate");
+
+        assertThat(Long.parseLong(estimate)).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    void findAllShouldReturnBadRequestWhenCountModeIsUnknown() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("count", "approximate")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void findAllWithFieldsShouldSerializeOnlyRequestedFields() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("fields", "id,name,price,imgUrl")
+                .queryParam("size", 3)
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", notNullValue())
+                .body("content.size()", equalTo(3))
+                .body("content[0].keySet()", containsInAnyOrder("id", "name", "price", "imgUrl"));
+    }
+
+    @Test
+    void findAllShouldReturnBadRequestWhenFieldIsUnknown() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("fields", "id,stock")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void searchShouldRankSeededProductIgnoringAccents() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("q", "CAMISETA basica")
+                .when()
+                .get(PRODUCTS + "/search")
+                .then()
+                .statusCode(200)
+                .contentType(JSON)
+                .header("X-Total-Count", notNullValue())
+                .body("content[0].name", equalTo("Camiseta Básica"));
+    }
+
+    @Test
+    void searchShouldFindProductRightAfterCreation() {
+        String token = "Zyxwarp" + nanoTime();
+        Long id = createProductAndReturnIdUsingPostDTO(
+                "Product " + token,
+                "Descrição com ação",
+                10.0,
+                nowIsoSeconds(),
+                List.of()
+        );
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("q", token.toLowerCase())
+                .when()
+                .get(PRODUCTS + "/search")
+                .then()
+                .statusCode(200)
+                .body("totalElements", equalTo(1))
+                .body("content[0].id", equalTo(id.intValue()));
+    }
+
+    @Test
+    void fuzzySearchShouldTolerateTypos() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("q", "camisetta basca")
+                .queryParam("mode", "fuzzy")
+                .when()
+                .get(PRODUCTS + "/search")
+                .then()
+                .statusCode(200)
+                .body("content[0].name", equalTo("Camiseta Básica"));
+    }
+
+    @Test
+    void searchShouldReturnBadRequestWhenQueryIsBlank() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("q", " ")
+                .when()
+                .get(PRODUCTS + "/search")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void findAllByCategoriesShouldCombineBitmapsWithAnyAndAll() {
+        Long both = createProductAndReturnIdUsingPostDTO(
+                "Product both " + nanoTime(), "Nas duas categorias", 10.0, nowIsoSeconds(), List.of(1L, 2L));
+        Long onlyFirst = createProductAndReturnIdUsingPostDTO(
+                "Product first " + nanoTime(), "Só na primeira", 10.0, nowIsoSeconds(), List.of(1L));
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("categoryId", "1,2")
+                .queryParam("match", "all")
+                .queryParam("size", 50)
+                .queryParam("sort", "id,desc")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", notNullValue())
+                .body("content[0].id", equalTo(both.intValue()))
+                .body("content.id", not(hasItem(onlyFirst.intValue())));
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("categoryId", "1,2")
+                .queryParam("match", "any")
+                .queryParam("size", 50)
+                .queryParam("sort", "id,desc")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(200)
+                .body("content.id", hasItems(both.intValue(), onlyFirst.intValue()));
+    }
+
+    @Test
+    void searchWithCategoryFacetsShouldCountOnlyMatchingProducts() {
+        String token = "Facetwarp" + nanoTime();
+        createProductAndReturnIdUsingPostDTO("Product " + token, "Facetas", 10.0, nowIsoSeconds(), List.of(2L, 3L));
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("q", token.toLowerCase())
+                .queryParam("facets", "categories")
+                .when()
+                .get(PRODUCTS + "/search")
+                .then()
+                .statusCode(200)
+                .body("totalElements", equalTo(1))
+                .body("facets", hasSize(2))
+                .body("facets.id", containsInAnyOrder(2, 3))
+                .body("facets.count", everyItem(equalTo(1)));
+    }
+
+    @Test
+    void findAllShouldReturnBadRequestWhenFacetIsUnknown() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("facets", "brands")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void findAllByCategoriesShouldReturnBadRequestWhenSortIsNotById() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("categoryId", "1")
+                .queryParam("sort", "name,asc")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void findAllByCategoriesShouldReturnBadRequestWhenMatchIsInvalid() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("categoryId", "1")
+                .queryParam("match", "some")
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void suggestShouldRankProductsByViewsAndFollowRenames() {
+        String token = "Zyxtype" + nanoTime();
+        Long first = createProductAndReturnIdUsingPostDTO(
+                token + " Alfa", "Autocomplete", 10.0, nowIsoSeconds(), List.of());
+        Long second = createProductAndReturnIdUsingPostDTO(
+                token + " Beta", "Autocomplete", 10.0, nowIsoSeconds(), List.of());
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .when()
+                .get(PRODUCTS + "/" + second)
+                .then()
+                .statusCode(200);
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("prefix", token.toLowerCase())
+                .when()
+                .get(PRODUCTS + "/suggest")
+                .then()
+                .statusCode(200)
+                .contentType(JSON)
+                .body("id", contains(second.intValue(), first.intValue()));
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .contentType(JSON)
+                .body(productPayload("Renamed " + token, "Autocomplete", 10.0, nowIsoSeconds(), List.of()))
+                .when()
+                .put(PRODUCTS + "/" + first)
+                .then()
+                .statusCode(200);
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("prefix", token.toLowerCase())
+                .when()
+                .get(PRODUCTS + "/suggest")
+                .then()
+                .statusCode(200)
+                .body("id", contains(second.intValue()));
+    }
+
     @Test
     void findByIdShouldReturnProductWhenIdExists() {
         Long existingId = ensureProductExistsAndGetId();
@@ -387,6 +654,22 @@ class ProductControllerRestAssuredTest {
                 .body("categories", hasItems("Eletronicos", "Informatica"));
     }
 
+    @Test
+    void createByNamesShouldReuseSimilarCategoryWhenRequested() {
+        String name = "Product-Similar-" + nanoTime();
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .contentType(JSON)
+                .queryParam("reuseSimilarCategories", true)
+                .body(productByNamesPayload(name, "Desc " + name, 12.5, List.of("livro")))
+                .when()
+                .post(PRODUCTS + "/by-names")
+                .then()
+                .statusCode(201)
+                .body("categories", equalTo(List.of("Livros")));
+    }
+
     @Test
     void createShouldReturnBadRequestWhenAdminLoggedAndInvalidPayload() {
         given().spec(requestSpecification)
@@ -508,4 +791,102 @@ class ProductControllerRestAssuredTest {
                 .then()
                 .statusCode(401);
     }
+
+    @Test
+    void bulkImportShouldReportEachItemAndIndexCreatedProducts() {
+        String token = "Bulkwarp" + nanoTime();
+        String body = """
+                [
+                  {"name": "%1$s A", "description": "Importado", "price": 10.0, "categoryIds": [1, 2]},
+                  {"name": "", "description": "Sem nome", "price": 10.0},
+                  {"name": "%1$s A", "description": "Repetido", "price": 11.0},
+                  {"name": "%1$s B", "description": "Categoria inexistente", "price": 12.0, "categoryIds": [999999]},
+                  {"name": "%1$s C", "description": "Importado", "price": 13.0, "date": "%2$s"},
+                  {"name": "Smartphone XYZ", "description": "Já existe", "price": 14.0}
+                ]
+                """.formatted(token, nowIsoSeconds());
+
+        Integer createdId = given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .contentType(JSON)
+                .body(body)
+                .when()
+                .post(PRODUCTS + "/bulk")
+                .then()
+                .statusCode(200)
+                .body("received", equalTo(6))
+                .body("created", equalTo(2))
+                .body("rejected", equalTo(4))
+                .body("items.index", contains(0, 1, 2, 3, 4, 5))
+                .body("items.status", contains("CREATED", "INVALID", "DUPLICATE", "INVALID", "CREATED", "DUPLICATE"))
+                .body("items[1].errors", hasItem("name é obrigatório"))
+                .body("items[3].errors[0]", containsString("999999"))
+                .body("items[4].id", notNullValue())
+                .extract().path("items[0].id");
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .when()
+                .get(PRODUCTS + "/{id}", createdId)
+                .then()
+                .statusCode(200)
+                .body("name", equalTo(token + " A"))
+                .body("categories", hasSize(2));
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("q", token.toLowerCase())
+                .when()
+                .get(PRODUCTS + "/search")
+                .then()
+                .statusCode(200)
+                .body("totalElements", equalTo(2));
+    }
+
+    @Test
+    void bulkImportShouldAcceptNdjsonAndReportUnreadableLines() {
+        String ndjson = "application/x-ndjson";
+        String token = "Ndjsonwarp" + nanoTime();
+        String body = """
+                {"name": "%1$s A", "description": "Importado", "price": 10.0, "categoryIds": [3]}
+                {"name": "%1$s B", "description": "Importado",
+
+                {"name": "%1$s C", "description": "Importado", "price": 12.0}
+                """.formatted(token);
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .config(RestAssured.config().encoderConfig(encoderConfig().encodeContentTypeAs(ndjson, TEXT)))
+                .contentType(ndjson)
+                .body(body)
+                .when()
+                .post(PRODUCTS + "/bulk")
+                .then()
+                .statusCode(200)
+                .body("received", equalTo(3))
+                .body("items.status", contains("CREATED", "INVALID", "CREATED"))
+                .body("items[1].errors[0]", containsString("JSON inválido"));
+
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(adminToken))
+                .queryParam("categoryId", 3)
+                .queryParam("size", 100)
+                .when()
+                .get(PRODUCTS)
+                .then()
+                .statusCode(200)
+                .body("content.name", hasItem(token + " A"));
+    }
+
+    @Test
+    void bulkImportShouldReturnForbiddenForClient() {
+        given().spec(requestSpecification)
+                .header("Authorization", bearer(clientToken))
+                .contentType(JSON)
+                .body("[]")
+                .when()
+                .post(PRODUCTS + "/bulk")
+                .then()
+                .statusCode(403);
+    }
 }
@@ -0,0 +1,101 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class CategoryProductIndexTest {
+
+    private CategoryProductIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CategoryProductIndex();
+        index.rebuild(sink -> {
+            sink.accept(1L, 10L);
+            sink.accept(1L, 20L);
+            sink.accept(2L, 10L);
+            sink.accept(3L, 20L);
+            sink.accept(4L, 10L);
+            sink.accept(4L, 20L);
+        });
+    }
+
+    @Test
+    @DisplayName("match: ANY une e ALL intersecta os bitmaps das categorias")
+    void match_combines_bitmaps() {
+        assertThat(index.match(List.of(10L, 20L), CategoryMatch.ANY).toArray()).containsExactly(1, 2, 3, 4);
+        assertThat(index.match(List.of(10L, 20L), CategoryMatch.ALL).toArray()).containsExactly(1, 4);
+        assertThat(index.match(List.of(10L, 99L), CategoryMatch.ALL).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("index/remove: reatribuição de categorias atualiza os bitmaps")
+    void incremental_updates_are_visible() {
+        index.index(2L, List.of(20L));
+        index.remove(4L);
+
+        assertThat(index.match(List.of(10L), CategoryMatch.ANY).toArray()).containsExactly(1);
+        assertThat(index.match(List.of(20L), CategoryMatch.ANY).toArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("index: só as categorias que entraram ou saíram mudam; repetir o mesmo conjunto não altera nada")
+    void index_appliesOnlyTheDifference() {
+        index.index(1L, List.of(20L, 30L, 30L));
+        index.index(1L, List.of(30L, 20L));
+
+        assertThat(index.match(List.of(10L), CategoryMatch.ANY).toArray()).containsExactly(2, 4);
+        assertThat(index.match(List.of(20L), CategoryMatch.ANY).toArray()).containsExactly(1, 3, 4);
+        assertThat(index.match(List.of(30L), CategoryMatch.ANY).toArray()).containsExactly(1);
+
+        index.remove(1L);
+        index.index(1L, List.of(10L));
+        assertThat(index.match(List.of(20L, 30L), CategoryMatch.ANY).toArray()).containsExactly(3, 4);
+        assertThat(index.match(List.of(10L), CategoryMatch.ANY).toArray()).containsExactly(1, 2, 4);
+    }
+
+    @Test
+    @DisplayName("index: id acima de Integer.MAX_VALUE falha com mensagem explícita")
+    void index_rejectsIdsBeyondIntRange() {
+        assertThatThrownBy(() -> index.index(Integer.MAX_VALUE + 1L, List.of(10L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(String.valueOf(Integer.MAX_VALUE + 1L));
+    }
+
+    @Test
+    @DisplayName("countByCategory: intersecta o resultado com cada categoria")
+    void count_by_category_intersects_result_set() {
+        assertThat(index.countByCategory(null)).containsOnly(entry(10L, 3L), entry(20L, 3L));
+        assertThat(index.countByCategory(RoaringBitmap.bitmapOf(2, 3))).containsOnly(entry(10L, 1L), entry(20L, 1L));
+        assertThat(index.countByCategory(RoaringBitmap.bitmapOf(3))).containsOnly(entry(20L, 1L));
+    }
+
+    @Test
+    @DisplayName("slice: pagina em ordem crescente e decrescente de id")
+    void slice_pages_in_both_directions() {
+        RoaringBitmap ids = RoaringBitmap.bitmapOf(2, 5, 7, 11, 13);
+
+        assertThat(CategoryProductIndex.slice(ids, 1, 2, false)).containsExactly(5L, 7L);
+        assertThat(CategoryProductIndex.slice(ids, 1, 2, true)).containsExactly(11L, 7L);
+        assertThat(CategoryProductIndex.slice(ids, 4, 10, false)).containsExactly(13L);
+        assertThat(CategoryProductIndex.slice(ids, 5, 10, false)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("CategoryMatch.parse: padrão ANY e rejeita valores desconhecidos")
+    void parse_match_mode() {
+        assertThat(CategoryMatch.parse(null)).isEqualTo(CategoryMatch.ANY);
+        assertThat(CategoryMatch.parse("All")).isEqualTo(CategoryMatch.ALL);
+        assertThatThrownBy(() -> CategoryMatch.parse("some"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
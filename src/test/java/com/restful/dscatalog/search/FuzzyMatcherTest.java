@@ -0,0 +1,65 @@
+package com.restful.dscatalog.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FuzzyMatcherTest {
+
+    private FuzzyMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new FuzzyMatcher();
+        matcher.rebuild(sink -> {
+            sink.accept(1L, "Notebook Gamer");
+            sink.accept(2L, "Smartphone XYZ");
+            sink.accept(3L, "Eletrônicos");
+            sink.accept(4L, "Mouse sem fio");
+        });
+    }
+
+    @Test
+    @DisplayName("match: encontra nomes com erros de digitação dentro do limite de edições")
+    void match_tolerates_typos() {
+        assertThat(matcher.match("notbook")).extracting(FuzzyMatcher.Match::id).containsExactly(1L);
+        assertThat(matcher.match("smartfone")).extracting(FuzzyMatcher.Match::id).containsExactly(2L);
+        assertThat(matcher.match("ELETRONICO")).extracting(FuzzyMatcher.Match::id).containsExactly(3L);
+        assertThat(matcher.match("teclado")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("put/remove: renomear troca os trigramas do nome")
+    void put_and_remove_update_trigrams() {
+        matcher.put(1L, "Cadeira Gamer");
+        matcher.remove(4L);
+
+        assertThat(matcher.match("notbook")).isEmpty();
+        assertThat(matcher.match("cadera")).extracting(FuzzyMatcher.Match::id).containsExactly(1L);
+        assertThat(matcher.match("mouse")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("match: ignora trigramas frequentes na contagem e limita os candidatos verificados")
+    void match_skipsFrequentTrigrams_andCapsCandidates() {
+        matcher.rebuild(sink -> {
+            for (long id = 1; id <= 3 * FuzzyMatcher.FREQUENT_TRIGRAM_FLOOR; id++) sink.accept(id, "Cabo " + id);
+            sink.accept(5_000L, "Cabo Notebook");
+        });
+
+        assertThat(matcher.match("cabo notbook")).extracting(FuzzyMatcher.Match::id).containsExactly(5_000L);
+        assertThat(matcher.match("cabu 1234"))
+                .hasSizeLessThanOrEqualTo(FuzzyMatcher.MAX_CANDIDATES)
+                .extracting(FuzzyMatcher.Match::id).contains(1234L);
+    }
+
+    @Test
+    @DisplayName("boundedDistance: Levenshtein exato até o limite e max + 1 acima dele")
+    void bounded_distance_stops_at_limit() {
+        assertThat(FuzzyMatcher.boundedDistance("smartfone", "smartphone", 2)).isEqualTo(2);
+        assertThat(FuzzyMatcher.boundedDistance("notbook", "notebook", 2)).isEqualTo(1);
+        assertThat(FuzzyMatcher.boundedDistance("mouse", "notebook", 2)).isEqualTo(3);
+    }
+}
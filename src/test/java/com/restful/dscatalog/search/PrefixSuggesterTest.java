@@ -0,0 +1,100 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.dto.suggest.SuggestionDTO;
+import com.restful.dscatalog.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrefixSuggesterTest {
+
+    private PrefixSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new PrefixSuggester();
+        suggester.rebuild(sink -> {
+            sink.accept(1L, "Notebook Gamer");
+            sink.accept(2L, "Nótebook  Ultra");
+            sink.accept(3L, "Mouse sem fio");
+            sink.accept(4L, "Notebook Básico");
+        });
+    }
+
+    @Test
+    @DisplayName("suggest: casa prefixo sem acento/maiúsculas e ordena por popularidade")
+    void suggest_ranks_prefix_range_by_popularity() {
+        Map<Long, Long> popularity = Map.of(2L, 10L, 4L, 5L);
+
+        assertThat(suggester.suggest("NOTE", 10, id -> popularity.getOrDefault(id, 0L)))
+                .extracting(SuggestionDTO::id)
+                .containsExactly(2L, 4L, 1L);
+        assertThat(suggester.suggest("notebook u", 10, id -> 0L))
+                .containsExactly(new SuggestionDTO(2L, "Nótebook  Ultra"));
+    }
+
+    @Test
+    @DisplayName("suggest: empate de popularidade desempata em ordem alfabética e respeita limit")
+    void suggest_breaks_ties_alphabetically() {
+        assertThat(suggester.suggest("note", 2, id -> 0L))
+                .extracting(SuggestionDTO::id)
+                .containsExactly(4L, 1L);
+        assertThat(suggester.suggest("teclado", 5, id -> 0L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("put/remove: renomear e remover substituem o snapshot sem duplicar entradas")
+    void put_and_remove_patch_snapshot() {
+        suggester.put(3L, "Notebook Mouse");
+        suggester.remove(1L);
+
+        assertThat(suggester.suggest("mouse", 5, id -> 0L)).isEmpty();
+        assertThat(suggester.suggest("note", 10, id -> 0L))
+                .extracting(SuggestionDTO::id)
+                .containsExactly(4L, 3L, 2L);
+        assertThat(suggester.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("put/remove: escritas acima de MAX_PENDING_WRITES são fundidas na base sem perder entradas")
+    void writes_beyond_pending_limit_are_compacted() {
+        int writes = PrefixSuggester.MAX_PENDING_WRITES * 2 + 7;
+        for (long id = 100; id < 100 + writes; id++) suggester.put(id, "Teclado " + id);
+        for (long id = 100; id < 100 + writes; id += 2) suggester.remove(id);
+        suggester.put(4L, "Teclado Básico");
+        suggester.put(4L, "Notebook Básico");
+
+        assertThat(suggester.size()).isEqualTo(4 + writes / 2);
+        assertThat(suggester.suggest("teclado 10", 5, id -> -id))
+                .extracting(SuggestionDTO::id)
+                .containsExactly(101L, 103L, 105L, 107L, 109L);
+        assertThat(suggester.suggest("note", 10, id -> 0L))
+                .extracting(SuggestionDTO::id)
+                .containsExactly(4L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("suggest: avalia no máximo MAX_SCANNED nomes do intervalo do prefixo")
+    void suggest_caps_scanned_range() {
+        suggester.rebuild(sink -> {
+            for (long id = 1; id <= PrefixSuggester.MAX_SCANNED + 10; id++)
+                sink.accept(id, String.format("Item %06d", id));
+        });
+
+        assertThat(suggester.suggest("item", 1, id -> id))
+                .extracting(SuggestionDTO::id)
+                .containsExactly((long) PrefixSuggester.MAX_SCANNED);
+    }
+
+    @Test
+    @DisplayName("suggest: valida prefix e limit")
+    void suggest_validates_arguments() {
+        assertThatThrownBy(() -> suggester.suggest(" ", 5, id -> 0L)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> suggester.suggest("a", 51, id -> 0L)).isInstanceOf(ValidationException.class);
+    }
+}
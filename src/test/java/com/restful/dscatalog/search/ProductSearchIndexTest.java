@@ -0,0 +1,78 @@
+package com.restful.dscatalog.search;
+
+import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    private static ProductDetailsDTO product(long id, String name, String description) {
+        return new ProductDetailsDTO(id, name, description, BigDecimal.ONE, null, null, Set.of());
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(sink -> List.of(
+                product(1L, "Notebook Gamer", "Placa de vídeo dedicada"),
+                product(2L, "Mouse sem fio", "Compatível com notebook e desktop"),
+                product(3L, "Cadeira Ergonômica", "Apoio lombar ajustável")
+        ).forEach(sink));
+    }
+
+    @Test
+    @DisplayName("search: termo no nome pesa mais que na descrição")
+    void search_ranks_name_matches_first() {
+        SearchHits hits = index.search("notebook", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.productIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("search: ignora acentos e maiúsculas na consulta e nos documentos")
+    void search_folds_accents_and_case() {
+        assertThat(index.search("ERGONOMICA", 0, 10).productIds()).containsExactly(3L);
+        assertThat(index.search("vídeo", 0, 10).productIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("search: respeita offset e limit sobre o ranking")
+    void search_pages_over_ranking() {
+        SearchHits hits = index.search("notebook", 1, 1);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.productIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("index/remove: atualizações incrementais refletem na busca")
+    void incremental_updates_are_visible() {
+        index.index(product(3L, "Cadeira Gamer", "Reclinável"));
+        index.remove(1L);
+
+        assertThat(index.search("gamer", 0, 10).productIds()).containsExactly(3L);
+        assertThat(index.search("ergonomica", 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("compactação: muitas atualizações não perdem documentos vivos")
+    void compaction_keeps_live_documents() {
+        for (int round = 0; round < 3_000; round++)
+            index.index(product(2L, "Mouse sem fio " + round, "Compatível com notebook"));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("mouse", 0, 10).productIds()).containsExactly(2L);
+        assertThat(index.search("notebook", 0, 10).productIds()).containsExactly(1L, 2L);
+    }
+}
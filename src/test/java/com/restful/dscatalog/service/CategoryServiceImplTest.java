@@ -1,23 +1,34 @@
 package com.restful.dscatalog.service;
 
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.cache.SingleFlight;
+import com.restful.dscatalog.config.RowCountEstimator;
 import com.restful.dscatalog.dto.category.CategoryDetailsDTO;
 import com.restful.dscatalog.dto.category.CategoryPostDTO;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.event.CategoryChangedEvent;
 import com.restful.dscatalog.exception.DatabaseException;
 import com.restful.dscatalog.exception.DuplicateEntryException;
 import com.restful.dscatalog.exception.ResourceNotFoundException;
 import com.restful.dscatalog.repository.CategoryRepository;
+import com.restful.dscatalog.search.CategorySuggestIndex;
 import com.restful.dscatalog.service.impl.CategoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +43,16 @@ class CategoryServiceImplTest {
 
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private CategorySuggestIndex categorySuggestIndex;
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry(), true, Duration.ofSeconds(1), Map.of());
+    @Mock
+    private CatalogVersion catalogVersion;
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CategoryServiceImpl categoryServiceImpl;
@@ -63,6 +84,7 @@ class CategoryServiceImplTest {
         assertThat(out.getId()).isEqualTo(10L);
         assertThat(out.getName()).isEqualTo("Eletrônicos");
         verify(categoryRepository).saveAndFlush(any(Category.class));
+        verify(eventPublisher).publishEvent(new CategoryChangedEvent(10L, "Eletrônicos"));
     }
 
     @Test
@@ -94,7 +116,7 @@ class CategoryServiceImplTest {
         Page<Category> page = new PageImpl<>(List.of(category), PageRequest.of(0, 1), 2);
         given(categoryRepository.findAll(any(Pageable.class))).willReturn(page);
 
-        Page<CategoryDetailsDTO> out = categoryServiceImpl.listAll(PageRequest.of(0, 1));
+        Page<CategoryDetailsDTO> out = (Page<CategoryDetailsDTO>) categoryServiceImpl.listAll(PageRequest.of(0, 1), CountMode.EXACT);
 
         assertThat(out.getTotalElements()).isEqualTo(2);
         assertThat(out.getContent()).hasSize(1);
@@ -140,6 +162,7 @@ class CategoryServiceImplTest {
         assertThat(dto.id()).isEqualTo(existingId);
         assertThat(dto.name()).isEqualTo("Existente");
         verify(categoryRepository).delete(category);
+        verify(eventPublisher).publishEvent(CategoryChangedEvent.deleted(existingId));
     }
 
     @Test
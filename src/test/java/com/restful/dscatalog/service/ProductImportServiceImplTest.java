@@ -0,0 +1,94 @@
+package com.restful.dscatalog.service;
+
+import com.restful.dscatalog.dto.product.ProductImportLine;
+import com.restful.dscatalog.dto.product.ProductImportResultDTO;
+import com.restful.dscatalog.dto.product.ProductPostDTO;
+import com.restful.dscatalog.entity.Category;
+import com.restful.dscatalog.repository.CategoryRepository;
+import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.service.impl.ProductImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.restful.dscatalog.dto.product.ProductImportResultDTO.Status.DUPLICATE;
+import static com.restful.dscatalog.dto.product.ProductImportResultDTO.Status.INVALID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportServiceImpl(
+                productRepository,
+                categoryRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager,
+                eventPublisher,
+                100
+        );
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category(name);
+        setField(category, "id", id);
+        return category;
+    }
+
+    private static ProductImportLine line(String name, Long categoryId) {
+        return ProductImportLine.of(new ProductPostDTO(name, "desc", 10.0, null, null, List.of(categoryId)));
+    }
+
+    @Test
+    @DisplayName("importAll: no refazer item a item, nome que já existe sai DUPLICATE e categoria apagada sai INVALID")
+    void importAll_rowFallback_separatesDuplicateNameFromDeletedCategory() {
+        given(productRepository.findExistingNames(anyCollection())).willReturn(List.of());
+        given(categoryRepository.findAllByIdCached(anyCollection()))
+                .willReturn(List.of(category(1L, "Games"), category(2L, "Apagada")));
+        given(productRepository.insertAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("lote"))
+                .willThrow(new DuplicateKeyException("nome"))
+                .willThrow(new DataIntegrityViolationException("fk"));
+        given(categoryRepository.findExistingIds(anyCollection())).willReturn(List.of());
+
+        var report = productImportService.importAll(Stream.of(line("Repetido", 1L), line("Órfão", 2L)));
+
+        assertThat(report.items())
+                .extracting(ProductImportResultDTO::index, ProductImportResultDTO::status, ProductImportResultDTO::errors)
+                .containsExactly(
+                        tuple(0, DUPLICATE, List.of("Produto já existe: Repetido")),
+                        tuple(1, INVALID, List.of("Categorias inexistentes: [2]"))
+                );
+        verify(categoryRepository).findExistingIds(argThat(ids -> ids.size() == 1 && ids.contains(2L)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
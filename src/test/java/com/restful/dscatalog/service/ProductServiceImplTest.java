@@ -1,26 +1,57 @@
 package com.restful.dscatalog.service;
 
+import com.restful.dscatalog.cache.CatalogVersion;
+import com.restful.dscatalog.cache.ProductDetailsCache;
+import com.restful.dscatalog.cache.ProductIdFilter;
+import com.restful.dscatalog.cache.SingleFlight;
+import com.restful.dscatalog.config.RowCountEstimator;
+import com.restful.dscatalog.dto.category.CategoryFacetDTO;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
+import com.restful.dscatalog.dto.pagination.FacetedPage;
 import com.restful.dscatalog.dto.product.ProductDetailsDTO;
+import com.restful.dscatalog.dto.product.ProductPostByNameDTO;
 import com.restful.dscatalog.dto.product.ProductPostDTO;
 import com.restful.dscatalog.entity.Category;
 import com.restful.dscatalog.entity.Product;
+import com.restful.dscatalog.event.CategoryChangedEvent;
+import com.restful.dscatalog.event.ProductChangedEvent;
 import com.restful.dscatalog.exception.DatabaseException;
 import com.restful.dscatalog.exception.ResourceNotFoundException;
+import com.restful.dscatalog.exception.ValidationException;
+import com.restful.dscatalog.projections.ProductRow;
+import com.restful.dscatalog.projections.ResourceVersion;
 import com.restful.dscatalog.repository.CategoryRepository;
 import com.restful.dscatalog.repository.ProductRepository;
+import com.restful.dscatalog.search.CategoryDictionary;
+import com.restful.dscatalog.search.CategoryProductIndex;
+import com.restful.dscatalog.search.CategorySuggestIndex;
+import com.restful.dscatalog.search.ProductFacets;
+import com.restful.dscatalog.search.ProductSearchIndex;
+import com.restful.dscatalog.search.ProductSuggestIndex;
+import com.restful.dscatalog.search.SearchMode;
+import com.restful.dscatalog.search.SearchHits;
 import com.restful.dscatalog.service.impl.ProductServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static java.time.LocalDateTime.now;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +68,28 @@ class ProductServiceImplTest {
     private ProductRepository productRepository;
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private CategoryProductIndex categoryProductIndex;
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+    @Mock
+    private CategorySuggestIndex categorySuggestIndex;
+    @Mock
+    private CategoryDictionary categoryDictionary;
+    @Mock
+    private ProductDetailsCache productDetailsCache;
+    @Spy
+    private ProductIdFilter productIdFilter = new ProductIdFilter(new SimpleMeterRegistry(), 1000, 0.01, Duration.ofSeconds(30), 1000);
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry(), true, Duration.ofSeconds(1), Map.of());
+    @Mock
+    private CatalogVersion catalogVersion;
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProductServiceImpl service;
@@ -91,6 +144,9 @@ class ProductServiceImplTest {
                 .containsExactlyInAnyOrder("Eletrônicos", "Informática");
         verify(categoryRepository).findAllById(List.of(1L, 2L));
         verify(productRepository).saveAndFlush(any(Product.class));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(
+                10L, new ProductDetailsDTO(out), Set.of(1L, 2L)
+        ));
     }
 
     @Test
@@ -113,6 +169,118 @@ class ProductServiceImplTest {
         verify(productRepository, never()).saveAndFlush(any());
     }
 
+    private static ProductPostByNameDTO byNames(List<String> categoryNames) {
+        return new ProductPostByNameDTO("Mouse Gamer", "RGB", 199.90, null, now(), categoryNames);
+    }
+
+    @Test
+    @DisplayName("createByCategoryNames: nomes conhecidos resolvem pelo dicionário, sem consulta nem insert")
+    void createByCategoryNames_resolvesKnownNames_fromDictionary() {
+        given(categoryDictionary.resolve("games")).willReturn(Optional.of(1L));
+        given(categoryDictionary.resolve("informática")).willReturn(Optional.of(2L));
+        given(categoryRepository.findAllByIdCached(List.of(1L, 2L)))
+                .willReturn(List.of(withId(newCategory("Games"), 1L), withId(newCategory("Informática"), 2L)));
+        given(productRepository.saveAndFlush(any(Product.class))).willAnswer(inv -> withId(inv.getArgument(0), 10L));
+
+        Product out = service.createByCategoryNames(byNames(List.of(" Games ", "INFORMÁTICA", "games")), false);
+
+        assertThat(out.getCategories()).extracting(Category::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(categoryRepository, never()).insertIgnoringDuplicates(any());
+        verify(categoryRepository, never()).findByNameIgnoreCase(any());
+        verify(categoryRepository, never()).findAllByNameKeyIn(any());
+    }
+
+    @Test
+    @DisplayName("createByCategoryNames: nomes ausentes viram um único upsert e uma única leitura")
+    void createByCategoryNames_upsertsMissingNames_inOneBatch() {
+        given(categoryDictionary.resolve(anyString())).willReturn(Optional.empty());
+        given(categoryDictionary.resolve("games")).willReturn(Optional.of(1L));
+        Category drones = withId(newCategory("Drones"), 7L);
+        Category robots = withId(newCategory("Robôs"), 8L);
+        given(categoryRepository.insertIgnoringDuplicates(List.of("Drones", "Robôs"))).willReturn(Set.of("drones", "robôs"));
+        given(categoryRepository.findAllByNameKeyIn(List.of("drones", "robôs"))).willReturn(List.of(drones, robots));
+        given(categoryRepository.findAllByIdCached(List.of(1L))).willReturn(List.of(withId(newCategory("Games"), 1L)));
+        given(productRepository.saveAndFlush(any(Product.class))).willAnswer(inv -> withId(inv.getArgument(0), 10L));
+
+        Product out = service.createByCategoryNames(byNames(List.of("drones", "Games", "robôs")), false);
+
+        assertThat(out.getCategories()).extracting(Category::getId).containsExactlyInAnyOrder(1L, 7L, 8L);
+        verify(categoryRepository).insertIgnoringDuplicates(List.of("Drones", "Robôs"));
+        verify(categoryRepository, never()).saveAndFlush(any());
+        verify(eventPublisher).publishEvent(CategoryChangedEvent.saved(drones));
+        verify(eventPublisher).publishEvent(CategoryChangedEvent.saved(robots));
+    }
+
+    @Test
+    @DisplayName("createByCategoryNames: nome criado por requisição concorrente é reaproveitado, sem duplicata nem evento")
+    void createByCategoryNames_reusesRowInsertedConcurrently() {
+        given(categoryDictionary.resolve("drones")).willReturn(Optional.empty());
+        Category createdElsewhere = withId(newCategory("DRONES"), 42L);
+        given(categoryRepository.findAllByNameKeyIn(List.of("drones"))).willReturn(List.of(createdElsewhere));
+        given(productRepository.saveAndFlush(any(Product.class))).willAnswer(inv -> withId(inv.getArgument(0), 10L));
+
+        Product out = service.createByCategoryNames(byNames(List.of("drones")), false);
+
+        assertThat(out.getCategories()).containsExactly(createdElsewhere);
+        verify(eventPublisher, never()).publishEvent(any(CategoryChangedEvent.class));
+        verify(categoryDictionary).put(42L, "DRONES");
+    }
+
+    @Test
+    @DisplayName("createByCategoryNames: id do dicionário que não existe mais sai dele e o nome é recriado")
+    void createByCategoryNames_dropsStaleDictionaryId_andRecreatesName() {
+        given(categoryDictionary.resolve("drones")).willReturn(Optional.of(99L));
+        given(categoryRepository.findAllByIdCached(List.of(99L))).willReturn(List.of());
+        Category recreated = withId(newCategory("Drones"), 7L);
+        given(categoryRepository.findAllByNameKeyIn(List.of("drones"))).willReturn(List.of(recreated));
+        given(productRepository.saveAndFlush(any(Product.class))).willAnswer(inv -> withId(inv.getArgument(0), 10L));
+
+        Product out = service.createByCategoryNames(byNames(List.of("drones")), false);
+
+        assertThat(out.getCategories()).containsExactly(recreated);
+        verify(categoryDictionary).remove(99L);
+        verify(categoryRepository).insertIgnoringDuplicates(List.of("Drones"));
+    }
+
+    @Test
+    @DisplayName("findDetailsById / findVersion: acerto no cache não consulta o repositório")
+    void findDetailsById_returnsCachedDetails_withoutRepository() {
+        var cached = new ProductDetailsDTO(10L, "Webcam", "HD", BigDecimal.TEN, null, now(), Set.of("Informática"));
+        var version = new ResourceVersion(2L, null, 5L, null);
+        given(productDetailsCache.get(eq(10L), any())).willReturn(new ProductDetailsCache.Entry(cached, version));
+
+        assertThat(service.findVersion(10L)).isSameAs(version);
+        assertThat(service.findDetailsById(10L)).isSameAs(cached);
+        verifyNoInteractions(productRepository);
+        verify(productSuggestIndex).recordView(10L);
+    }
+
+    @Test
+    @DisplayName("findDetailsById: na falta, lê os validadores e depois uma consulta plana; inexistente lança ResourceNotFoundException")
+    void findDetailsById_loadsRowOnMiss_andThrowsWhenMissing() {
+        given(productDetailsCache.get(anyLong(), any()))
+                .willAnswer(inv -> inv.<Function<Long, ProductDetailsCache.Entry>>getArgument(1)
+                        .apply(inv.getArgument(0)));
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 10, 0);
+        given(productRepository.findVersionById(10L))
+                .willReturn(Optional.of(new ResourceVersion(3L, date, 7L, date.plusDays(1))));
+        given(productRepository.findRowsByIdIn(List.of(10L))).willReturn(List.of(
+                new ProductRow(10L, "Webcam", "HD", BigDecimal.TEN, null, date, "Informática"),
+                new ProductRow(10L, "Webcam", "HD", BigDecimal.TEN, null, date, "Games")
+        ));
+        given(productRepository.findVersionById(99L)).willReturn(Optional.empty());
+
+        var details = service.findDetailsById(10L);
+        var version = service.findVersion(10L);
+
+        assertThat(details.categoryNames()).containsExactly("Informática", "Games");
+        assertThat(version.eTag()).isEqualTo("\"3.7\"");
+        assertThat(version.updatedAt()).isEqualTo(date.plusDays(1));
+        assertThrows(ResourceNotFoundException.class, () -> service.findDetailsById(99L));
+        verify(productRepository, never()).findRowsByIdIn(List.of(99L));
+        verify(productRepository, never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("findById: existente retorna entidade; inexistente propaga EntityNotFoundException")
     void findById_proxy_behavior() {
@@ -125,32 +293,143 @@ class ProductServiceImplTest {
     }
 
     @Test
-    @DisplayName("listAll: pagina e mapeia em DTO")
+    @DisplayName("listAll: pagina ids e monta DTO a partir da projeção, sem entidades")
     void listAll_pages_in_dto() {
-        Product product1 = withId(newProduct("P1", 1.0), 1L);
-        Page<Product> page = new PageImpl<>(List.of(product1), PageRequest.of(0, 1), 2);
-        given(productRepository.findAll(any(Pageable.class))).willReturn(page);
-
-        var out = service.listAll(PageRequest.of(0, 1));
+        Page<Long> page = new PageImpl<>(List.of(1L), PageRequest.of(0, 1), 2);
+        given(productRepository.findPageOfIds(any(Pageable.class))).willReturn(page);
+        given(productRepository.findRowsByIdIn(List.of(1L))).willReturn(List.of(
+                row(1L, "P1", "Eletrônicos"),
+                row(1L, "P1", "Games")
+        ));
+
+        var out = (Page<ProductDetailsDTO>) service.listAll(
+                PageRequest.of(0, 1),
+                ProductFacets.NONE,
+                CountMode.EXACT,
+                FieldSelection.ALL
+        );
         assertThat(out.getTotalElements()).isEqualTo(2);
         assertThat(out.getContent()).hasSize(1);
-        assertThat(out.getContent().getFirst()).isInstanceOf(ProductDetailsDTO.class);
+        assertThat(out.getContent().getFirst().categoryNames()).containsExactly("Eletrônicos", "Games");
+        verify(productRepository, never()).findAll(any(Pageable.class));
+        verify(productRepository, never()).findAllWithCategoriesByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("listAll: count=none busca um Slice de ids e não executa COUNT")
+    void listAll_without_count_uses_slice() {
+        Slice<Long> ids = new SliceImpl<>(List.of(1L), PageRequest.of(0, 1), true);
+        given(productRepository.findSliceOfIds(any(Pageable.class))).willReturn(ids);
+        given(productRepository.findRowsByIdIn(List.of(1L))).willReturn(List.of(row(1L, "P1", null)));
+        given(rowCountEstimator.withCount(eq(CountMode.NONE), any(), eq("tb_product"), any()))
+                .willAnswer(inv -> inv.getArgument(1));
+
+        var out = service.listAll(PageRequest.of(0, 1), ProductFacets.NONE, CountMode.NONE, FieldSelection.ALL);
+
+        assertThat(out).isNotInstanceOf(Page.class);
+        assertThat(out.hasNext()).isTrue();
+        assertThat(out.getContent()).extracting(ProductDetailsDTO::id).containsExactly(1L);
+        verify(productRepository, never()).findPageOfIds(any(Pageable.class));
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("listAll: fields sem categories não faz o JOIN de categorias")
+    void listAll_without_categories_field_skips_category_join() {
+        Page<Long> page = new PageImpl<>(List.of(1L), PageRequest.of(0, 1), 1);
+        given(productRepository.findPageOfIds(any(Pageable.class))).willReturn(page);
+        given(productRepository.findRowsWithoutCategoriesByIdIn(List.of(1L)))
+                .willReturn(List.of(row(1L, "P1", null)));
+
+        var out = service.listAll(
+                PageRequest.of(0, 1),
+                ProductFacets.NONE,
+                CountMode.EXACT,
+                FieldSelection.parse("id,name,price", ProductDetailsDTO.FIELDS)
+        );
+
+        assertThat(out.getContent()).extracting(ProductDetailsDTO::name).containsExactly("P1");
+        verify(productRepository, never()).findRowsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("listAll: facets sem count=exact é rejeitado")
+    void listAll_facets_require_exact_count() {
+        assertThrows(ValidationException.class,
+                () -> service.listAll(PageRequest.of(0, 1), ProductFacets.CATEGORIES, CountMode.ESTIMATE, FieldSelection.ALL));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
-    @DisplayName("listAllWithoutPagination: usa fetch otimizado e mapeia DTO")
-    void listAllWithoutPagination_fetches_categories() {
-        Product product1 = withId(newProduct("A", 1.0), 1L);
-        Product product2 = withId(newProduct("B", 2.0), 2L);
+    @DisplayName("search: ordena pelo ranking do índice e usa o total de hits do índice")
+    void search_keeps_index_ranking() {
+        given(productSearchIndex.search("notebook", 0, 2)).willReturn(new SearchHits(7, List.of(2L, 1L)));
+        given(productRepository.findRowsByIdIn(List.of(2L, 1L)))
+                .willReturn(List.of(row(1L, "A", null), row(2L, "B", null)));
 
-        given(productRepository.findAll()).willReturn(List.of(product1, product2));
-        given(productRepository.findAllWithCategoriesByIdIn(List.of(1L, 2L)))
-                .willReturn(List.of(product1, product2));
+        var out = service.search("notebook", SearchMode.TEXT, ProductFacets.NONE, FieldSelection.ALL, PageRequest.of(0, 2));
+
+        assertThat(out.getTotalElements()).isEqualTo(7);
+        assertThat(out.getContent()).extracting(ProductDetailsDTO::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("search com facets=categories: conta por categoria sobre todos os hits")
+    void search_with_category_facets() {
+        RoaringBitmap allHits = RoaringBitmap.bitmapOf(1, 2, 3);
+        given(productSearchIndex.search("notebook", 0, 1)).willReturn(new SearchHits(3, List.of(1L)));
+        given(productSearchIndex.matching("notebook")).willReturn(allHits);
+        given(productRepository.findRowsByIdIn(List.of(1L))).willReturn(List.of(row(1L, "A", "Mobile")));
+        given(categoryProductIndex.countByCategory(allHits)).willReturn(Map.of(10L, 1L, 20L, 3L));
+        given(categoryRepository.findAllById(anyCollection()))
+                .willReturn(List.of(withId(new Category("Mobile"), 10L), withId(new Category("Computers"), 20L)));
+
+        var out = service.search("notebook", SearchMode.TEXT, ProductFacets.CATEGORIES, FieldSelection.ALL, PageRequest.of(0, 1));
+
+        assertThat(out).isInstanceOf(FacetedPage.class);
+        assertThat(((FacetedPage<ProductDetailsDTO>) out).getFacets()).containsExactly(
+                new CategoryFacetDTO(20L, "Computers", 3),
+                new CategoryFacetDTO(10L, "Mobile", 1)
+        );
+    }
+
+    @Test
+    @DisplayName("listAllWithoutPagination: reaproveita a leitura plana do export, sem findAll nem IN")
+    void listAllWithoutPagination_usesFlatRows() {
+        given(productRepository.streamAllRows()).willReturn(Stream.of(
+                row(1L, "A", "Eletrônicos"),
+                row(2L, "B", null)
+        ));
 
         var dtos = service.listAllWithoutPagination();
-        assertThat(dtos).extracting(ProductDetailsDTO::id)
-                .containsExactlyInAnyOrder(1L, 2L);
-        verify(productRepository).findAllWithCategoriesByIdIn(List.of(1L, 2L));
+
+        assertThat(dtos).extracting(ProductDetailsDTO::id).containsExactly(1L, 2L);
+        verify(productRepository, never()).findAll();
+        verify(productRepository, never()).findAllWithCategoriesByIdIn(any());
+    }
+
+    private static ProductRow row(Long id, String name, String categoryName) {
+        return new ProductRow(id, name, name + " desc", BigDecimal.ONE, null, null, categoryName);
+    }
+
+    @Test
+    @DisplayName("streamAll: agrupa linhas contíguas por produto e entrega um DTO por produto")
+    void streamAll_groups_rows_by_product() {
+        given(productRepository.streamAllRows()).willReturn(Stream.of(
+                row(1L, "A", "Eletrônicos"),
+                row(1L, "A", "Informática"),
+                row(2L, "B", null),
+                row(3L, "C", "Games")
+        ));
+
+        List<ProductDetailsDTO> out = new ArrayList<>();
+        service.streamAll(out::add);
+
+        assertThat(out).extracting(ProductDetailsDTO::id).containsExactly(1L, 2L, 3L);
+        assertThat(out.get(0).categoryNames()).containsExactly("Eletrônicos", "Informática");
+        assertThat(out.get(1).categoryNames()).isEmpty();
+        assertThat(out.get(2).categoryNames()).containsExactly("Games");
+        verify(productRepository, never()).findAll();
     }
 
     @Test
@@ -193,6 +472,7 @@ class ProductServiceImplTest {
 
         assertThat(dto.id()).isEqualTo(200L);
         verify(productRepository).delete(product);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(200L));
     }
 
 
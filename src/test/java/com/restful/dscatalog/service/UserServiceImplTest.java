@@ -1,5 +1,8 @@
 package com.restful.dscatalog.service;
 
+import com.restful.dscatalog.config.RowCountEstimator;
+import com.restful.dscatalog.dto.fields.FieldSelection;
+import com.restful.dscatalog.dto.pagination.CountMode;
 import com.restful.dscatalog.dto.user.UserDTO;
 import com.restful.dscatalog.dto.user.UserInsertDTO;
 import com.restful.dscatalog.dto.user.UserUpdateDTO;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.security.access.AccessDeniedException;
@@ -52,6 +56,12 @@ class UserServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -110,7 +120,7 @@ class UserServiceImplTest {
         Page<User> page = new PageImpl<>(List.of(user1), PageRequest.of(0, 1), 2);
         given(userRepository.findAll(any(Pageable.class))).willReturn(page);
 
-        Page<UserDTO> userDTOPage = userServiceImpl.findAllPaged(PageRequest.of(0, 1));
+        Page<UserDTO> userDTOPage = (Page<UserDTO>) userServiceImpl.findAllPaged(PageRequest.of(0, 1), CountMode.EXACT, FieldSelection.ALL);
 
         assertThat(userDTOPage.getTotalElements()).isEqualTo(2);
         assertThat(userDTOPage.getContent()).hasSize(1);
@@ -124,8 +134,21 @@ class UserServiceImplTest {
         given(userRepository.findById(5L)).willReturn(Optional.of(existing));
         given(userRepository.findById(999L)).willReturn(Optional.empty());
 
-        assertThat(userServiceImpl.findById(5L).getEmail()).isEqualTo("jk@x.com");
-        assertThrows(ResourceNotFoundException.class, () -> userServiceImpl.findById(999L));
+        assertThat(userServiceImpl.findById(5L, FieldSelection.ALL).getEmail()).isEqualTo("jk@x.com");
+        assertThrows(ResourceNotFoundException.class, () -> userServiceImpl.findById(999L, FieldSelection.ALL));
+    }
+
+    @Test
+    @DisplayName("findById: fields sem roles não toca na coleção LAZY de papéis")
+    void findById_without_roles_field_skips_roles() {
+        User existing = spy(withId(newUser("J", "K", "jk@x.com"), 5L));
+        given(userRepository.findById(5L)).willReturn(Optional.of(existing));
+
+        UserDTO userDTO = userServiceImpl.findById(5L, FieldSelection.parse("id,email", UserDTO.FIELDS));
+
+        assertThat(userDTO.getEmail()).isEqualTo("jk@x.com");
+        assertThat(userDTO.getRoles()).isEmpty();
+        verify(existing, never()).getRoles();
     }
 
     @Test
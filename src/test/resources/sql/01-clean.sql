@@ -6,5 +6,5 @@ TRUNCATE TABLE tb_category;
 
 SET REFERENTIAL_INTEGRITY TRUE;
 
-ALTER TABLE tb_product  ALTER COLUMN id RESTART WITH 1;
-ALTER TABLE tb_category ALTER COLUMN id RESTART WITH 1;
+ALTER SEQUENCE tb_product_seq  RESTART WITH 1;
+ALTER SEQUENCE tb_category_seq RESTART WITH 1;
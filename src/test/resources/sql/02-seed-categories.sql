@@ -1,11 +1,11 @@
-INSERT INTO tb_category (name)
-SELECT 'Eletrônicos'
+INSERT INTO tb_category (id, name, normalized_name)
+SELECT NEXT VALUE FOR tb_category_seq, 'Eletrônicos', LOWER('Eletrônicos')
 WHERE NOT EXISTS (SELECT 1 FROM tb_category WHERE name = 'Eletrônicos');
 
-INSERT INTO tb_category (name)
-SELECT 'Informática'
+INSERT INTO tb_category (id, name, normalized_name)
+SELECT NEXT VALUE FOR tb_category_seq, 'Informática', LOWER('Informática')
 WHERE NOT EXISTS (SELECT 1 FROM tb_category WHERE name = 'Informática');
 
-INSERT INTO tb_category (name)
-SELECT 'Casa & Jardim'
+INSERT INTO tb_category (id, name, normalized_name)
+SELECT NEXT VALUE FOR tb_category_seq, 'Casa & Jardim', LOWER('Casa & Jardim')
 WHERE NOT EXISTS (SELECT 1 FROM tb_category WHERE name = 'Casa & Jardim');
\ No newline at end of file
@@ -1,8 +1,8 @@
-INSERT INTO tb_product (name, description, price, img_url, date)
-VALUES ('Smartphone XYZ', 'Tela 6.5", 128GB', 1999.90, 'https://img.example/smartphone-x.jpg', TIMESTAMP '2024-01-10 10:00:00');
+INSERT INTO tb_product (id, name, description, price, img_url, date)
+VALUES (NEXT VALUE FOR tb_product_seq, 'Smartphone XYZ', 'Tela 6.5", 128GB', 1999.90, 'https://img.example/smartphone-x.jpg', TIMESTAMP '2024-01-10 10:00:00');
 
-INSERT INTO tb_product (name, description, price, img_url, date)
-VALUES ('Travesseiro Ortopédico', 'Espuma viscoelástica', 149.90, 'https://img.example/travesseiro.jpg', TIMESTAMP '2024-01-11 09:30:00');
+INSERT INTO tb_product (id, name, description, price, img_url, date)
+VALUES (NEXT VALUE FOR tb_product_seq, 'Travesseiro Ortopédico', 'Espuma viscoelástica', 149.90, 'https://img.example/travesseiro.jpg', TIMESTAMP '2024-01-11 09:30:00');
 
-INSERT INTO tb_product (name, description, price, img_url, date)
-VALUES ('Bola de Futebol Pro', 'Costurada à mão', 249.00, 'https://img.example/bola-pro.jpg', TIMESTAMP '2024-01-12 15:45:00');
+INSERT INTO tb_product (id, name, description, price, img_url, date)
+VALUES (NEXT VALUE FOR tb_product_seq, 'Bola de Futebol Pro', 'Costurada à mão', 249.00, 'https://img.example/bola-pro.jpg', TIMESTAMP '2024-01-12 15:45:00');